@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Builds the application and the JMH suite, then runs the benchmarks and stores JSON results.
+# Usage: benchmarks/run.sh [JMH options and benchmark regexps], e.g. benchmarks/run.sh JwtServiceBenchmark -f 1
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RESULTS="$ROOT/benchmarks/results"
+RESULT_FILE="$RESULTS/$(date +%Y%m%d-%H%M%S)-$(git -C "$ROOT" rev-parse --short HEAD 2> /dev/null || echo local).json"
+
+if [[ "${SKIP_BUILD:-false}" != "true" ]]; then
+    mvn -B -q -f "$ROOT/pom.xml" install -DskipTests
+    mvn -B -q -f "$ROOT/benchmarks/pom.xml" package
+fi
+
+mkdir -p "$RESULTS"
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" -rf json -rff "$RESULT_FILE" "$@"
+echo "Results: $RESULT_FILE"
@@ -0,0 +1,40 @@
+package com.example.bankcards.benchmarks;
+
+import com.example.bankcards.util.CardNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CardNumberBenchmark {
+    private final String number = "4532015112830366";
+    private final String payload = number.substring(0, number.length() - 1);
+
+    @Benchmark
+    public String generate() {
+        return CardNumberGenerator.generate();
+    }
+
+    @Benchmark
+    public int luhnCheckDigit() {
+        return CardNumberGenerator.luhnCheckDigit(payload);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return CardNumberGenerator.isValid(number);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bankcards.benchmarks;
+
+import com.example.bankcards.util.CardEncryptionProperties;
+import com.example.bankcards.util.CardNumberConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CardNumberConverterBenchmark {
+    private static final String NUMBER = "4532015112830366";
+
+    private CardNumberConverter converter;
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        converter = new CardNumberConverter(new CardEncryptionProperties("MySuperSecretKey", "AES"));
+        encrypted = converter.convertToDatabaseColumn(NUMBER);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return converter.convertToDatabaseColumn(NUMBER);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return converter.convertToEntityAttribute(encrypted);
+    }
+}
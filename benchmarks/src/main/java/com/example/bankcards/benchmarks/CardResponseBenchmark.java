@@ -0,0 +1,45 @@
+package com.example.bankcards.benchmarks;
+
+import com.example.bankcards.dto.CardResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CardResponseBenchmark {
+    private Card card;
+
+    @Setup
+    public void setUp() {
+        card = new Card(42L, "4532015112830366", new BigDecimal("1250.75"), CardStatus.ACTIVE);
+        card.setExpirationDate(LocalDate.of(2029, 12, 31));
+    }
+
+    @Benchmark
+    public CardResponse from() {
+        return CardResponse.from(card);
+    }
+
+    @Benchmark
+    public String maskCardNumber() {
+        return CardResponse.maskCardNumber(card.getCardNumber());
+    }
+}
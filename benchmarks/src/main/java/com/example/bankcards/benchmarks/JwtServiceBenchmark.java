@@ -0,0 +1,51 @@
+package com.example.bankcards.benchmarks;
+
+import com.example.bankcards.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("MySuperMegaDuperUltraLongestSecretKeyForEffectiveMobile", 3_600_000L);
+        user = User.withUsername("benchmark-user").password("x").roles("USER").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Builds the generator and loads synthetic users, cards and transfers into an already migrated database.
+# Usage: data-generator/run.sh [--url=jdbc:postgresql://host:port/db] [--username=U] [--password=P]
+#                              [--users=N] [--cards=N] [--transfers=N] [--threads=N] [--seed=N] [--passwords=N]
+#                              [--owner-skew=X] [--hot-card-skew=X] [--expired-share=X] [--blocked-share=X]
+#                              [--username-prefix=S] [--card-key=K] [--card-algorithm=A] [--rebuild-indexes=true]
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+if [[ "${SKIP_BUILD:-false}" != "true" ]]; then
+    mvn -B -q -f "$ROOT/pom.xml" install -DskipTests
+    mvn -B -q -f "$ROOT/data-generator/pom.xml" package -DskipTests
+fi
+
+exec java ${JAVA_OPTS:-} -jar "$ROOT/data-generator/target/data-generator.jar" "$@"
@@ -0,0 +1,206 @@
+package com.example.bankcards.datagen;
+
+import com.example.bankcards.util.CardEncryptionProperties;
+import com.example.bankcards.util.CardNumberConverter;
+import com.example.bankcards.util.CardNumberGenerator;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public final class DataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    public static final String PASSWORD_PREFIX = "password";
+    static final String CARD_PREFIX = "7";
+
+    private static final int HISTORY_DAYS = 365;
+    private static final int MAX_VALIDITY_DAYS = 5 * 365;
+    private static final int OWN_CARD_ATTEMPTS = 8;
+
+    private DataGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorOptions options = GeneratorOptions.parse(args);
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(options.url());
+        dataSource.setUser(options.username());
+        dataSource.setPassword(options.password());
+
+        GenerationResult result = run(dataSource, options);
+        logger.info("Loaded {} rows in {}s: users from id {}, cards from id {}, transfers from id {}",
+                result.rows(), result.elapsed().toSeconds(),
+                result.firstUserId(), result.firstCardId(), result.firstTransferId());
+        logger.info("Log in as {}<id> with {}<id % {} + 1>",
+                options.usernamePrefix(), PASSWORD_PREFIX, options.passwords());
+    }
+
+    public static GenerationResult run(DataSource dataSource, GeneratorOptions options) throws SQLException {
+        long started = System.nanoTime();
+        String[] hashes = hashPasswords(options.passwords());
+        OwnerDistribution owners = OwnerDistribution.skewed(
+                options.users(), options.cards(), options.ownerSkew(), options.seed());
+
+        long firstUserId;
+        long firstCardId;
+        long firstTransferId;
+        try (Connection connection = dataSource.getConnection()) {
+            firstUserId = reserveIds(connection, "users", options.users());
+            firstCardId = reserveIds(connection, "cards", options.cards());
+            firstTransferId = reserveIds(connection, "transfers", options.transfers());
+        }
+
+        CardEncryptionProperties encryption = new CardEncryptionProperties(options.cardKey(), options.cardAlgorithm());
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long scatter = options.cards() > 0 ? Skew.scatterMultiplier(options.cards()) : 0;
+
+        IndexRebuild rebuild = options.rebuildIndexes()
+                ? IndexRebuild.dropSecondary(dataSource, "users", "cards", "transfers")
+                : null;
+        try (ParallelCopy copy = new ParallelCopy(dataSource, options.threads())) {
+            copy.copy("users", "id, username, password, role", options.users(), options.seed(),
+                    () -> null,
+                    (index, random, state, row) -> {
+                        long id = firstUserId + index;
+                        row.append(id).append('\t')
+                                .append(options.usernamePrefix()).append(id).append('\t')
+                                .append(hashes[(int) (id % hashes.length)]).append('\t')
+                                .append("USER");
+                    });
+
+            copy.copy("cards", "id, card_number, owner_id, expiration_date, status, balance, card_last4",
+                    options.cards(), options.seed() + 1,
+                    () -> new CardNumberConverter(encryption),
+                    (index, random, converter, row) -> {
+                        long id = firstCardId + index;
+                        String number = cardNumber(id);
+                        double roll = random.nextDouble();
+                        LocalDate expiration;
+                        String status;
+                        if (roll < options.expiredShare()) {
+                            expiration = today.minusDays(1 + random.nextInt(HISTORY_DAYS));
+                            status = "EXPIRED";
+                        } else {
+                            expiration = today.plusDays(1 + random.nextInt(MAX_VALIDITY_DAYS));
+                            status = roll < options.expiredShare() + options.blockedShare() ? "BLOCKED" : "ACTIVE";
+                        }
+                        row.append(id).append('\t')
+                                .append(converter.convertToDatabaseColumn(number)).append('\t')
+                                .append(firstUserId + owners.ownerOf(index)).append('\t')
+                                .append(expiration).append('\t')
+                                .append(status).append('\t');
+                        appendMoney(row, (long) (10_000_000 * Math.pow(random.nextDouble(), 3)));
+                        row.append('\t').append(number, number.length() - 4, number.length());
+                    });
+
+            copy.copy("transfers", "id, from_card_id, to_card_id, amount, created_at",
+                    options.transfers(), options.seed() + 2,
+                    () -> null,
+                    (index, random, state, row) -> {
+                        long from = hotCard(random, options, scatter);
+                        long to = -1;
+                        for (int attempt = 0; attempt < OWN_CARD_ATTEMPTS && to < 0; attempt++) {
+                            int owner = owners.ownerOf(from);
+                            long count = owners.cardCount(owner);
+                            if (count > 1) {
+                                long first = owners.firstCard(owner);
+                                to = first + (from - first + 1 + random.nextLong(count - 1)) % count;
+                            } else {
+                                from = hotCard(random, options, scatter);
+                            }
+                        }
+                        if (to < 0) {
+                            to = (from + 1 + random.nextLong(options.cards() - 1)) % options.cards();
+                        }
+                        row.append(firstTransferId + index).append('\t')
+                                .append(firstCardId + from).append('\t')
+                                .append(firstCardId + to).append('\t');
+                        appendMoney(row, 100 + (long) (500_000 * Math.pow(random.nextDouble(), 4)));
+                        row.append('\t').append(now.minusSeconds(random.nextLong(HISTORY_DAYS * 86_400L)));
+                    });
+        } finally {
+            if (rebuild != null) {
+                rebuild.restore();
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE cards");
+            statement.execute("ANALYZE transfers");
+        }
+
+        return new GenerationResult(firstUserId, firstCardId, firstTransferId,
+                options.users(), options.cards(), options.transfers(),
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    static String cardNumber(long id) {
+        String digits = Long.toString(id);
+        StringBuilder payload = new StringBuilder(CardNumberGenerator.LENGTH);
+        payload.append(CARD_PREFIX);
+        for (int i = CARD_PREFIX.length() + digits.length(); i < CardNumberGenerator.LENGTH - 1; i++) {
+            payload.append('0');
+        }
+        payload.append(digits);
+        return payload.append(CardNumberGenerator.luhnCheckDigit(payload)).toString();
+    }
+
+    private static long hotCard(SplittableRandom random, GeneratorOptions options, long scatter) {
+        return Skew.scatter(Skew.index(random, options.cards(), options.hotCardSkew()), options.cards(), scatter);
+    }
+
+    private static void appendMoney(StringBuilder row, long cents) {
+        row.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            row.append('0');
+        }
+        row.append(fraction);
+    }
+
+    private static String[] hashPasswords(int count) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        return IntStream.rangeClosed(1, count)
+                .parallel()
+                .mapToObj(k -> encoder.encode(PASSWORD_PREFIX + k))
+                .toArray(String[]::new);
+    }
+
+    private static long reserveIds(Connection connection, String table, long count) throws SQLException {
+        String sequence = table + "_id_seq";
+        long first;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT greatest((SELECT coalesce(max(id), 0) FROM " + table + "), " +
+                        "(SELECT coalesce(last_value, 0) + increment_by FROM pg_sequences " +
+                        "WHERE schemaname = current_schema() AND sequencename = ?)) + 1")) {
+            statement.setString(1, sequence);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                first = rs.getLong(1);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT setval(?, ?, false)")) {
+            statement.setString(1, sequence);
+            statement.setLong(2, first + count);
+            statement.execute();
+        }
+        return first;
+    }
+}
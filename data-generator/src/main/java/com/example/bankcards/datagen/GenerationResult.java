@@ -0,0 +1,16 @@
+package com.example.bankcards.datagen;
+
+import java.time.Duration;
+
+public record GenerationResult(long firstUserId,
+                               long firstCardId,
+                               long firstTransferId,
+                               long users,
+                               long cards,
+                               long transfers,
+                               Duration elapsed) {
+
+    public long rows() {
+        return users + cards + transfers;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bankcards.datagen;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public record GeneratorOptions(String url,
+                               String username,
+                               String password,
+                               int users,
+                               long cards,
+                               long transfers,
+                               int threads,
+                               long seed,
+                               int passwords,
+                               String usernamePrefix,
+                               double ownerSkew,
+                               double hotCardSkew,
+                               double expiredShare,
+                               double blockedShare,
+                               String cardKey,
+                               String cardAlgorithm,
+                               boolean rebuildIndexes) {
+
+    private static final Set<String> KEYS = Set.of(
+            "url", "username", "password", "users", "cards", "transfers", "threads", "seed", "passwords",
+            "username-prefix", "owner-skew", "hot-card-skew", "expired-share", "blocked-share",
+            "card-key", "card-algorithm", "rebuild-indexes");
+
+    public GeneratorOptions {
+        if (users < 1 || cards < 0 || transfers < 0) {
+            throw new IllegalArgumentException("Количество строк должно быть неотрицательным, пользователей — хотя бы один");
+        }
+        if (cards > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Слишком много карт: " + cards);
+        }
+        if (transfers > 0 && cards < 2) {
+            throw new IllegalArgumentException("Для переводов нужно минимум две карты");
+        }
+        if (threads < 1 || passwords < 1) {
+            throw new IllegalArgumentException("Число потоков и паролей должно быть положительным");
+        }
+        if (ownerSkew < 1 || hotCardSkew < 1) {
+            throw new IllegalArgumentException("Коэффициент перекоса не может быть меньше 1");
+        }
+        if (expiredShare < 0 || blockedShare < 0 || expiredShare + blockedShare > 1) {
+            throw new IllegalArgumentException("Доли просроченных и заблокированных карт должны быть в диапазоне [0, 1]");
+        }
+    }
+
+    public static GeneratorOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается --параметр=значение: " + arg);
+            }
+            String[] pair = arg.substring(2).split("=", 2);
+            if (!KEYS.contains(pair[0])) {
+                throw new IllegalArgumentException("Неизвестный параметр: " + pair[0]);
+            }
+            values.put(pair[0], pair[1]);
+        }
+
+        return new GeneratorOptions(
+                values.getOrDefault("url", "jdbc:postgresql://localhost:5433/demo_db"),
+                values.getOrDefault("username", "demo_user"),
+                values.getOrDefault("password", "demo_pass"),
+                Integer.parseInt(values.getOrDefault("users", "1000000")),
+                Long.parseLong(values.getOrDefault("cards", "3000000")),
+                Long.parseLong(values.getOrDefault("transfers", "6000000")),
+                Integer.parseInt(values.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("passwords", "4")),
+                values.getOrDefault("username-prefix", "gen-user-"),
+                Double.parseDouble(values.getOrDefault("owner-skew", "3.0")),
+                Double.parseDouble(values.getOrDefault("hot-card-skew", "4.0")),
+                Double.parseDouble(values.getOrDefault("expired-share", "0.08")),
+                Double.parseDouble(values.getOrDefault("blocked-share", "0.03")),
+                values.getOrDefault("card-key", "MySuperSecretKey"),
+                values.getOrDefault("card-algorithm", "AES"),
+                Boolean.parseBoolean(values.getOrDefault("rebuild-indexes", "false")));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IndexRebuild {
+    private static final Logger logger = LoggerFactory.getLogger(IndexRebuild.class);
+
+    private final DataSource dataSource;
+    private final List<String[]> indexes = new ArrayList<>();
+    private final List<String[]> foreignKeys = new ArrayList<>();
+
+    private IndexRebuild(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static IndexRebuild dropSecondary(DataSource dataSource, String... tables) throws SQLException {
+        IndexRebuild rebuild = new IndexRebuild(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            rebuild.capture(connection, tables);
+            try (Statement statement = connection.createStatement()) {
+                for (String[] foreignKey : rebuild.foreignKeys) {
+                    statement.execute("ALTER TABLE " + foreignKey[0] + " DROP CONSTRAINT " + foreignKey[1]);
+                }
+                for (String[] index : rebuild.indexes) {
+                    statement.execute("DROP INDEX " + index[0]);
+                }
+            }
+        }
+        logger.info("Dropped {} indexes and {} foreign keys for the load",
+                rebuild.indexes.size(), rebuild.foreignKeys.size());
+        return rebuild;
+    }
+
+    public void restore() throws SQLException {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET maintenance_work_mem = '512MB'");
+            for (String[] index : indexes) {
+                statement.execute(index[1]);
+            }
+            for (String[] foreignKey : foreignKeys) {
+                statement.execute("ALTER TABLE " + foreignKey[0] + " ADD CONSTRAINT " + foreignKey[1] + " " + foreignKey[2]);
+            }
+        }
+        logger.info("Rebuilt {} indexes and {} foreign keys in {}s", indexes.size(), foreignKeys.size(),
+                String.format("%.1f", (System.nanoTime() - started) / 1e9));
+    }
+
+    private void capture(Connection connection, String[] tables) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT quote_ident(i.schemaname) || '.' || quote_ident(i.indexname), i.indexdef
+                FROM pg_indexes i
+                WHERE i.schemaname = current_schema()
+                  AND i.tablename = ANY(?)
+                  AND NOT EXISTS (SELECT 1 FROM pg_constraint c
+                                  WHERE c.conname = i.indexname AND c.contype IN ('p', 'u', 'x'))
+                ORDER BY i.indexname
+                """)) {
+            statement.setArray(1, connection.createArrayOf("text", tables));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    indexes.add(new String[]{rs.getString(1), rs.getString(2)});
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT conrelid::regclass::text, quote_ident(conname), pg_get_constraintdef(oid)
+                FROM pg_constraint
+                WHERE contype = 'f'
+                  AND connamespace = current_schema()::regnamespace
+                  AND conrelid::regclass::text = ANY(?)
+                ORDER BY conname
+                """)) {
+            statement.setArray(1, connection.createArrayOf("text", tables));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    foreignKeys.add(new String[]{rs.getString(1), rs.getString(2), rs.getString(3)});
+                }
+            }
+        }
+    }
+}
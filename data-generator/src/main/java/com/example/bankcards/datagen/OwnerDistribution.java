@@ -0,0 +1,64 @@
+package com.example.bankcards.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public final class OwnerDistribution {
+    private final long[] offsets;
+
+    private OwnerDistribution(long[] offsets) {
+        this.offsets = offsets;
+    }
+
+    public static OwnerDistribution skewed(int users, long cards, double skew, long seed) {
+        long[] counts = new long[users];
+        SplittableRandom random = new SplittableRandom(seed);
+        long extra = cards;
+        if (cards >= users) {
+            Arrays.fill(counts, 1);
+            extra = cards - users;
+        }
+        for (long i = 0; i < extra; i++) {
+            counts[Skew.index(random, users, skew)]++;
+        }
+
+        long[] offsets = new long[users + 1];
+        for (int owner = 0; owner < users; owner++) {
+            offsets[owner + 1] = offsets[owner] + counts[owner];
+        }
+        return new OwnerDistribution(offsets);
+    }
+
+    public int users() {
+        return offsets.length - 1;
+    }
+
+    public long cards() {
+        return offsets[offsets.length - 1];
+    }
+
+    public int ownerOf(long card) {
+        if (card < 0 || card >= cards()) {
+            throw new IndexOutOfBoundsException("Карта вне диапазона: " + card);
+        }
+        int low = 0;
+        int high = users() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= card) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public long firstCard(int owner) {
+        return offsets[owner];
+    }
+
+    public long cardCount(int owner) {
+        return offsets[owner + 1] - offsets[owner];
+    }
+}
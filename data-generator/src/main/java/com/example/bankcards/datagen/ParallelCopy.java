@@ -0,0 +1,111 @@
+package com.example.bankcards.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+public class ParallelCopy implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelCopy.class);
+
+    static final int CHUNK_ROWS = 100_000;
+    private static final int FLUSH_CHARS = 1 << 16;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final DataSource dataSource;
+    private final ExecutorService executor;
+
+    public ParallelCopy(DataSource dataSource, int threads) {
+        this.dataSource = dataSource;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public <S> long copy(String table, String columns, long rows, long seed,
+                         Supplier<S> chunkState, RowWriter<S> writer) throws SQLException {
+        String sql = "COPY " + table + " (" + columns + ") FROM STDIN";
+        long started = System.nanoTime();
+        List<Future<Long>> chunks = new ArrayList<>();
+        for (long from = 0, chunk = 0; from < rows; from += CHUNK_ROWS, chunk++) {
+            long first = from;
+            long last = Math.min(rows, from + CHUNK_ROWS);
+            SplittableRandom random = new SplittableRandom(seed * 31 + chunk);
+            chunks.add(executor.submit(() -> copyChunk(sql, first, last, random, chunkState.get(), writer)));
+        }
+
+        long copied = 0;
+        try {
+            for (Future<Long> chunk : chunks) {
+                copied += chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Загрузка " + table + " прервана", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Ошибка загрузки " + table, e.getCause());
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info("{}: {} rows in {}s ({} rows/s)", table, copied,
+                String.format("%.1f", seconds), String.format("%.0f", copied / Math.max(seconds, 1e-9)));
+        return copied;
+    }
+
+    private <S> long copyChunk(String sql, long first, long last, SplittableRandom random,
+                               S state, RowWriter<S> writer) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET synchronous_commit = off");
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+            PGCopyOutputStream out = new PGCopyOutputStream(pgConnection, sql, BUFFER_BYTES);
+            try {
+                for (long index = first; index < last; index++) {
+                    writer.write(index, random, state, buffer);
+                    buffer.append('\n');
+                    if (buffer.length() >= FLUSH_CHARS) {
+                        out.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
+                        buffer.setLength(0);
+                    }
+                }
+                out.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
+                return out.endCopy();
+            } catch (IOException | RuntimeException e) {
+                if (out.isActive()) {
+                    out.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface RowWriter<S> {
+        void write(long index, SplittableRandom random, S state, StringBuilder row);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.bankcards.datagen;
+
+import java.util.SplittableRandom;
+
+final class Skew {
+    private static final long SCATTER_BASE = 1_000_000_007L;
+
+    private Skew() {
+    }
+
+    static int index(SplittableRandom random, int size, double skew) {
+        return (int) index(random, (long) size, skew);
+    }
+
+    static long index(SplittableRandom random, long size, double skew) {
+        return Math.min(size - 1, (long) (size * Math.pow(random.nextDouble(), skew)));
+    }
+
+    static long scatterMultiplier(long size) {
+        long multiplier = SCATTER_BASE % size;
+        while (gcd(multiplier, size) != 1) {
+            multiplier = (multiplier + 1) % size;
+        }
+        return multiplier;
+    }
+
+    static long scatter(long index, long size, long multiplier) {
+        return Math.floorMod(index * multiplier, size);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.bankcards.datagen;
+
+import com.example.bankcards.util.CardEncryptionProperties;
+import com.example.bankcards.util.CardNumberConverter;
+import com.example.bankcards.util.CardNumberGenerator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataGeneratorIT {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static GenerationResult result;
+
+    @BeforeAll
+    static void generate() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(postgres.getPostgresDatabase());
+        liquibase.setChangeLog("classpath:db/migration/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        result = DataGenerator.run(postgres.getPostgresDatabase(), GeneratorOptions.parse(
+                "--users=2000", "--cards=6000", "--transfers=250000", "--threads=2", "--passwords=2"));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void run_ShouldLoadRequestedRowCounts() {
+        // Assert
+        assertEquals(2000, count("SELECT count(*) FROM users WHERE id >= ? AND id < ?",
+                result.firstUserId(), result.firstUserId() + result.users()));
+        assertEquals(6000, count("SELECT count(*) FROM cards WHERE id >= ? AND id < ?",
+                result.firstCardId(), result.firstCardId() + result.cards()));
+        assertEquals(250_000, count("SELECT count(*) FROM transfers WHERE id >= ? AND id < ?",
+                result.firstTransferId(), result.firstTransferId() + result.transfers()));
+        assertEquals(0, count("SELECT count(*) FROM transfers t LEFT JOIN cards c ON c.id = t.from_card_id " +
+                "WHERE c.id IS NULL"));
+    }
+
+    @Test
+    void run_ShouldEncryptCardNumbersWithApplicationConverter() {
+        // Arrange
+        CardNumberConverter converter = new CardNumberConverter(new CardEncryptionProperties("MySuperSecretKey", "AES"));
+
+        // Act
+        List<Map<String, Object>> cards = jdbcTemplate.queryForList(
+                "SELECT card_number, card_last4 FROM cards WHERE id >= ? ORDER BY id LIMIT 100", result.firstCardId());
+
+        // Assert
+        for (Map<String, Object> card : cards) {
+            String number = converter.convertToEntityAttribute((String) card.get("card_number"));
+            assertTrue(CardNumberGenerator.isValid(number), number);
+            assertEquals(16, number.length());
+            assertEquals(card.get("card_last4"), number.substring(12));
+        }
+    }
+
+    @Test
+    void run_ShouldProduceSkewedRealisticDistributions() {
+        // Assert
+        assertTrue(count("SELECT count(*) FROM cards WHERE status = 'EXPIRED' AND expiration_date < current_date") > 0);
+        assertEquals(0, count("SELECT count(*) FROM cards WHERE status <> 'EXPIRED' AND expiration_date < current_date"));
+
+        long sameOwner = count("SELECT count(*) FROM transfers t JOIN cards f ON f.id = t.from_card_id " +
+                "JOIN cards d ON d.id = t.to_card_id WHERE f.owner_id = d.owner_id AND t.id >= ? AND t.id < ?",
+                result.firstTransferId(), result.firstTransferId() + result.transfers());
+        assertTrue(sameOwner > 240_000, "Переводов между своими картами: " + sameOwner);
+
+        long hottest = count("SELECT max(c) FROM (SELECT count(*) c FROM transfers GROUP BY from_card_id) s");
+        assertTrue(hottest > 250_000 / 6000 * 20, "Самая горячая карта: " + hottest);
+    }
+
+    @Test
+    void run_ShouldUsePreHashedPasswordsAndAdvanceSequences() {
+        // Arrange
+        long userId = result.firstUserId() + 1;
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, userId);
+
+        // Act
+        Long nextUserId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password, role) VALUES ('after-load', 'x', 'USER') RETURNING id", Long.class);
+
+        // Assert
+        assertTrue(new BCryptPasswordEncoder().matches(
+                DataGenerator.PASSWORD_PREFIX + (userId % 2 + 1), hash));
+        assertTrue(nextUserId >= result.firstUserId() + result.users());
+    }
+
+    @Test
+    void run_ShouldRestoreIndexesAndForeignKeysAfterRebuild() throws Exception {
+        // Arrange
+        String indexes = "SELECT count(*) FROM pg_indexes WHERE schemaname = 'public' " +
+                "AND tablename IN ('users', 'cards', 'transfers')";
+        String foreignKeys = "SELECT count(*) FROM pg_constraint WHERE contype = 'f' " +
+                "AND conrelid::regclass::text IN ('cards', 'transfers')";
+        long indexesBefore = count(indexes);
+        long foreignKeysBefore = count(foreignKeys);
+
+        // Act
+        GenerationResult rebuilt = DataGenerator.run(postgres.getPostgresDatabase(), GeneratorOptions.parse(
+                "--users=100", "--cards=300", "--transfers=1000", "--threads=2", "--passwords=1",
+                "--username-prefix=rebuild-", "--rebuild-indexes=true"));
+
+        // Assert
+        assertEquals(indexesBefore, count(indexes));
+        assertEquals(foreignKeysBefore, count(foreignKeys));
+        assertEquals(3, foreignKeysBefore);
+        assertEquals(300, count("SELECT count(*) FROM cards WHERE id >= ? AND id < ?",
+                rebuilt.firstCardId(), rebuilt.firstCardId() + rebuilt.cards()));
+    }
+
+    private static long count(String sql, Object... args) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return value == null ? 0 : value;
+    }
+}
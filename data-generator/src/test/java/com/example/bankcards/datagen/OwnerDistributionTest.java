@@ -0,0 +1,71 @@
+package com.example.bankcards.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerDistributionTest {
+
+    @Test
+    void skewed_ShouldGiveEveryOwnerACardAndConcentrateTheRest() {
+        // Act
+        OwnerDistribution distribution = OwnerDistribution.skewed(1_000, 5_000, 3.0, 7L);
+
+        // Assert
+        assertEquals(1_000, distribution.users());
+        assertEquals(5_000, distribution.cards());
+        long topTenPercent = 0;
+        for (int owner = 0; owner < distribution.users(); owner++) {
+            assertTrue(distribution.cardCount(owner) >= 1);
+            if (owner < 100) {
+                topTenPercent += distribution.cardCount(owner);
+            }
+        }
+        assertTrue(topTenPercent > 1_500, "Ожидался перекос в пользу первых владельцев: " + topTenPercent);
+    }
+
+    @Test
+    void ownerOf_ShouldMatchCardRanges() {
+        // Arrange
+        OwnerDistribution distribution = OwnerDistribution.skewed(50, 400, 2.0, 1L);
+
+        // Act & Assert
+        for (int owner = 0; owner < distribution.users(); owner++) {
+            long first = distribution.firstCard(owner);
+            long last = first + distribution.cardCount(owner) - 1;
+            assertEquals(owner, distribution.ownerOf(first));
+            assertEquals(owner, distribution.ownerOf(last));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> distribution.ownerOf(400));
+    }
+
+    @Test
+    void skewed_ShouldBeDeterministicForSeed() {
+        // Act
+        OwnerDistribution first = OwnerDistribution.skewed(100, 1_000, 3.0, 42L);
+        OwnerDistribution second = OwnerDistribution.skewed(100, 1_000, 3.0, 42L);
+
+        // Assert
+        for (int owner = 0; owner < 100; owner++) {
+            assertEquals(first.cardCount(owner), second.cardCount(owner));
+        }
+    }
+
+    @Test
+    void scatter_ShouldPermuteIndexes() {
+        // Arrange
+        long size = 1_000;
+        long multiplier = Skew.scatterMultiplier(size);
+        boolean[] seen = new boolean[(int) size];
+
+        // Act
+        for (long i = 0; i < size; i++) {
+            seen[(int) Skew.scatter(i, size, multiplier)] = true;
+        }
+
+        // Assert
+        for (boolean hit : seen) {
+            assertTrue(hit);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Builds the application and the load-test harness, then runs it against an embedded PostgreSQL.
+# Usage: load-test/run.sh [--clients=N] [--users=N] [--cards-per-user=N] [--warmup=S] [--duration=S]
+#                         [--mix=login=5,list=60,transfer=25,block=10] [--pool-size=N] [--profiles=P] [--report-dir=DIR]
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+if [[ "${SKIP_BUILD:-false}" != "true" ]]; then
+    mvn -B -q -f "$ROOT/pom.xml" install -DskipTests
+    mvn -B -q -f "$ROOT/load-test/pom.xml" package -DskipTests
+fi
+
+exec java ${JAVA_OPTS:-} -jar "$ROOT/load-test/target/load-test.jar" "$@"
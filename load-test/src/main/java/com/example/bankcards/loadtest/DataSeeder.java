@@ -0,0 +1,86 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.util.CardNumberConverter;
+import com.example.bankcards.util.CardNumberGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DataSeeder {
+    public static final String PASSWORD = "load-test-secret";
+    public static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    private static final String USERNAME_PREFIX = "load-user-";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardNumberConverter cardNumberConverter;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, CardNumberConverter cardNumberConverter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardNumberConverter = cardNumberConverter;
+    }
+
+    public List<SeededUser> seed(int users, int cardsPerUser, String passwordHash) {
+        jdbcTemplate.update("INSERT INTO users (username, password, role) " +
+                "SELECT ? || g, ?, 'USER' FROM generate_series(1, ?) g", USERNAME_PREFIX, passwordHash, users);
+        List<Map<String, Object>> userRows = jdbcTemplate.queryForList(
+                "SELECT id, username FROM users WHERE username LIKE ? ORDER BY id", USERNAME_PREFIX + "%");
+
+        int cards = userRows.size() * cardsPerUser;
+        String[] numbers = new String[cards];
+        String[] last4 = new String[cards];
+        Long[] owners = new Long[cards];
+        for (int i = 0; i < cards; i++) {
+            String number = cardNumber(i);
+            numbers[i] = cardNumberConverter.convertToDatabaseColumn(number);
+            last4[i] = number.substring(number.length() - 4);
+            owners[i] = ((Number) userRows.get(i / cardsPerUser).get("id")).longValue();
+        }
+        jdbcTemplate.update("""
+                INSERT INTO cards (card_number, owner_id, expiration_date, status, balance, card_last4)
+                SELECT t.num, t.owner_id, (current_date + interval '3 years')::date, 'ACTIVE', ?, t.last4
+                FROM unnest(?::text[], ?::bigint[], ?::text[]) AS t(num, owner_id, last4)
+                """, ps -> {
+            ps.setBigDecimal(1, INITIAL_BALANCE);
+            ps.setArray(2, ps.getConnection().createArrayOf("text", numbers));
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", owners));
+            ps.setArray(4, ps.getConnection().createArrayOf("text", last4));
+        });
+
+        Map<Long, List<Long>> cardsByOwner = new HashMap<>();
+        jdbcTemplate.query("SELECT owner_id, id FROM cards WHERE owner_id = ANY(?) ORDER BY id",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", owners)),
+                rs -> {
+                    cardsByOwner.computeIfAbsent(rs.getLong("owner_id"), k -> new ArrayList<>()).add(rs.getLong("id"));
+                });
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE cards");
+
+        List<SeededUser> seeded = new ArrayList<>(userRows.size());
+        for (Map<String, Object> row : userRows) {
+            long id = ((Number) row.get("id")).longValue();
+            long[] cardIds = cardsByOwner.get(id).stream().mapToLong(Long::longValue).toArray();
+            seeded.add(new SeededUser(id, (String) row.get("username"), cardIds));
+        }
+        return seeded;
+    }
+
+    public BigDecimal totalBalance(List<SeededUser> users) {
+        Long[] ids = users.stream().map(SeededUser::id).toArray(Long[]::new);
+        return jdbcTemplate.query("SELECT coalesce(sum(balance), 0) FROM cards WHERE owner_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                rs -> {
+                    rs.next();
+                    return rs.getBigDecimal(1);
+                });
+    }
+
+    private static String cardNumber(int index) {
+        String payload = String.format("52%013d", index);
+        return payload + CardNumberGenerator.luhnCheckDigit(payload);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.BankApplication;
+import com.example.bankcards.util.CardNumberConverter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmbeddedBank implements AutoCloseable {
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final DataSeeder seeder;
+
+    private EmbeddedBank(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+        this.seeder = new DataSeeder(context.getBean(JdbcTemplate.class),
+                context.getBean(CardNumberConverter.class));
+    }
+
+    public static EmbeddedBank start(LoadTestOptions options) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", String.valueOf(options.poolSize() + 20))
+                .start();
+        try {
+            List<String> args = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    "--spring.datasource.hikari.maximum-pool-size=" + options.poolSize(),
+                    "--spring.datasource.hikari.minimum-idle=" + options.poolSize(),
+                    "--spring.jpa.show-sql=false",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.example.bankcards.loadtest=INFO"));
+            if (!options.profiles().isBlank()) {
+                args.add("--spring.profiles.active=" + options.profiles());
+            }
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BankApplication.class)
+                    .run(args.toArray(new String[0]));
+            return new EmbeddedBank(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    public URI baseUri() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+
+    public List<SeededUser> seed(int users, int cardsPerUser) {
+        String passwordHash = context.getBean(BCryptPasswordEncoder.class).encode(DataSeeder.PASSWORD);
+        return seeder.seed(users, cardsPerUser, passwordHash);
+    }
+
+    public BigDecimal totalBalance(List<SeededUser> users) {
+        return seeder.totalBalance(users);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
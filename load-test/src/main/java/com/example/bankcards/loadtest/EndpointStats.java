@@ -0,0 +1,61 @@
+package com.example.bankcards.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Operation operation;
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    public EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(int status, long elapsedNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+
+    public long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    public Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> result = new TreeMap<>();
+        statuses.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+
+    public long getServerErrors() {
+        return getStatuses().entrySet().stream()
+                .filter(e -> e.getKey() >= 500)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+}
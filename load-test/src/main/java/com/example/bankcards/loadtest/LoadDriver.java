@@ -0,0 +1,203 @@
+package com.example.bankcards.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class LoadDriver {
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String TRANSFER_AMOUNT = "0.01";
+
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private volatile long measureFrom;
+    private volatile long deadline;
+
+    public LoadDriver(URI baseUri, LoadTestOptions options) {
+        this.baseUri = baseUri;
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    public LoadReport run(List<SeededUser> users) throws InterruptedException {
+        ThreadModel threadModel = ThreadModel.detect();
+        ExecutorService executor = threadModel.newPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+
+        logger.info("Driving {} clients on {} threads, mix {}, warmup {}s, measurement {}s",
+                options.clients(), threadModel.label(), options.mix(),
+                options.warmup().toSeconds(), options.duration().toSeconds());
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(options.clients());
+        for (int c = 0; c < options.clients(); c++) {
+            SeededUser user = users.get(c);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    new Client(client, user).run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        measureFrom = System.nanoTime() + options.warmup().toNanos();
+        deadline = measureFrom + options.duration().toNanos();
+        start.countDown();
+        boolean completed = finished.await(
+                options.warmup().plus(options.duration()).plus(REQUEST_TIMEOUT).toSeconds(), TimeUnit.SECONDS);
+        executor.shutdownNow();
+        if (!completed) {
+            logger.warn("Some clients did not finish in time");
+        }
+        return new LoadReport(threadModel.label(), options.clients(), options.duration(), List.copyOf(stats.values()));
+    }
+
+    private final class Client {
+        private final HttpClient client;
+        private final SeededUser user;
+        private String token;
+        private int transfers;
+
+        private Client(HttpClient client, SeededUser user) {
+            this.client = client;
+            this.user = user;
+        }
+
+        void run() throws InterruptedException {
+            execute(Operation.LOGIN);
+            while (System.nanoTime() < deadline) {
+                Operation operation = token == null
+                        ? Operation.LOGIN
+                        : options.mix().pick(ThreadLocalRandom.current().nextInt(options.mix().getTotal()));
+                execute(operation);
+            }
+        }
+
+        private void execute(Operation operation) throws InterruptedException {
+            HttpRequest request = request(operation);
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                long ended = System.nanoTime();
+                if (operation == Operation.LOGIN && response.statusCode() == 200) {
+                    token = objectMapper.readTree(response.body()).get("token").asText();
+                }
+                if (started >= measureFrom && ended <= deadline) {
+                    stats.get(operation).record(response.statusCode(), ended - started);
+                }
+                if (response.statusCode() >= 500) {
+                    logger.warn("{} returned {}: {}", operation.getEndpoint(), response.statusCode(), response.body());
+                }
+            } catch (IOException e) {
+                if (started >= measureFrom) {
+                    stats.get(operation).recordFailure();
+                }
+                logger.warn("{} failed: {}", operation.getEndpoint(), e.toString());
+            }
+        }
+
+        private HttpRequest request(Operation operation) {
+            return switch (operation) {
+                case LOGIN -> json("/api/auth/login")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + user.username()
+                                + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}"))
+                        .build();
+                case LIST_CARDS -> authorized("/api/cards/user/" + user.id() + "?size=20")
+                        .GET()
+                        .build();
+                case TRANSFER -> {
+                    long[] cards = user.cardIds();
+                    boolean forward = (transfers++ & 1) == 0;
+                    yield authorized("/api/cards/transfer")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"fromCardId\":" + cards[forward ? 0 : 1]
+                                    + ",\"toCardId\":" + cards[forward ? 1 : 0]
+                                    + ",\"amount\":" + TRANSFER_AMOUNT + "}"))
+                            .build();
+                }
+                case BLOCK_REQUEST -> {
+                    long[] cards = user.cardIds();
+                    yield authorized("/api/block-requests/" + cards[ThreadLocalRandom.current().nextInt(cards.length)])
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                }
+            };
+        }
+
+        private HttpRequest.Builder json(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json");
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + token);
+        }
+    }
+
+    enum ThreadModel {
+        VIRTUAL("virtual"),
+        PLATFORM("platform");
+
+        private final String label;
+
+        ThreadModel(String label) {
+            this.label = label;
+        }
+
+        static ThreadModel detect() {
+            try {
+                Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return VIRTUAL;
+            } catch (NoSuchMethodException e) {
+                return PLATFORM;
+            }
+        }
+
+        String label() {
+            return label;
+        }
+
+        ExecutorService newPerTaskExecutor() {
+            if (this == VIRTUAL) {
+                try {
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+                }
+            }
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
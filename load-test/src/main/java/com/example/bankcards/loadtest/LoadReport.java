@@ -0,0 +1,86 @@
+package com.example.bankcards.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+public class LoadReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String threadModel;
+    private final int clients;
+    private final Duration duration;
+    private final List<EndpointStats> endpoints;
+
+    public LoadReport(String threadModel, int clients, Duration duration, List<EndpointStats> endpoints) {
+        this.threadModel = threadModel;
+        this.clients = clients;
+        this.duration = duration;
+        this.endpoints = endpoints;
+    }
+
+    public List<EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    public long getTotalRequests() {
+        return endpoints.stream().mapToLong(EndpointStats::getCount).sum();
+    }
+
+    public long getErrors() {
+        return endpoints.stream().mapToLong(e -> e.getServerErrors() + e.getFailures()).sum();
+    }
+
+    public double throughput(long count) {
+        return count / (duration.toMillis() / 1000.0);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nthreads=%s clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s%n%n",
+                threadModel, clients, duration.toSeconds(), getTotalRequests(), getErrors(),
+                throughput(getTotalRequests()));
+        out.printf("%-34s %9s %10s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        for (EndpointStats endpoint : endpoints) {
+            Histogram latencies = endpoint.getLatencies();
+            if (latencies.getTotalCount() == 0 && endpoint.getFailures() == 0) {
+                continue;
+            }
+            String statuses = endpoint.getStatuses().toString()
+                    + (endpoint.getFailures() > 0 ? " failed=" + endpoint.getFailures() : "");
+            out.printf("%-34s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    endpoint.getOperation().getEndpoint(),
+                    latencies.getTotalCount(),
+                    throughput(latencies.getTotalCount()),
+                    millis(latencies, 50.0),
+                    millis(latencies, 90.0),
+                    millis(latencies, 99.0),
+                    millis(latencies, 99.9),
+                    latencies.getMaxValue() / MICROS_PER_MILLI,
+                    statuses);
+        }
+    }
+
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (EndpointStats endpoint : endpoints) {
+            Histogram latencies = endpoint.getLatencies();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(endpoint.getOperation().getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bankcards.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public final class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadReport report = run(options);
+        report.print(System.out);
+        if (options.reportDir() != null) {
+            report.writeHistograms(options.reportDir());
+            logger.info("HdrHistogram percentile distributions written to {}", options.reportDir().toAbsolutePath());
+        }
+        System.exit(report.getErrors() == 0 ? 0 : 1);
+    }
+
+    public static LoadReport run(LoadTestOptions options) throws Exception {
+        try (EmbeddedBank bank = EmbeddedBank.start(options)) {
+            List<SeededUser> users = bank.seed(options.users(), options.cardsPerUser());
+            BigDecimal before = bank.totalBalance(users);
+            logger.info("Seeded {} users with {} cards each at {}", users.size(), options.cardsPerUser(), bank.baseUri());
+
+            LoadReport report = new LoadDriver(bank.baseUri(), options).run(users);
+
+            BigDecimal after = bank.totalBalance(users);
+            if (before.compareTo(after) != 0) {
+                throw new IllegalStateException("Сумма балансов изменилась: было " + before + ", стало " + after);
+            }
+            return report;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bankcards.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public record LoadTestOptions(int users,
+                              int cardsPerUser,
+                              int clients,
+                              Duration warmup,
+                              Duration duration,
+                              WorkloadMix mix,
+                              int poolSize,
+                              String profiles,
+                              Path reportDir) {
+
+    private static final Set<String> KEYS = Set.of(
+            "users", "cards-per-user", "clients", "warmup", "duration", "mix", "pool-size", "profiles", "report-dir");
+
+    public LoadTestOptions {
+        if (clients < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы один клиент");
+        }
+        if (users < clients) {
+            throw new IllegalArgumentException("Пользователей должно быть не меньше, чем клиентов");
+        }
+        if (cardsPerUser < 2) {
+            throw new IllegalArgumentException("Для переводов нужно минимум две карты на пользователя");
+        }
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Размер пула соединений должен быть положительным");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative()) {
+            throw new IllegalArgumentException("Некорректная длительность прогона");
+        }
+    }
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается --параметр=значение: " + arg);
+            }
+            String[] pair = arg.substring(2).split("=", 2);
+            if (!KEYS.contains(pair[0])) {
+                throw new IllegalArgumentException("Неизвестный параметр: " + pair[0]);
+            }
+            values.put(pair[0], pair[1]);
+        }
+
+        int clients = Integer.parseInt(values.getOrDefault("clients", "200"));
+        String reportDir = values.get("report-dir");
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", String.valueOf(clients))),
+                Integer.parseInt(values.getOrDefault("cards-per-user", "4")),
+                clients,
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                WorkloadMix.parse(values.getOrDefault("mix", WorkloadMix.DEFAULT)),
+                Integer.parseInt(values.getOrDefault("pool-size", "20")),
+                values.getOrDefault("profiles", ""),
+                reportDir == null ? null : Path.of(reportDir));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.loadtest;
+
+public enum Operation {
+    LOGIN("login", "POST /api/auth/login"),
+    LIST_CARDS("list", "GET /api/cards/user/{id}"),
+    TRANSFER("transfer", "POST /api/cards/transfer"),
+    BLOCK_REQUEST("block", "POST /api/block-requests/{cardId}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция: " + key);
+    }
+}
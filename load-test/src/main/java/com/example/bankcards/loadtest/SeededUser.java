@@ -0,0 +1,4 @@
+package com.example.bankcards.loadtest;
+
+public record SeededUser(long id, String username, long[] cardIds) {
+}
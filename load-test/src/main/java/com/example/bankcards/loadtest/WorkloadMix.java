@@ -0,0 +1,85 @@
+package com.example.bankcards.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public final class WorkloadMix {
+    public static final String DEFAULT = "login=5,list=60,transfer=25,block=10";
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    public static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Ожидается операция=вес: " + part);
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(pair[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Вес должен быть целым числом: " + part, e);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Вес не может быть отрицательным: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(Operation.fromKey(pair[0]), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Смесь нагрузки пуста: " + spec);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    public Operation pick(int roll) {
+        int value = Math.floorMod(roll, total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Вес вне диапазона: " + value);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<Operation, Integer> getWeights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!result.isEmpty()) {
+                result.append(',');
+            }
+            result.append(operation.getKey()).append('=').append(weight);
+        });
+        return result.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bankcards.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestIT {
+
+    @Test
+    void run_ShouldDriveEveryEndpointWithoutErrors() throws Exception {
+        // Arrange
+        LoadTestOptions options = LoadTestOptions.parse("--clients=4", "--warmup=2", "--duration=5", "--pool-size=5",
+                "--mix=login=20,list=40,transfer=25,block=15");
+
+        // Act
+        LoadReport report = LoadTest.run(options);
+
+        // Assert
+        assertEquals(0, report.getErrors());
+        for (EndpointStats endpoint : report.getEndpoints()) {
+            assertTrue(endpoint.getCount() > 0, "Нет запросов к " + endpoint.getOperation().getEndpoint());
+            assertTrue(endpoint.getStatuses().keySet().stream().allMatch(status -> status < 300),
+                    endpoint.getOperation().getEndpoint() + " " + endpoint.getStatuses());
+        }
+    }
+}
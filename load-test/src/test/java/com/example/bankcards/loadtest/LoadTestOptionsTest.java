@@ -0,0 +1,55 @@
+package com.example.bankcards.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void parse_ShouldApplyDefaults() {
+        // Act
+        LoadTestOptions options = LoadTestOptions.parse();
+
+        // Assert
+        assertEquals(200, options.clients());
+        assertEquals(200, options.users());
+        assertEquals(4, options.cardsPerUser());
+        assertEquals(Duration.ofSeconds(10), options.warmup());
+        assertEquals(Duration.ofSeconds(60), options.duration());
+        assertEquals(WorkloadMix.DEFAULT, options.mix().toString());
+        assertNull(options.reportDir());
+    }
+
+    @Test
+    void parse_ShouldReadArguments() {
+        // Act
+        LoadTestOptions options = LoadTestOptions.parse("--clients=50", "--users=80", "--duration=5",
+                "--mix=list=1", "--profiles=virtual-threads", "--report-dir=out");
+
+        // Assert
+        assertEquals(50, options.clients());
+        assertEquals(80, options.users());
+        assertEquals(Duration.ofSeconds(5), options.duration());
+        assertEquals("list=1", options.mix().toString());
+        assertEquals("virtual-threads", options.profiles());
+        assertEquals(Path.of("out"), options.reportDir());
+    }
+
+    @Test
+    void parse_ShouldRejectFewerUsersThanClients() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestOptions.parse("--clients=10", "--users=5"));
+        assertEquals("Пользователей должно быть не меньше, чем клиентов", exception.getMessage());
+    }
+
+    @Test
+    void parse_ShouldRejectUnknownArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--threads=1000"));
+    }
+}
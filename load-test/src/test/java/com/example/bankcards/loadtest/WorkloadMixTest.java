@@ -0,0 +1,52 @@
+package com.example.bankcards.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadMixTest {
+
+    @Test
+    void parse_ShouldDistributeRollsByWeight() {
+        // Arrange
+        WorkloadMix mix = WorkloadMix.parse("login=1,list=6,transfer=3");
+
+        // Act
+        Map<Operation, Integer> picks = new EnumMap<>(Operation.class);
+        for (int roll = 0; roll < mix.getTotal(); roll++) {
+            picks.merge(mix.pick(roll), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(10, mix.getTotal());
+        assertEquals(Map.of(Operation.LOGIN, 1, Operation.LIST_CARDS, 6, Operation.TRANSFER, 3), picks);
+        assertEquals("login=1,list=6,transfer=3", mix.toString());
+    }
+
+    @Test
+    void parse_ShouldSkipZeroWeights() {
+        // Act
+        WorkloadMix mix = WorkloadMix.parse("list=1, block=0");
+
+        // Assert
+        assertEquals(Map.of(Operation.LIST_CARDS, 1), mix.getWeights());
+        assertEquals(Operation.LIST_CARDS, mix.pick(7));
+    }
+
+    @Test
+    void parse_ShouldRejectUnknownOperation() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> WorkloadMix.parse("list=1,withdraw=2"));
+        assertEquals("Неизвестная операция: withdraw", exception.getMessage());
+    }
+
+    @Test
+    void parse_ShouldRejectEmptyMix() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("list=0"));
+    }
+}
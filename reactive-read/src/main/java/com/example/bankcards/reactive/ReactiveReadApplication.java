@@ -0,0 +1,16 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.util.CardEncryptionProperties;
+import com.example.bankcards.util.CardNumberConverter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import({JwtService.class, CardEncryptionProperties.class, CardNumberConverter.class})
+public class ReactiveReadApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveReadApplication.class, args);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.bankcards.reactive.controller;
+
+import com.example.bankcards.dto.CardResponse;
+import com.example.bankcards.dto.TransferResponse;
+import com.example.bankcards.reactive.repository.CardReadRepository;
+import com.example.bankcards.reactive.repository.CardReadRepository.CardRow;
+import com.example.bankcards.reactive.repository.CardReadRepository.TransferRow;
+import com.example.bankcards.reactive.security.AuthenticatedUser;
+import com.example.bankcards.util.CardNumberConverter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api")
+public class CardReadController {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final CardReadRepository cardReadRepository;
+    private final CardNumberConverter cardNumberConverter;
+
+    public CardReadController(CardReadRepository cardReadRepository, CardNumberConverter cardNumberConverter) {
+        this.cardReadRepository = cardReadRepository;
+        this.cardNumberConverter = cardNumberConverter;
+    }
+
+    @GetMapping(value = "/cards/user/{userId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CardResponse> getUserCards(@PathVariable Long userId,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size,
+                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        checkAccess(userId, currentUser, "Вы не можете просматривать карты другого пользователя");
+        int limit = limit(size);
+        return cardReadRepository.findCardsByOwner(userId, limit, offset(page, limit))
+                .map(this::toCardResponse);
+    }
+
+    @GetMapping(value = "/transfers/user/{userId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TransferResponse> getUserTransfers(@PathVariable Long userId,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "20") int size,
+                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        checkAccess(userId, currentUser, "Вы не можете просматривать переводы другого пользователя");
+        int limit = limit(size);
+        return cardReadRepository.findTransfersByOwner(userId, limit, offset(page, limit))
+                .map(this::toTransferResponse);
+    }
+
+    private void checkAccess(Long userId, AuthenticatedUser currentUser, String message) {
+        if (!currentUser.isAdmin() && !currentUser.id().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, message);
+        }
+    }
+
+    private CardResponse toCardResponse(CardRow card) {
+        return new CardResponse(
+                card.id(),
+                CardResponse.maskCardNumber(lastDigits(card.last4(), card.encryptedNumber())),
+                card.expirationDate(),
+                card.status(),
+                card.balance(),
+                card.availableBalance()
+        );
+    }
+
+    private TransferResponse toTransferResponse(TransferRow transfer) {
+        return new TransferResponse(
+                transfer.id(),
+                CardResponse.maskCardNumber(lastDigits(transfer.fromLast4(), transfer.fromEncryptedNumber())),
+                CardResponse.maskCardNumber(lastDigits(transfer.toLast4(), transfer.toEncryptedNumber())),
+                transfer.amount(),
+                transfer.createdAt()
+        );
+    }
+
+    private String lastDigits(String last4, String encryptedNumber) {
+        if (last4 != null) {
+            return last4;
+        }
+        return encryptedNumber == null ? null : cardNumberConverter.convertToEntityAttribute(encryptedNumber);
+    }
+
+    private static int limit(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static long offset(int page, int limit) {
+        return (long) Math.max(page, 0) * limit;
+    }
+}
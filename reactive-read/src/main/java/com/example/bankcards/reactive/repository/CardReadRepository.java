@@ -0,0 +1,93 @@
+package com.example.bankcards.reactive.repository;
+
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public class CardReadRepository {
+    private final DatabaseClient databaseClient;
+
+    public CardReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<UserRow> findUserByUsername(String username) {
+        return databaseClient.sql("SELECT id, username, role FROM users WHERE username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> new UserRow(
+                        row.get("id", Long.class),
+                        row.get("username", String.class),
+                        Role.valueOf(row.get("role", String.class))))
+                .one();
+    }
+
+    public Flux<CardRow> findCardsByOwner(Long ownerId, int limit, long offset) {
+        return databaseClient.sql("""
+                        SELECT id, card_number, card_last4, expiration_date, status, balance,
+                               balance - held_amount AS available_balance
+                        FROM cards
+                        WHERE owner_id = :ownerId
+                        ORDER BY id
+                        LIMIT :limit OFFSET :offset
+                        """)
+                .bind("ownerId", ownerId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> new CardRow(
+                        row.get("id", Long.class),
+                        row.get("card_number", String.class),
+                        row.get("card_last4", String.class),
+                        row.get("expiration_date", LocalDate.class),
+                        CardStatus.valueOf(row.get("status", String.class)),
+                        row.get("balance", BigDecimal.class),
+                        row.get("available_balance", BigDecimal.class)))
+                .all();
+    }
+
+    public Flux<TransferRow> findTransfersByOwner(Long ownerId, int limit, long offset) {
+        return databaseClient.sql("""
+                        SELECT t.id, t.amount, t.created_at,
+                               fc.card_number AS from_number, fc.card_last4 AS from_last4,
+                               tc.card_number AS to_number, tc.card_last4 AS to_last4
+                        FROM transfers t
+                        JOIN cards fc ON fc.id = t.from_card_id
+                        JOIN cards tc ON tc.id = t.to_card_id
+                        WHERE t.from_card_id IN (SELECT id FROM cards WHERE owner_id = :ownerId)
+                           OR t.to_card_id IN (SELECT id FROM cards WHERE owner_id = :ownerId)
+                        ORDER BY t.created_at DESC, t.id DESC
+                        LIMIT :limit OFFSET :offset
+                        """)
+                .bind("ownerId", ownerId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> new TransferRow(
+                        row.get("id", Long.class),
+                        row.get("from_number", String.class),
+                        row.get("from_last4", String.class),
+                        row.get("to_number", String.class),
+                        row.get("to_last4", String.class),
+                        row.get("amount", BigDecimal.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    public record UserRow(Long id, String username, Role role) {
+    }
+
+    public record CardRow(Long id, String encryptedNumber, String last4, LocalDate expirationDate,
+                          CardStatus status, BigDecimal balance, BigDecimal availableBalance) {
+    }
+
+    public record TransferRow(Long id, String fromEncryptedNumber, String fromLast4,
+                              String toEncryptedNumber, String toLast4,
+                              BigDecimal amount, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.entity.Role;
+
+public record AuthenticatedUser(Long id, String username, Role role) {
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.reactive.repository.CardReadRepository;
+import com.example.bankcards.security.JwtService;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+    private final JwtService jwtService;
+    private final CardReadRepository cardReadRepository;
+
+    public JwtReactiveAuthenticationManager(JwtService jwtService, CardReadRepository cardReadRepository) {
+        this.jwtService = jwtService;
+        this.cardReadRepository = cardReadRepository;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        return Mono.fromCallable(() -> jwtService.extractUsername(token))
+                .onErrorMap(e -> new BadCredentialsException("Недействительный токен", e))
+                .flatMap(cardReadRepository::findUserByUsername)
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Пользователь не найден")))
+                .map(user -> {
+                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.role().name());
+                    UserDetails userDetails = User.withUsername(user.username())
+                            .password("")
+                            .authorities(authority)
+                            .build();
+                    if (!jwtService.isTokenValid(token, userDetails)) {
+                        throw new BadCredentialsException("Недействительный токен");
+                    }
+                    return new UsernamePasswordAuthenticationToken(
+                            new AuthenticatedUser(user.id(), user.username(), user.role()), token, List.of(authority));
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.util.CardNumberConverter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class ReactiveReadIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong();
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CardNumberConverter cardNumberConverter;
+
+    private JdbcTemplate jdbcTemplate;
+    private long userId;
+    private String token;
+    private long firstCardId;
+    private long secondCardId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws Exception {
+        postgres = EmbeddedPostgres.start();
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(postgres.getPostgresDatabase());
+        liquibase.setChangeLog("classpath:db/migration/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        String username = "reactive-" + UUID.randomUUID();
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password, role) VALUES (?, 'x', 'USER') RETURNING id",
+                Long.class, username);
+        firstCardId = insertCard("1111", "1111");
+        secondCardId = insertCard("2222", null);
+        jdbcTemplate.update("INSERT INTO transfers (from_card_id, to_card_id, amount, created_at) " +
+                "VALUES (?, ?, 10.00, now() - interval '1 day'), (?, ?, 5.00, now())",
+                firstCardId, secondCardId, secondCardId, firstCardId);
+        token = jwtService.generateToken(User.withUsername(username).password("x").roles("USER").build());
+    }
+
+    private long insertCard(String lastDigits, String last4) {
+        String number = String.format("4000%08d%s", CARD_NUMBERS.incrementAndGet(), lastDigits);
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO cards (card_number, card_last4, owner_id, expiration_date, status, balance)
+                VALUES (?, ?, ?, current_date + 365, 'ACTIVE', 100.00) RETURNING id
+                """, Long.class, cardNumberConverter.convertToDatabaseColumn(number), last4, userId);
+    }
+
+    @Test
+    void getUserCards_ShouldStreamMaskedCardsFromDatabase() {
+        webTestClient.get().uri("/api/cards/user/{id}", userId)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(firstCardId)
+                .jsonPath("$[0].maskedNumber").isEqualTo("**** **** **** 1111")
+                .jsonPath("$[1].maskedNumber").isEqualTo("**** **** **** 2222")
+                .jsonPath("$[1].status").isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void getUserTransfers_ShouldReturnNewestFirst() {
+        webTestClient.get().uri("/api/transfers/user/{id}?size=1", userId)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].fromCardNumber").isEqualTo("**** **** **** 2222")
+                .jsonPath("$[0].toCardNumber").isEqualTo("**** **** **** 1111")
+                .jsonPath("$[0].amount").isEqualTo(5.0);
+    }
+
+    @Test
+    void getUserCards_ShouldForbidForeignUser() {
+        webTestClient.get().uri("/api/cards/user/{id}", userId + 100_000)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
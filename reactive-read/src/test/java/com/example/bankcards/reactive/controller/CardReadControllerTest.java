@@ -0,0 +1,159 @@
+package com.example.bankcards.reactive.controller;
+
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.reactive.config.SecurityConfig;
+import com.example.bankcards.reactive.repository.CardReadRepository;
+import com.example.bankcards.reactive.repository.CardReadRepository.CardRow;
+import com.example.bankcards.reactive.repository.CardReadRepository.TransferRow;
+import com.example.bankcards.reactive.repository.CardReadRepository.UserRow;
+import com.example.bankcards.reactive.security.JwtReactiveAuthenticationManager;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.util.CardEncryptionProperties;
+import com.example.bankcards.util.CardNumberConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+@WebFluxTest(value = CardReadController.class, properties = {
+        "jwt.secret_key=MySuperMegaDuperUltraLongestSecretKeyForEffectiveMobile",
+        "jwt.expiration_time=3600000",
+        "card.encryption.key=MySuperSecretKey"
+})
+@Import({SecurityConfig.class, JwtReactiveAuthenticationManager.class, JwtService.class,
+        CardEncryptionProperties.class, CardNumberConverter.class})
+class CardReadControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CardNumberConverter cardNumberConverter;
+
+    @MockitoBean
+    private CardReadRepository cardReadRepository;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(cardReadRepository.findUserByUsername("user"))
+                .thenReturn(Mono.just(new UserRow(1L, "user", Role.USER)));
+        Mockito.when(cardReadRepository.findUserByUsername("admin"))
+                .thenReturn(Mono.just(new UserRow(2L, "admin", Role.ADMIN)));
+        userToken = jwtService.generateToken(User.withUsername("user").password("x").roles("USER").build());
+        adminToken = jwtService.generateToken(User.withUsername("admin").password("x").roles("ADMIN").build());
+    }
+
+    @Test
+    void getUserCards_ShouldReturnMaskedOwnCards() {
+        Mockito.when(cardReadRepository.findCardsByOwner(1L, 20, 0L)).thenReturn(Flux.just(
+                new CardRow(10L, null, "1234", LocalDate.of(2028, 1, 31), CardStatus.ACTIVE,
+                        new BigDecimal("150.00"), new BigDecimal("120.00")),
+                new CardRow(11L, cardNumberConverter.convertToDatabaseColumn("4000123412345678"), null,
+                        LocalDate.of(2027, 6, 30), CardStatus.BLOCKED, BigDecimal.ZERO, BigDecimal.ZERO)));
+
+        webTestClient.get().uri("/api/cards/user/1")
+                .header("Authorization", "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(10)
+                .jsonPath("$[0].maskedNumber").isEqualTo("**** **** **** 1234")
+                .jsonPath("$[0].balance").isEqualTo(150.00)
+                .jsonPath("$[0].availableBalance").isEqualTo(120.00)
+                .jsonPath("$[1].maskedNumber").isEqualTo("**** **** **** 5678")
+                .jsonPath("$[1].status").isEqualTo("BLOCKED");
+    }
+
+    @Test
+    void getUserCards_ShouldClampPageSize() {
+        Mockito.when(cardReadRepository.findCardsByOwner(1L, CardReadController.MAX_PAGE_SIZE, 200L))
+                .thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/cards/user/1?page=2&size=1000")
+                .header("Authorization", "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+    }
+
+    @Test
+    void getUserCards_ShouldForbidOtherUsersCards() {
+        webTestClient.get().uri("/api/cards/user/5")
+                .header("Authorization", "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isForbidden();
+
+        Mockito.verify(cardReadRepository, Mockito.never()).findCardsByOwner(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void getUserCards_ShouldAllowAdminToReadAnyUser() {
+        Mockito.when(cardReadRepository.findCardsByOwner(eq(5L), anyInt(), anyLong())).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/cards/user/5")
+                .header("Authorization", "Bearer " + adminToken)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void getUserCards_ShouldRejectMissingOrInvalidToken() {
+        webTestClient.get().uri("/api/cards/user/1")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        webTestClient.get().uri("/api/cards/user/1")
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void getUserCards_ShouldRejectTokenOfDeletedUser() {
+        Mockito.when(cardReadRepository.findUserByUsername("ghost")).thenReturn(Mono.empty());
+        String token = jwtService.generateToken(User.withUsername("ghost").password("x").roles("USER").build());
+
+        webTestClient.get().uri("/api/cards/user/1")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void getUserTransfers_ShouldMaskBothCardNumbers() {
+        Mockito.when(cardReadRepository.findTransfersByOwner(1L, 20, 0L)).thenReturn(Flux.just(
+                new TransferRow(3L, null, "1111", null, "2222", new BigDecimal("25.50"),
+                        LocalDateTime.of(2026, 5, 1, 12, 0))));
+
+        webTestClient.get().uri("/api/transfers/user/1")
+                .header("Authorization", "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(3)
+                .jsonPath("$[0].fromCardNumber").isEqualTo("**** **** **** 1111")
+                .jsonPath("$[0].toCardNumber").isEqualTo("**** **** **** 2222")
+                .jsonPath("$[0].amount").isEqualTo(25.50);
+    }
+}
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Startup-time benchmark: executable jar vs. fast-startup profile, AppCDS and Spring AOT.
+# Needs a reachable PostgreSQL for the baseline run (docker-compose up -d postgres),
+# datasource settings are taken from SPRING_DATASOURCE_* if set.
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS="${1:-5}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR_NAME="bank-rest-0.0.1-SNAPSHOT-exec.jar"
+WORK="$ROOT/target/startup"
+APP="$WORK/app/$JAR_NAME"
+ARCHIVE="$WORK/app.jsa"
+REPLICA_ARGS=(--spring.profiles.active=fast-startup --app.migration.leader=false)
+
+cd "$ROOT"
+if [[ "${SKIP_BUILD:-false}" != "true" ]]; then
+    mvn -B -q -Pfast-startup package -DskipTests
+fi
+
+rm -rf "$WORK"
+java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$WORK/app" > /dev/null
+
+echo "Training run for the CDS archive..."
+(cd "$WORK" && java -XX:ArchiveClassesAtExit="$ARCHIVE" -Xlog:cds=off -Xlog:cds+dynamic=off \
+    -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar "$APP" "${REPLICA_ARGS[@]}" --server.port=0 > "$WORK/training.log" 2>&1)
+
+startup_seconds() {
+    local log="$WORK/run.log"
+    "$@" --server.port=0 > "$log" 2>&1 &
+    local pid=$!
+    local line=""
+    for _ in $(seq 1 600); do
+        line="$(grep -m1 -o 'process running for [0-9.]*' "$log" || true)"
+        if [[ -n "$line" ]] || ! kill -0 "$pid" 2> /dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+    kill "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    if [[ -z "$line" ]]; then
+        echo "Application did not start, see $log" >&2
+        exit 1
+    fi
+    echo "${line##* }"
+}
+
+benchmark() {
+    local name="$1"
+    shift
+    local samples=()
+    for _ in $(seq 1 "$RUNS"); do
+        samples+=("$(startup_seconds "$@")")
+    done
+    printf '%s\n' "${samples[@]}" | awk -v name="$name" '
+        { sum += $1; if (min == "" || $1 < min) min = $1 }
+        END { printf "%-28s mean %6.2fs   min %6.2fs\n", name, sum / NR, min; print name "\t" sum / NR > "/dev/stderr" }'
+}
+
+RESULTS="$WORK/results.tsv"
+{
+    benchmark "baseline (leader)" java -jar "target/$JAR_NAME"
+    benchmark "fast-startup replica" java -jar "$APP" "${REPLICA_ARGS[@]}"
+    benchmark "+ AppCDS" java -XX:SharedArchiveFile="$ARCHIVE" -Xlog:cds=off -jar "$APP" "${REPLICA_ARGS[@]}"
+    benchmark "+ AppCDS + Spring AOT" java -XX:SharedArchiveFile="$ARCHIVE" -Xlog:cds=off -Dspring.aot.enabled=true \
+        -jar "$APP" "${REPLICA_ARGS[@]}"
+} 2> "$RESULTS"
+
+awk -F'\t' 'NR == 1 { base = $2 } { printf "%-28s %+6.1f%%\n", $1, ($2 - base) / base * 100 }' "$RESULTS"
@@ -0,0 +1,20 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.service.LatencySloService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.slo", name = "enabled", matchIfMissing = true)
+public class LatencySloConfig {
+    @Bean
+    public FilterRegistrationBean<LatencyTrackingFilter> latencyTrackingFilter(LatencySloService latencySloService) {
+        FilterRegistrationBean<LatencyTrackingFilter> registration =
+                new FilterRegistrationBean<>(new LatencyTrackingFilter(latencySloService));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
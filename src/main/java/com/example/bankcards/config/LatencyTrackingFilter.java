@@ -0,0 +1,50 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.controller.AuthController;
+import com.example.bankcards.controller.BlockRequestController;
+import com.example.bankcards.controller.CardController;
+import com.example.bankcards.controller.HoldController;
+import com.example.bankcards.controller.ScheduledTransferController;
+import com.example.bankcards.controller.UserController;
+import com.example.bankcards.service.LatencySloService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+
+public class LatencyTrackingFilter extends OncePerRequestFilter {
+    public static final Set<Class<?>> TRACKED_CONTROLLERS = Set.of(
+            CardController.class, UserController.class, BlockRequestController.class, AuthController.class,
+            HoldController.class, ScheduledTransferController.class);
+
+    private final LatencySloService latencySloService;
+
+    public LatencyTrackingFilter(LatencySloService latencySloService) {
+        this.latencySloService = latencySloService;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            if (handler instanceof HandlerMethod method && TRACKED_CONTROLLERS.contains(method.getBeanType())) {
+                latencySloService.record(request.getMethod() + " "
+                        + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.service.HttpOutboxSink;
+import com.example.bankcards.service.LogFileOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class OutboxConfig {
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox.log-sink", name = "enabled", havingValue = "true")
+    public LogFileOutboxSink logFileOutboxSink(@Value("${app.outbox.log-sink.path:logs/outbox.ndjson}") Path path,
+                                               ObjectMapper objectMapper) {
+        return new LogFileOutboxSink(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox.http-sink", name = "url")
+    public HttpOutboxSink httpOutboxSink(RestClient.Builder builder,
+                                         @Value("${app.outbox.http-sink.url}") String url,
+                                         @Value("${app.outbox.http-sink.timeout:5s}") Duration timeout) {
+        return new HttpOutboxSink(builder, url, timeout);
+    }
+}
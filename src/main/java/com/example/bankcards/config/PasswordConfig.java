@@ -1,5 +1,7 @@
 package com.example.bankcards.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,7 +9,24 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @Configuration
 public class PasswordConfig {
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        Timer encodeTimer = Timer.builder("bank.password")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        Timer matchesTimer = Timer.builder("bank.password")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+
+        return new BCryptPasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return encodeTimer.record(() -> super.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return Boolean.TRUE.equals(matchesTimer.record(() -> super.matches(rawPassword, encodedPassword)));
+            }
+        };
     }
 }
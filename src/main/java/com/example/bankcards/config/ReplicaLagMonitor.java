@@ -0,0 +1,58 @@
+package com.example.bankcards.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END::bigint
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+    private volatile Duration lastLag;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+    public void refresh() {
+        boolean usable;
+        try {
+            Long lagMillis = jdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+            lastLag = Duration.ofMillis(lagMillis == null ? 0 : lagMillis);
+            usable = lastLag.compareTo(maxLag) <= 0;
+        } catch (DataAccessException e) {
+            lastLag = null;
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            logger.warn("Replica {}: lag={}, max={}", usable ? "enabled" : "disabled", lastLag, maxLag);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Duration getLastLag() {
+        return lastLag;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bankcards.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.service.SqlStatsService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-accounting", name = "enabled", matchIfMissing = true)
+public class SqlAccountingConfig {
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof SqlAccountingDataSource)) {
+                    return new SqlAccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(SqlStatsService sqlStatsService) {
+        FilterRegistrationBean<SqlAccountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlAccountingFilter(sqlStatsService));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
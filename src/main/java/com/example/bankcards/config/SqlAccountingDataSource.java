@@ -0,0 +1,128 @@
+package com.example.bankcards.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+public class SqlAccountingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public SqlAccountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(), this::onConnection);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password), this::onConnection);
+    }
+
+    private Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (result instanceof CallableStatement statement) {
+            return wrap(CallableStatement.class, statement, this::onStatement);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return wrap(PreparedStatement.class, statement, this::onStatement);
+        }
+        if (result instanceof Statement statement) {
+            return wrap(Statement.class, statement, this::onStatement);
+        }
+        return result;
+    }
+
+    private Object onStatement(Object target, Method method, Object[] args) throws Throwable {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return invoke(target, method, args);
+        }
+        if (method.getName().equals("getResultSet")) {
+            return wrapResultSet(invoke(target, method, args));
+        }
+        if (!EXECUTE_METHODS.contains(method.getName())) {
+            return invoke(target, method, args);
+        }
+
+        long start = System.nanoTime();
+        Object result = invoke(target, method, args);
+        stats.recordStatement(System.nanoTime() - start, affectedRows(result));
+        return method.getName().equals("executeQuery") ? wrapResultSet(result) : result;
+    }
+
+    private Object wrapResultSet(Object resultSet) {
+        if (resultSet == null) {
+            return null;
+        }
+        return wrap(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.recordRow();
+            }
+            return result;
+        });
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "SqlAccounting[" + target + "]";
+            default -> handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(SqlAccountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler);
+    }
+}
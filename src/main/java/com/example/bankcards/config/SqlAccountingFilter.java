@@ -0,0 +1,81 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.service.SqlStatsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+public class SqlAccountingFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    public static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlStatsService sqlStatsService;
+
+    public SqlAccountingFilter(SqlStatsService sqlStatsService) {
+        this.sqlStatsService = sqlStatsService;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        HeaderWritingResponse wrapped = new HeaderWritingResponse(response, stats);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            SqlRequestStats.end();
+            if (!response.isCommitted()) {
+                wrapped.writeHeaders();
+            }
+            MDC.put("sql.statements", String.valueOf(stats.getStatements()));
+            MDC.put("sql.rows", String.valueOf(stats.getRows()));
+            MDC.put("sql.time_ms", String.valueOf(stats.getMillis()));
+            try {
+                sqlStatsService.record(endpoint(request), stats);
+            } finally {
+                MDC.remove("sql.statements");
+                MDC.remove("sql.rows");
+                MDC.remove("sql.time_ms");
+            }
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+    }
+
+    private static class HeaderWritingResponse extends OnCommittedResponseWrapper {
+        private final SqlRequestStats stats;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            response.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+            response.setHeader(TIME_HEADER, String.valueOf(stats.getMillis()));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bankcards.config;
+
+public final class SqlRequestStats {
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long nanos;
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void recordStatement(long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += Math.max(affectedRows, 0);
+    }
+
+    public void recordRow() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.BlockRequestBulkRequest;
+import com.example.bankcards.dto.BlockRequestBulkResponse;
 import com.example.bankcards.dto.BlockRequestResponse;
+import com.example.bankcards.service.BlockRequestEventHub;
 import com.example.bankcards.service.BlockRequestService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -12,9 +20,11 @@ import java.util.List;
 @RequestMapping("/api/block-requests")
 public class BlockRequestController {
     private final BlockRequestService blockRequestService;
+    private final BlockRequestEventHub eventHub;
 
-    public BlockRequestController(BlockRequestService blockRequestService) {
+    public BlockRequestController(BlockRequestService blockRequestService, BlockRequestEventHub eventHub) {
         this.blockRequestService = blockRequestService;
+        this.eventHub = eventHub;
     }
 
     @PostMapping("/{cardId}")
@@ -25,14 +35,36 @@ public class BlockRequestController {
 
     @PutMapping("/{id}/approve")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BlockRequestResponse> approve(@PathVariable Long id) {
-        return ResponseEntity.ok(BlockRequestResponse.from(blockRequestService.approveRequest(id)));
+    public ResponseEntity<BlockRequestResponse> approve(@PathVariable Long id,
+                                                        @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(BlockRequestResponse.from(
+                blockRequestService.approveRequest(id, currentUser.getUsername())));
     }
 
     @PutMapping("/{id}/reject")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BlockRequestResponse> reject(@PathVariable Long id) {
-        return ResponseEntity.ok(BlockRequestResponse.from(blockRequestService.rejectRequest(id)));
+    public ResponseEntity<BlockRequestResponse> reject(@PathVariable Long id,
+                                                       @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(BlockRequestResponse.from(
+                blockRequestService.rejectRequest(id, currentUser.getUsername())));
+    }
+
+    @PostMapping("/claim")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BlockRequestResponse>> claim(@RequestParam(defaultValue = "10") int limit,
+                                                            @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(
+                blockRequestService.claim(limit, currentUser.getUsername())
+                        .stream()
+                        .map(BlockRequestResponse::from)
+                        .toList()
+        );
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BlockRequestBulkResponse> bulk(@Valid @RequestBody BlockRequestBulkRequest request) {
+        return ResponseEntity.ok(blockRequestService.bulkResolve(request));
     }
 
     @GetMapping("/pending")
@@ -45,4 +77,15 @@ public class BlockRequestController {
                         .toList()
         );
     }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter stream() {
+        return eventHub.subscribe(() ->
+                blockRequestService.getPendingRequests()
+                        .stream()
+                        .map(BlockRequestResponse::from)
+                        .toList()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.CacheStatsResponse;
+import com.example.bankcards.service.CacheStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheController {
+    private final CacheStatsService cacheStatsService;
+
+    public CacheController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getStats());
+    }
+}
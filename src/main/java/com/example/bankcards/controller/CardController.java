@@ -1,32 +1,44 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.CardBatchCreateRequest;
 import com.example.bankcards.dto.CardCreateRequest;
 import com.example.bankcards.dto.CardResponse;
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.dto.TransferRequest;
 import com.example.bankcards.dto.TransferResponse;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.service.CardExportService;
 import com.example.bankcards.service.CardService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/cards")
 public class CardController {
     private final CardService cardService;
+    private final CardExportService cardExportService;
 
-    public CardController(CardService cardService) {
+    public CardController(CardService cardService, CardExportService cardExportService) {
         this.cardService = cardService;
+        this.cardExportService = cardExportService;
     }
 
     @PostMapping("/create")
@@ -36,6 +48,13 @@ public class CardController {
         return ResponseEntity.ok(CardResponse.from(card));
     }
 
+    @PostMapping("/create/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CardResponse>> createCards(@Valid @RequestBody CardBatchCreateRequest request) {
+        List<Card> cards = cardService.createCards(request.getOwnerIds());
+        return ResponseEntity.ok(cards.stream().map(CardResponse::from).toList());
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<CardResponse>> getUserCards(
@@ -56,6 +75,53 @@ public class CardController {
         return ResponseEntity.ok(cardService.getAllCards(pageable).map(CardResponse::from));
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<CardResponse>> getAllCardsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(cardService.getAllCardsAfter(cursor, size).map(CardResponse::from));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<CardResponse>> searchCards(
+            @Valid CardSearchFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(cardService.searchCards(filter, cursor, size).map(CardResponse::from));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        String fileName = format == ExportFormat.CSV ? "cards.csv" : "cards.ndjson";
+        MediaType contentType = format == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                cardExportService.exportCards(gzipOut, format);
+                gzipOut.finish();
+            } else {
+                cardExportService.exportCards(out, format);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + (gzip ? ".gz\"" : "\""))
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : contentType)
+                .body(body);
+    }
+
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
@@ -101,4 +167,24 @@ public class CardController {
             Pageable pageable) {
         return ResponseEntity.ok(cardService.getCardsExpiringBefore(date, pageable).map(CardResponse::from));
     }
+
+    @GetMapping("/status/{status}/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<CardResponse>> getByStatusByCursor(
+            @PathVariable CardStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(cardService.getCardsByStatusAfter(status, cursor, size).map(CardResponse::from));
+    }
+
+    @GetMapping("/expiring-before/{date}/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<CardResponse>> getByExpirationDateByCursor(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(cardService.getCardsExpiringBeforeAfter(date, cursor, size).map(CardResponse::from));
+    }
 }
\ No newline at end of file
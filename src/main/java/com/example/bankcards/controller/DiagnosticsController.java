@@ -0,0 +1,68 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.JfrRecordingRequest;
+import com.example.bankcards.dto.JfrRecordingStatus;
+import com.example.bankcards.dto.JfrSummary;
+import com.example.bankcards.service.DiagnosticsService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+public class DiagnosticsController {
+    private final DiagnosticsService diagnosticsService;
+
+    public DiagnosticsController(DiagnosticsService diagnosticsService) {
+        this.diagnosticsService = diagnosticsService;
+    }
+
+    @PostMapping("/jfr/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrRecordingStatus> startRecording(
+            @Valid @RequestBody(required = false) JfrRecordingRequest request
+    ) {
+        return ResponseEntity.ok(diagnosticsService.start(request != null ? request : new JfrRecordingRequest()));
+    }
+
+    @PostMapping("/jfr/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrRecordingStatus> stopRecording() {
+        return ResponseEntity.ok(diagnosticsService.stop());
+    }
+
+    @GetMapping("/jfr")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrRecordingStatus> getRecording() {
+        return ResponseEntity.ok(diagnosticsService.getStatus());
+    }
+
+    @GetMapping("/jfr/recording")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadRecording() {
+        Path file = diagnosticsService.getRecordingFile();
+        StreamingResponseBody body = out -> Files.copy(file, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+
+    @GetMapping("/jfr/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrSummary> getSummary(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(diagnosticsService.summarize(top));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.HoldCaptureRequest;
+import com.example.bankcards.dto.HoldRequest;
+import com.example.bankcards.dto.HoldResponse;
+import com.example.bankcards.service.HoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/holds")
+public class HoldController {
+    private final HoldService holdService;
+
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> authorize(@Valid @RequestBody HoldRequest request,
+                                                  @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.authorize(
+                request.getFromCardId(),
+                request.getToCardId(),
+                request.getAmount(),
+                request.getTtlSeconds(),
+                currentUser.getUsername()
+        )));
+    }
+
+    @PostMapping("/{id}/capture")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> capture(@PathVariable Long id,
+                                                @Valid @RequestBody(required = false) HoldCaptureRequest request,
+                                                @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.capture(
+                id, request == null ? null : request.getAmount(), currentUser.getUsername())));
+    }
+
+    @PostMapping("/{id}/release")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> release(@PathVariable Long id,
+                                                @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.release(id, currentUser.getUsername())));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable Long id,
+                                                @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.getHold(id, currentUser.getUsername())));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.CardExpiryStats;
+import com.example.bankcards.dto.ScheduledTransferStats;
+import com.example.bankcards.service.CardExpiryService;
+import com.example.bankcards.service.ScheduledTransferExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+public class JobController {
+    private final CardExpiryService cardExpiryService;
+    private final ScheduledTransferExecutor scheduledTransferExecutor;
+
+    public JobController(CardExpiryService cardExpiryService, ScheduledTransferExecutor scheduledTransferExecutor) {
+        this.cardExpiryService = cardExpiryService;
+        this.scheduledTransferExecutor = scheduledTransferExecutor;
+    }
+
+    @GetMapping("/card-expiry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardExpiryStats> getCardExpiryStats() {
+        return ResponseEntity.ok(cardExpiryService.getStats());
+    }
+
+    @PostMapping("/card-expiry/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardExpiryStats> runCardExpiry() {
+        return ResponseEntity.ok(cardExpiryService.run(LocalDate.now()));
+    }
+
+    @GetMapping("/scheduled-transfers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScheduledTransferStats> getScheduledTransferStats() {
+        return ResponseEntity.ok(scheduledTransferExecutor.getStats());
+    }
+
+    @PostMapping("/scheduled-transfers/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScheduledTransferStats> runScheduledTransfers() {
+        return ResponseEntity.ok(scheduledTransferExecutor.run(LocalDateTime.now()));
+    }
+}
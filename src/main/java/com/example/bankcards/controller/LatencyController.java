@@ -0,0 +1,25 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.LatencyReportResponse;
+import com.example.bankcards.service.LatencySloService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/latency")
+public class LatencyController {
+    private final LatencySloService latencySloService;
+
+    public LatencyController(LatencySloService latencySloService) {
+        this.latencySloService = latencySloService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LatencyReportResponse> getReport() {
+        return ResponseEntity.ok(latencySloService.getReport());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.ScheduledTransferRequest;
+import com.example.bankcards.dto.ScheduledTransferResponse;
+import com.example.bankcards.dto.ScheduledTransferRunResponse;
+import com.example.bankcards.service.ScheduledTransferService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scheduled-transfers")
+public class ScheduledTransferController {
+    private final ScheduledTransferService scheduledTransferService;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService) {
+        this.scheduledTransferService = scheduledTransferService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ScheduledTransferResponse> create(@Valid @RequestBody ScheduledTransferRequest request,
+                                                            @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(ScheduledTransferResponse.from(scheduledTransferService.create(
+                request.getFromCardId(),
+                request.getToCardId(),
+                request.getAmount(),
+                request.getFirstRunAt(),
+                request.getRecurrence(),
+                currentUser.getUsername()
+        )));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ScheduledTransferResponse> getScheduledTransfer(@PathVariable Long id,
+                                                                          @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(ScheduledTransferResponse.from(
+                scheduledTransferService.getScheduledTransfer(id, currentUser.getUsername())));
+    }
+
+    @GetMapping("/{id}/runs")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<List<ScheduledTransferRunResponse>> getRuns(@PathVariable Long id,
+                                                                      @RequestParam(defaultValue = "20") int limit,
+                                                                      @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(scheduledTransferService.getRuns(id, limit, currentUser.getUsername()).stream()
+                .map(ScheduledTransferRunResponse::from)
+                .toList());
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ScheduledTransferResponse> cancel(@PathVariable Long id,
+                                                            @AuthenticationPrincipal UserDetails currentUser) {
+        return ResponseEntity.ok(ScheduledTransferResponse.from(
+                scheduledTransferService.cancel(id, currentUser.getUsername())));
+    }
+}
\ No newline at end of file
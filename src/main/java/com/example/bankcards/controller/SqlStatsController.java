@@ -0,0 +1,33 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.SqlStatsResponse;
+import com.example.bankcards.service.SqlStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/sql")
+public class SqlStatsController {
+    private final SqlStatsService sqlStatsService;
+
+    public SqlStatsController(SqlStatsService sqlStatsService) {
+        this.sqlStatsService = sqlStatsService;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SqlStatsResponse> getStats() {
+        return ResponseEntity.ok(sqlStatsService.getStats());
+    }
+
+    @DeleteMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> resetStats() {
+        sqlStatsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
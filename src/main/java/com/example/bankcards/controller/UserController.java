@@ -1,18 +1,20 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.dto.UserCreateRequest;
 import com.example.bankcards.dto.UserResponse;
 import com.example.bankcards.dto.UserUpdateRequest;
 import com.example.bankcards.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -31,8 +33,21 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<KeysetPage<UserResponse>> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String usernamePrefix
+    ) {
+        return ResponseEntity.ok(userService.getUsers(cursor, size, usernamePrefix));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,36 @@
+package com.example.bankcards.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlockRequestBulkRequest {
+    public static final int MAX_BATCH = 1000;
+
+    @NotNull(message = "Действие обязательно")
+    private BulkAction action;
+
+    @Size(max = MAX_BATCH, message = "Не более 1000 заявок за раз")
+    private List<@NotNull Long> ids;
+
+    private LocalDateTime createdBefore;
+
+    @JsonIgnore
+    @AssertTrue(message = "Укажите либо ids, либо createdBefore")
+    public boolean isTargetSpecified() {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        return hasIds != (createdBefore != null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlockRequestBulkResponse {
+    private int processed;
+    private int blockedCards;
+    private List<BlockRequestOutcome> outcomes;
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlockRequestOutcome {
+    private Long id;
+    private Long cardId;
+    private RequestStatus status;
+    private BulkOutcome outcome;
+}
@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -15,12 +17,16 @@ public class BlockRequestResponse {
     private Long id;
     private Long cardId;
     private RequestStatus status;
+    private String claimedBy;
+    private LocalDateTime claimedUntil;
 
     public static BlockRequestResponse from(BlockRequest request) {
         BlockRequestResponse dto = new BlockRequestResponse();
         dto.setId(request.getId());
-        dto.setCardId(request.getCard().getId());
+        dto.setCardId(request.getCard() != null ? request.getCard().getId() : null);
         dto.setStatus(request.getStatus());
+        dto.setClaimedBy(request.getClaimedBy());
+        dto.setClaimedUntil(request.getClaimedUntil());
         return dto;
     }
 }
\ No newline at end of file
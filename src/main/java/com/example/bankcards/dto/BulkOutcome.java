@@ -0,0 +1,7 @@
+package com.example.bankcards.dto;
+
+public enum BulkOutcome {
+    PROCESSED,
+    ALREADY_PROCESSED,
+    NOT_FOUND
+}
@@ -0,0 +1,19 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStats {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+    private long elementCount;
+}
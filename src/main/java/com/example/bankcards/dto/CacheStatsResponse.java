@@ -0,0 +1,21 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponse {
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+    private List<CacheRegionStats> regions;
+}
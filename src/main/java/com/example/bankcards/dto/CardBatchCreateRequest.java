@@ -0,0 +1,17 @@
+package com.example.bankcards.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CardBatchCreateRequest {
+    @NotEmpty(message = "Список владельцев обязателен")
+    @Size(max = 1000, message = "За один запрос можно выпустить не более 1000 карт")
+    private List<@NotNull(message = "ID владельца обязателен") Long> ownerIds;
+}
@@ -0,0 +1,26 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardExpiryStats {
+    private boolean running;
+    private LocalDate runDate;
+    private LocalDateTime lastRunStartedAt;
+    private LocalDateTime lastRunFinishedAt;
+    private long lastRunExpired;
+    private long lastRunBatches;
+    private long lastBatchMillis;
+    private long lastProcessedId;
+    private long totalExpired;
+    private long totalBatches;
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.CardStatus;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+public class CardExportRow {
+    private final Long id;
+    private final Long ownerId;
+    private final String ownerUsername;
+    private final String maskedNumber;
+    private final CardStatus status;
+    private final LocalDate expirationDate;
+    private final BigDecimal balance;
+
+    public CardExportRow(Long id, Long ownerId, String ownerUsername, String cardNumber,
+                         CardStatus status, LocalDate expirationDate, BigDecimal balance) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.ownerUsername = ownerUsername;
+        this.maskedNumber = CardResponse.maskCardNumber(cardNumber);
+        this.status = status;
+        this.expirationDate = expirationDate;
+        this.balance = balance;
+    }
+}
@@ -17,6 +17,7 @@ public class CardResponse {
     private LocalDate expirationDate;
     private CardStatus status;
     private BigDecimal balance;
+    private BigDecimal availableBalance;
 
     public static CardResponse from(Card card) {
         CardResponse response = new CardResponse();
@@ -25,10 +26,11 @@ public class CardResponse {
         response.setExpirationDate(card.getExpirationDate());
         response.setStatus(card.getStatus());
         response.setBalance(card.getBalance());
+        response.setAvailableBalance(card.getAvailableBalance());
         return response;
     }
 
-    private static String maskCardNumber(String number) {
+    public static String maskCardNumber(String number) {
         if (number == null || number.length() < 4) {
             return "****";
         }
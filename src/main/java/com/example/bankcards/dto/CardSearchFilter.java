@@ -0,0 +1,31 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.CardStatus;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class CardSearchFilter {
+    private CardStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresTo;
+
+    private Long ownerId;
+
+    private BigDecimal balanceMin;
+
+    private BigDecimal balanceMax;
+
+    @Pattern(regexp = "\\d{4}", message = "Последние 4 цифры должны состоять из 4 цифр")
+    private String last4;
+}
@@ -0,0 +1,16 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointLatencyStats {
+    private String endpoint;
+    private LatencyWindowStats lastMinute;
+    private LatencyWindowStats lastHour;
+}
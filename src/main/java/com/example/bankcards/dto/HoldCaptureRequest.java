@@ -0,0 +1,16 @@
+package com.example.bankcards.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class HoldCaptureRequest {
+    @Positive(message = "Сумма списания должна быть положительной")
+    @Digits(integer = 12, fraction = 2, message = "Сумма списания недопустимого формата")
+    private BigDecimal amount;
+}
\ No newline at end of file
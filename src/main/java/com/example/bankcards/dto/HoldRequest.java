@@ -0,0 +1,30 @@
+package com.example.bankcards.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class HoldRequest {
+    @NotNull(message = "ID карты отправителя обязателен")
+    @Min(value = 1, message = "ID карты отправителя должен быть положительным")
+    private Long fromCardId;
+
+    @NotNull(message = "ID карты получателя обязателен")
+    @Min(value = 1, message = "ID карты получателя должен быть положительным")
+    private Long toCardId;
+
+    @NotNull(message = "Сумма холда обязательна")
+    @Positive(message = "Сумма холда должна быть положительной")
+    @Digits(integer = 12, fraction = 2, message = "Сумма холда недопустимого формата")
+    private BigDecimal amount;
+
+    @Min(value = 1, message = "Срок холда должен быть положительным")
+    private Long ttlSeconds;
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.Hold;
+import com.example.bankcards.entity.HoldStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldResponse {
+    private Long id;
+    private Long fromCardId;
+    private Long toCardId;
+    private BigDecimal amount;
+    private HoldStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime resolvedAt;
+    private Long transferId;
+
+    public static HoldResponse from(Hold hold) {
+        return new HoldResponse(
+                hold.getId(),
+                hold.getCard().getId(),
+                hold.getTargetCard().getId(),
+                hold.getAmount(),
+                hold.getStatus(),
+                hold.getCreatedAt(),
+                hold.getExpiresAt(),
+                hold.getResolvedAt(),
+                hold.getTransferId()
+        );
+    }
+}
\ No newline at end of file
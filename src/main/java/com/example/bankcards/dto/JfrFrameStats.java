@@ -0,0 +1,17 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JfrFrameStats {
+    private String frame;
+    private long samples;
+    private long bytes;
+    private double percent;
+}
@@ -0,0 +1,23 @@
+package com.example.bankcards.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class JfrRecordingRequest {
+    @NotNull(message = "Настройки JFR обязательны")
+    @Pattern(regexp = "default|profile", message = "Допустимые настройки JFR: default или profile")
+    private String settings = "profile";
+
+    @Min(value = 1, message = "Длительность записи должна быть положительной")
+    private Long durationSeconds;
+
+    @Min(value = 1, message = "Период выборки должен быть положительным")
+    @Max(value = 1000, message = "Период выборки не должен превышать 1000 мс")
+    private Integer executionSamplePeriodMillis;
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JfrRecordingStatus {
+    private long id;
+    private String name;
+    private String state;
+    private String settings;
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private Long durationSeconds;
+    private long sizeBytes;
+    private boolean downloadable;
+}
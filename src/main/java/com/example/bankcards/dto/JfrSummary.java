@@ -0,0 +1,21 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JfrSummary {
+    private String name;
+    private long executionSamples;
+    private long allocationSamples;
+    private long allocatedBytes;
+    private List<JfrFrameStats> hotMethods;
+    private List<JfrFrameStats> allocationSites;
+}
@@ -0,0 +1,44 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPage<T> {
+    public static final int MAX_SIZE = 500;
+
+    private List<T> content;
+    private String nextCursor;
+
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    public static <E, T> KeysetPage<T> of(List<E> rows, int size,
+                                          Function<E, T> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new KeysetPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static <E> KeysetPage<E> of(Slice<E> slice, Function<E, String> cursorOf) {
+        List<E> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new KeysetPage<>(content, nextCursor);
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LatencyReportResponse {
+    private long sloThresholdMillis;
+    private double sloObjective;
+    private List<EndpointLatencyStats> endpoints;
+}
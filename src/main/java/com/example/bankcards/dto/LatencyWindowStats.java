@@ -0,0 +1,21 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LatencyWindowStats {
+    private long count;
+    private double p50Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+    private long slowRequests;
+    private double compliance;
+    private double burnRate;
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxMessage {
+    private long id;
+    private String aggregateType;
+    private long aggregateId;
+    private String eventType;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime createdAt;
+    private int attempts;
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.ScheduledTransferStatus;
+import com.example.bankcards.entity.TransferRecurrence;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransferResponse {
+    private Long id;
+    private Long fromCardId;
+    private Long toCardId;
+    private BigDecimal amount;
+    private TransferRecurrence recurrence;
+    private ScheduledTransferStatus status;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime nextAttemptAt;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public static ScheduledTransferResponse from(ScheduledTransfer order) {
+        return new ScheduledTransferResponse(
+                order.getId(),
+                order.getFromCard().getId(),
+                order.getToCard().getId(),
+                order.getAmount(),
+                order.getRecurrence(),
+                order.getStatus(),
+                order.getNextRunAt(),
+                order.getAvailableAt(),
+                order.getAttempts(),
+                order.getLastError(),
+                order.getCreatedAt()
+        );
+    }
+}
\ No newline at end of file
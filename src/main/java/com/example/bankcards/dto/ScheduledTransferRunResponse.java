@@ -0,0 +1,34 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.ScheduledRunStatus;
+import com.example.bankcards.entity.ScheduledTransferRun;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransferRunResponse {
+    private LocalDateTime dueAt;
+    private ScheduledRunStatus status;
+    private int attempts;
+    private Long transferId;
+    private String error;
+    private LocalDateTime executedAt;
+
+    public static ScheduledTransferRunResponse from(ScheduledTransferRun run) {
+        return new ScheduledTransferRunResponse(
+                run.getDueAt(),
+                run.getStatus(),
+                run.getAttempts(),
+                run.getTransferId(),
+                run.getError(),
+                run.getExecutedAt()
+        );
+    }
+}
\ No newline at end of file
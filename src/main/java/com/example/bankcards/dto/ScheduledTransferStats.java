@@ -0,0 +1,26 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransferStats {
+    private boolean running;
+    private LocalDateTime lastRunStartedAt;
+    private LocalDateTime lastRunFinishedAt;
+    private long lastRunClaimed;
+    private long lastRunSucceeded;
+    private long lastRunRetried;
+    private long lastRunFailed;
+    private long lastRunMillis;
+    private long totalSucceeded;
+    private long totalRetried;
+    private long totalFailed;
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SqlEndpointStats {
+    private String endpoint;
+    private long requests;
+    private long statements;
+    private long rows;
+    private long dbTimeMillis;
+    private double avgStatements;
+    private double avgDbTimeMillis;
+    private long maxStatements;
+    private long maxDbTimeMillis;
+    private long slowRequests;
+    private long chattyRequests;
+}
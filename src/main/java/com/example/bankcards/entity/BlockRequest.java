@@ -9,10 +9,11 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "block_request")
+@Table(name = "block_requests")
 public class BlockRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "block_requests_id_seq")
+    @SequenceGenerator(name = "block_requests_id_seq", sequenceName = "block_requests_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -22,4 +23,14 @@ public class BlockRequest {
     private RequestStatus status = RequestStatus.PENDING;
 
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(length = 100)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
+    public boolean isClaimedByOther(String username, LocalDateTime now) {
+        return claimedBy != null && claimedUntil != null
+                && claimedUntil.isAfter(now) && !claimedBy.equals(username);
+    }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,15 +17,21 @@ import java.util.Set;
 @NoArgsConstructor
 @Entity
 @Table(name = "cards")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
 public class Card {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_id_seq")
+    @SequenceGenerator(name = "cards_id_seq", sequenceName = "cards_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "card_number", nullable = false, unique = true, length = 50)
     @Convert(converter = CardNumberConverter.class)
     private String cardNumber;
 
+    @Column(name = "card_last4", length = 4)
+    private String last4;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
@@ -38,12 +46,30 @@ public class Card {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @Column(name = "held_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @OneToMany(mappedBy = "fromCard")
     private Set<Transfer> outgoingTransfers;
 
     @OneToMany(mappedBy = "toCard")
     private Set<Transfer> incomingTransfers;
 
+    @PrePersist
+    private void fillLast4() {
+        if (cardNumber != null && cardNumber.length() >= 4) {
+            last4 = cardNumber.substring(cardNumber.length() - 4);
+        }
+    }
+
+    public BigDecimal getAvailableBalance() {
+        return balance.subtract(heldAmount);
+    }
+
+    public boolean isExpiredOn(LocalDate date) {
+        return status == CardStatus.EXPIRED || (expirationDate != null && expirationDate.isBefore(date));
+    }
+
     public Card(Long id, String cardNumber, BigDecimal balance, CardStatus status) {
         this.id = id;
         this.cardNumber = cardNumber;
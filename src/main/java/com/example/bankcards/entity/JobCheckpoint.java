@@ -0,0 +1,34 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
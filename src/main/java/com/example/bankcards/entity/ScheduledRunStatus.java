@@ -0,0 +1,6 @@
+package com.example.bankcards.entity;
+
+public enum ScheduledRunStatus {
+    SUCCEEDED,
+    FAILED
+}
\ No newline at end of file
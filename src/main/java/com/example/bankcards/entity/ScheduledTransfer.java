@@ -0,0 +1,83 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "scheduled_transfers")
+public class ScheduledTransfer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_transfers_id_seq")
+    @SequenceGenerator(name = "scheduled_transfers_id_seq", sequenceName = "scheduled_transfers_id_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_card_id", nullable = false)
+    private Card fromCard;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "to_card_id", nullable = false)
+    private Card toCard;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransferRecurrence recurrence = TransferRecurrence.ONCE;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ScheduledTransferStatus status = ScheduledTransferStatus.ACTIVE;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(nullable = false)
+    private int occurrence;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public boolean isDueAt(LocalDateTime dueAt) {
+        return status == ScheduledTransferStatus.ACTIVE && nextRunAt.equals(dueAt);
+    }
+
+    public boolean advancePast(LocalDateTime now) {
+        LocalDateTime next = recurrence.occurrence(startAt, occurrence + 1);
+        while (next != null && !next.isAfter(now)) {
+            occurrence++;
+            next = recurrence.occurrence(startAt, occurrence + 1);
+        }
+        attempts = 0;
+        claimedUntil = null;
+        if (next == null) {
+            return false;
+        }
+        occurrence++;
+        nextRunAt = next;
+        availableAt = next;
+        return true;
+    }
+}
\ No newline at end of file
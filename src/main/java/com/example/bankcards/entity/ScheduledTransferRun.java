@@ -0,0 +1,40 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "scheduled_transfer_runs")
+public class ScheduledTransferRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_transfer_runs_id_seq")
+    @SequenceGenerator(name = "scheduled_transfer_runs_id_seq", sequenceName = "scheduled_transfer_runs_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "scheduled_transfer_id", nullable = false)
+    private Long scheduledTransferId;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ScheduledRunStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "transfer_id")
+    private Long transferId;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "executed_at", nullable = false)
+    private LocalDateTime executedAt;
+}
\ No newline at end of file
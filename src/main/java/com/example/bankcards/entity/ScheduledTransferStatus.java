@@ -0,0 +1,8 @@
+package com.example.bankcards.entity;
+
+public enum ScheduledTransferStatus {
+    ACTIVE,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
\ No newline at end of file
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Table(name = "transfers")
 public class Transfer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfers_id_seq")
+    @SequenceGenerator(name = "transfers_id_seq", sequenceName = "transfers_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,19 @@
+package com.example.bankcards.entity;
+
+import java.time.LocalDateTime;
+
+public enum TransferRecurrence {
+    ONCE,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    public LocalDateTime occurrence(LocalDateTime startAt, int index) {
+        return switch (this) {
+            case ONCE -> index == 0 ? startAt : null;
+            case DAILY -> startAt.plusDays(index);
+            case WEEKLY -> startAt.plusWeeks(index);
+            case MONTHLY -> startAt.plusMonths(index);
+        };
+    }
+}
\ No newline at end of file
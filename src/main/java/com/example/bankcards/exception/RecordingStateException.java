@@ -0,0 +1,7 @@
+package com.example.bankcards.exception;
+
+public class RecordingStateException extends IllegalStateException {
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
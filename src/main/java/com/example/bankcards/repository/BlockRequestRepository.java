@@ -2,10 +2,78 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.BlockRequest;
 import com.example.bankcards.entity.RequestStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BlockRequestRepository extends JpaRepository<BlockRequest, Long> {
+    @EntityGraph(attributePaths = "card")
     List<BlockRequest> findAllByStatus(RequestStatus status);
-}
\ No newline at end of file
+
+    Optional<BlockRequest> findFirstByCardIdAndStatus(Long cardId, RequestStatus status);
+
+    @Query(value = """
+            INSERT INTO block_requests (card_id, status, created_at)
+            VALUES (:cardId, 'PENDING', :createdAt)
+            ON CONFLICT (card_id) WHERE status = 'PENDING' DO NOTHING
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<BlockRequest> insertPendingIfAbsent(@Param("cardId") Long cardId,
+                                                 @Param("createdAt") LocalDateTime createdAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from BlockRequest r where r.id = :id")
+    Optional<BlockRequest> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(value = """
+            UPDATE block_requests SET claimed_by = :claimedBy, claimed_until = :claimedUntil
+            WHERE id IN (
+                SELECT id FROM block_requests
+                WHERE status = 'PENDING' AND (claimed_until IS NULL OR claimed_until < :now)
+                ORDER BY created_at, id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<BlockRequest> claimPending(@Param("claimedBy") String claimedBy,
+                                    @Param("claimedUntil") LocalDateTime claimedUntil,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    @Query(value = """
+            UPDATE block_requests SET status = :status
+            WHERE status = 'PENDING' AND id IN (:ids)
+            RETURNING id AS id, card_id AS cardId
+            """, nativeQuery = true)
+    List<ProcessedBlockRequest> resolvePendingByIds(@Param("status") String status,
+                                                    @Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+            UPDATE block_requests SET status = :status
+            WHERE id IN (
+                SELECT id FROM block_requests
+                WHERE status = 'PENDING' AND created_at < :createdBefore
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id AS id, card_id AS cardId
+            """, nativeQuery = true)
+    List<ProcessedBlockRequest> resolvePendingCreatedBefore(@Param("status") String status,
+                                                            @Param("createdBefore") LocalDateTime createdBefore,
+                                                            @Param("limit") int limit);
+
+    interface ProcessedBlockRequest {
+        Long getId();
+        Long getCardId();
+    }
+}
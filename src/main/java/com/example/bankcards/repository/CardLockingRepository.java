@@ -0,0 +1,9 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.Card;
+
+import java.util.Optional;
+
+public interface CardLockingRepository {
+    Optional<Card> findByIdForUpdate(Long id);
+}
@@ -0,0 +1,30 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.Card;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Hibernate;
+
+import java.util.Optional;
+
+class CardLockingRepositoryImpl implements CardLockingRepository {
+    private final EntityManager entityManager;
+
+    CardLockingRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Card> findByIdForUpdate(Long id) {
+        Card reference = entityManager.getReference(Card.class, id);
+        if (Hibernate.isInitialized(reference)) {
+            entityManager.refresh(reference, LockModeType.PESSIMISTIC_WRITE);
+            return Optional.of(reference);
+        }
+        return entityManager.createQuery("select c from Card c where c.id = :id", Card.class)
+                .setParameter("id", id)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,17 +1,66 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.CardExportRow;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card>,
+        CardLockingRepository {
+    boolean existsByIdAndOwnerUsername(Long id, String username);
 
-public interface CardRepository extends JpaRepository<Card, Long> {
     Page<Card> findAllByOwner(User owner, Pageable pageable);
     Page<Card> findAllByStatus(CardStatus status, Pageable pageable);
     Page<Card> findAllByExpirationDateBefore(LocalDate date, Pageable pageable);
-}
\ No newline at end of file
+
+    Slice<Card> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    Slice<Card> findByStatusAndIdGreaterThanOrderByIdAsc(CardStatus status, Long afterId, Pageable pageable);
+    Slice<Card> findByExpirationDateBeforeOrderByExpirationDateAscIdAsc(LocalDate date, Pageable pageable);
+
+    @Query("select c from Card c where c.expirationDate < :date " +
+            "and (c.expirationDate > :afterDate or (c.expirationDate = :afterDate and c.id > :afterId)) " +
+            "order by c.expirationDate, c.id")
+    Slice<Card> findExpiringBeforeAfterKey(@Param("date") LocalDate date,
+                                           @Param("afterDate") LocalDate afterDate,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.bankcards.dto.CardExportRow(" +
+            "c.id, o.id, o.username, c.cardNumber, c.status, c.expirationDate, c.balance) " +
+            "from Card c join c.owner o order by c.id")
+    Stream<CardExportRow> streamAllForExport();
+
+    @Modifying
+    @Query("update Card c set c.status = :status where c.id in :ids and c.status <> :status")
+    int updateStatusByIdIn(@Param("status") CardStatus status, @Param("ids") Collection<Long> ids);
+
+    @Query("select coalesce(max(c.id), 0) from Card c")
+    long findMaxId();
+
+    @Modifying
+    @Query("update Card c set c.status = com.example.bankcards.entity.CardStatus.EXPIRED " +
+            "where c.id > :afterId and c.id <= :toId " +
+            "and c.status = com.example.bankcards.entity.CardStatus.ACTIVE and c.expirationDate < :today")
+    int expireDueInRange(@Param("today") LocalDate today,
+                         @Param("afterId") long afterId,
+                         @Param("toId") long toId);
+}
@@ -0,0 +1,59 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public final class CardSpecifications {
+    private CardSpecifications() {
+    }
+
+    public static Specification<Card> matching(CardSearchFilter filter, long afterId) {
+        return Specification.allOf(
+                idGreaterThan(afterId),
+                hasStatus(filter.getStatus()),
+                expiresOnOrAfter(filter.getExpiresFrom()),
+                expiresBefore(filter.getExpiresTo()),
+                ownedBy(filter.getOwnerId()),
+                balanceAtLeast(filter.getBalanceMin()),
+                balanceAtMost(filter.getBalanceMax()),
+                endsWith(filter.getLast4())
+        );
+    }
+
+    public static Specification<Card> idGreaterThan(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    public static Specification<Card> hasStatus(CardStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Card> expiresOnOrAfter(LocalDate date) {
+        return date == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expirationDate"), date);
+    }
+
+    public static Specification<Card> expiresBefore(LocalDate date) {
+        return date == null ? null : (root, query, cb) -> cb.lessThan(root.get("expirationDate"), date);
+    }
+
+    public static Specification<Card> ownedBy(Long ownerId) {
+        return ownerId == null ? null : (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Card> balanceAtLeast(BigDecimal amount) {
+        return amount == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("balance"), amount);
+    }
+
+    public static Specification<Card> balanceAtMost(BigDecimal amount) {
+        return amount == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("balance"), amount);
+    }
+
+    public static Specification<Card> endsWith(String last4) {
+        return last4 == null ? null : (root, query, cb) -> cb.equal(root.get("last4"), last4);
+    }
+}
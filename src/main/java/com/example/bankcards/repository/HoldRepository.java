@@ -0,0 +1,33 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.Hold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from Hold h where h.id = :id")
+    Optional<Hold> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select h.id as id, h.expiresAt as expiresAt from Hold h " +
+            "where h.status = com.example.bankcards.entity.HoldStatus.ACTIVE")
+    List<ActiveHold> findAllActive();
+
+    @Query("select h.id as id, h.expiresAt as expiresAt from Hold h " +
+            "where h.status = com.example.bankcards.entity.HoldStatus.ACTIVE and h.expiresAt < :cutoff " +
+            "order by h.expiresAt")
+    List<ActiveHold> findActiveExpiredBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    interface ActiveHold {
+        Long getId();
+        LocalDateTime getExpiresAt();
+    }
+}
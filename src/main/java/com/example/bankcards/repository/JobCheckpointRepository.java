@@ -0,0 +1,11 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:jobName))", nativeQuery = true)
+    boolean tryLock(@Param("jobName") String jobName);
+}
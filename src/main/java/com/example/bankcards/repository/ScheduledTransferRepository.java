@@ -0,0 +1,34 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ScheduledTransfer s where s.id = :id")
+    Optional<ScheduledTransfer> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(value = """
+            UPDATE scheduled_transfers SET claimed_until = :claimedUntil
+            WHERE id IN (
+                SELECT id FROM scheduled_transfers
+                WHERE status = 'ACTIVE' AND available_at <= :now
+                  AND (claimed_until IS NULL OR claimed_until < :now)
+                ORDER BY available_at, id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<ScheduledTransfer> claimDue(@Param("now") LocalDateTime now,
+                                     @Param("claimedUntil") LocalDateTime claimedUntil,
+                                     @Param("limit") int limit);
+}
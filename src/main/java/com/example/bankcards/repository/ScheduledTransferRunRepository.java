@@ -0,0 +1,28 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.ScheduledTransferRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ScheduledTransferRunRepository extends JpaRepository<ScheduledTransferRun, Long> {
+    @Query(value = """
+            INSERT INTO scheduled_transfer_runs (scheduled_transfer_id, due_at, status, attempts, error, executed_at)
+            VALUES (:scheduledTransferId, :dueAt, :status, :attempts, :error, :executedAt)
+            ON CONFLICT (scheduled_transfer_id, due_at) DO NOTHING
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<ScheduledTransferRun> insertIfAbsent(@Param("scheduledTransferId") Long scheduledTransferId,
+                                                  @Param("dueAt") LocalDateTime dueAt,
+                                                  @Param("status") String status,
+                                                  @Param("attempts") int attempts,
+                                                  @Param("error") String error,
+                                                  @Param("executedAt") LocalDateTime executedAt);
+
+    List<ScheduledTransferRun> findByScheduledTransferIdOrderByDueAtDesc(Long scheduledTransferId, Pageable pageable);
+}
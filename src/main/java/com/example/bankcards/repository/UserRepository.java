@@ -1,11 +1,22 @@
 package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<User> findByIdGreaterThanAndUsernameStartingWithOrderByIdAsc(Long afterId, String usernamePrefix, Limit limit);
+}
@@ -1,10 +1,12 @@
 package com.example.bankcards.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -17,12 +19,18 @@ import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${jwt.secret_key}")
-    private String secretKey;
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+    private final Long jwtExpiration;
 
-    @Value("${jwt.expiration_time}")
-    private Long jwtExpiration;
+    public JwtService(@Value("${jwt.secret_key}") String secretKey,
+                      @Value("${jwt.expiration_time}") Long jwtExpiration) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+    }
 
+    @Timed(value = "bank.jwt", extraTags = {"operation", "extract_username"})
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -32,10 +40,12 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    @Timed(value = "bank.jwt", extraTags = {"operation", "generate"})
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    @Timed(value = "bank.jwt", extraTags = {"operation", "generate"})
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
@@ -55,10 +65,11 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    @Timed(value = "bank.jwt", extraTags = {"operation", "validate"})
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
@@ -73,16 +84,8 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.BlockRequestResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BlockRequestChangedEvent {
+    public enum Type {
+        CREATED,
+        APPROVED,
+        REJECTED,
+        CLAIMED
+    }
+
+    private final Type type;
+    private final BlockRequestResponse request;
+}
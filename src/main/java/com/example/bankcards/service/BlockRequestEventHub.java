@@ -0,0 +1,181 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.BlockRequestResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class BlockRequestEventHub {
+    private static final Logger logger = LoggerFactory.getLogger(BlockRequestEventHub.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ExecutorService writers;
+
+    public BlockRequestEventHub(@Value("${app.block-requests.sse.buffer-size:256}") int bufferSize,
+                                @Value("${app.block-requests.sse.timeout:30m}") Duration timeout,
+                                @Value("${app.block-requests.sse.dispatch-threads:4}") int dispatchThreads,
+                                @Value("${app.block-requests.sse.send-timeout:5s}") Duration sendTimeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerCounter = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sse-writer-" + writerCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Supplier<List<BlockRequestResponse>> snapshot) {
+        return subscribe(new SseEmitter(timeoutMillis), snapshot);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Supplier<List<BlockRequestResponse>> snapshot) {
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> drop(subscriber));
+        emitter.onError(e -> drop(subscriber));
+
+        subscriber.queue.offerFirst(SseEmitter.event().name("snapshot").data(snapshot.get()));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BlockRequestChangedEvent event) {
+        publish(SseEmitter.event()
+                .name(event.getType().name().toLowerCase(Locale.ROOT))
+                .data(event.getRequest()));
+    }
+
+    @Scheduled(fixedRateString = "${app.block-requests.sse.heartbeat:15s}")
+    public void heartbeat() {
+        publish(SseEmitter.event().comment("ping"));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publish(SseEventBuilder event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offerLast(event)) {
+                schedule(subscriber);
+            } else {
+                logger.warn("Dropping slow SSE subscriber: {} events buffered", bufferSize);
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEventBuilder event;
+            while ((event = subscriber.queue.pollFirst()) != null) {
+                send(subscriber, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+            return;
+        } catch (TimeoutException e) {
+            logger.warn("Dropping stalled SSE subscriber: send exceeded {} ms", sendTimeoutMillis);
+            drop(subscriber);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEventBuilder event)
+            throws IOException, TimeoutException, InterruptedException {
+        Future<?> write = writers.submit(() -> {
+            subscriber.emitter.send(event);
+            return null;
+        });
+        try {
+            write.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException | InterruptedException e) {
+            write.cancel(true);
+            throw e;
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            writers.execute(subscriber.emitter::complete);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::drop);
+        dispatcher.shutdown();
+        writers.shutdown();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingDeque<SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingDeque<>(bufferSize + 1);
+        }
+    }
+}
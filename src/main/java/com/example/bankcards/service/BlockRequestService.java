@@ -1,25 +1,56 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.BlockRequestBulkRequest;
+import com.example.bankcards.dto.BlockRequestBulkResponse;
+import com.example.bankcards.dto.BlockRequestOutcome;
+import com.example.bankcards.dto.BlockRequestResponse;
+import com.example.bankcards.dto.BulkAction;
+import com.example.bankcards.dto.BulkOutcome;
 import com.example.bankcards.entity.BlockRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.RequestStatus;
 import com.example.bankcards.repository.BlockRequestRepository;
+import com.example.bankcards.repository.BlockRequestRepository.ProcessedBlockRequest;
 import com.example.bankcards.repository.CardRepository;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BlockRequestService {
+    public static final int MAX_CLAIM = 100;
+
     private final BlockRequestRepository blockRequestRepository;
     private final CardRepository cardRepository;
-
-    public BlockRequestService(BlockRequestRepository blockRequestRepository, CardRepository cardRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxPublisher outboxPublisher;
+    private final Duration claimLease;
+
+    public BlockRequestService(BlockRequestRepository blockRequestRepository,
+                               CardRepository cardRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               OutboxPublisher outboxPublisher,
+                               @Value("${app.block-requests.claim-lease:5m}") Duration claimLease) {
         this.blockRequestRepository = blockRequestRepository;
         this.cardRepository = cardRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxPublisher = outboxPublisher;
+        this.claimLease = claimLease;
     }
 
     @Transactional
@@ -31,43 +62,141 @@ public class BlockRequestService {
             throw new IllegalStateException("Карта уже заблокирована");
         }
 
-        BlockRequest request = new BlockRequest();
-        request.setCard(card);
-        request.setStatus(RequestStatus.PENDING);
+        Optional<BlockRequest> pending = blockRequestRepository.findFirstByCardIdAndStatus(cardId, RequestStatus.PENDING);
+        if (pending.isPresent()) {
+            return pending.get();
+        }
 
-        return blockRequestRepository.save(request);
+        Optional<BlockRequest> inserted = blockRequestRepository.insertPendingIfAbsent(cardId, LocalDateTime.now());
+        if (inserted.isEmpty()) {
+            return blockRequestRepository.findFirstByCardIdAndStatus(cardId, RequestStatus.PENDING)
+                    .orElseThrow(() -> new IllegalStateException("Заявка на блокировку карты уже обработана"));
+        }
+
+        BlockRequest saved = inserted.get();
+        saved.setCard(card);
+        publish(BlockRequestChangedEvent.Type.CREATED, saved);
+        return saved;
     }
 
     @Transactional
-    public BlockRequest approveRequest(Long requestId) {
-        BlockRequest request = blockRequestRepository.findById(requestId)
-                .orElseThrow(() -> new EntityNotFoundException("Заявка не найдена"));
+    public BlockRequest approveRequest(Long requestId, String adminUsername) {
+        BlockRequest request = lockPending(requestId, adminUsername);
 
-        if (request.getStatus() != RequestStatus.PENDING) {
-            throw new IllegalStateException("Заявка уже обработана");
+        request.setStatus(RequestStatus.APPROVED);
+        Card card = cardRepository.findByIdForUpdate(request.getCard().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Карта не найдена"));
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        outboxEvents.add(OutboxEvent.blockRequestResolved(request.getId(), card.getId(), RequestStatus.APPROVED));
+        if (card.getStatus() != CardStatus.BLOCKED) {
+            card.setStatus(CardStatus.BLOCKED);
+            cardRepository.save(card);
+            outboxEvents.add(OutboxEvent.cardStatusChanged(card.getId(), CardStatus.BLOCKED));
         }
 
-        request.setStatus(RequestStatus.APPROVED);
-        Card card = request.getCard();
-        card.setStatus(CardStatus.BLOCKED);
-        cardRepository.save(card);
+        BlockRequest saved = blockRequestRepository.save(request);
+        outboxPublisher.publishAll(outboxEvents);
+        publish(BlockRequestChangedEvent.Type.APPROVED, saved);
+        return saved;
+    }
+
+    @Transactional
+    public BlockRequest rejectRequest(Long requestId, String adminUsername) {
+        BlockRequest request = lockPending(requestId, adminUsername);
 
-        return blockRequestRepository.save(request);
+        request.setStatus(RequestStatus.REJECTED);
+        BlockRequest saved = blockRequestRepository.save(request);
+        outboxPublisher.publish(
+                OutboxEvent.blockRequestResolved(saved.getId(), saved.getCard().getId(), RequestStatus.REJECTED));
+        publish(BlockRequestChangedEvent.Type.REJECTED, saved);
+        return saved;
     }
 
     @Transactional
-    public BlockRequest rejectRequest(Long requestId) {
-        BlockRequest request = blockRequestRepository.findById(requestId)
+    public List<BlockRequest> claim(int limit, String adminUsername) {
+        LocalDateTime now = LocalDateTime.now();
+        int size = Math.min(Math.max(limit, 1), MAX_CLAIM);
+        List<BlockRequest> claimed = blockRequestRepository.claimPending(adminUsername, now.plus(claimLease), now, size)
+                .stream()
+                .sorted(Comparator.comparing(BlockRequest::getCreatedAt).thenComparing(BlockRequest::getId))
+                .toList();
+        claimed.forEach(request -> publish(BlockRequestChangedEvent.Type.CLAIMED, request));
+        return claimed;
+    }
+
+    private void publish(BlockRequestChangedEvent.Type type, BlockRequest request) {
+        eventPublisher.publishEvent(new BlockRequestChangedEvent(type, BlockRequestResponse.from(request)));
+    }
+
+    private BlockRequest lockPending(Long requestId, String adminUsername) {
+        BlockRequest request = blockRequestRepository.findByIdForUpdate(requestId)
                 .orElseThrow(() -> new EntityNotFoundException("Заявка не найдена"));
 
         if (request.getStatus() != RequestStatus.PENDING) {
             throw new IllegalStateException("Заявка уже обработана");
         }
+        if (request.isClaimedByOther(adminUsername, LocalDateTime.now())) {
+            throw new IllegalStateException("Заявка взята в работу администратором " + request.getClaimedBy());
+        }
+        return request;
+    }
 
-        request.setStatus(RequestStatus.REJECTED);
-        return blockRequestRepository.save(request);
+    @Transactional
+    public BlockRequestBulkResponse bulkResolve(BlockRequestBulkRequest bulkRequest) {
+        RequestStatus target = bulkRequest.getAction() == BulkAction.APPROVE
+                ? RequestStatus.APPROVED
+                : RequestStatus.REJECTED;
+        boolean byIds = bulkRequest.getIds() != null && !bulkRequest.getIds().isEmpty();
+        Set<Long> ids = byIds ? new LinkedHashSet<>(bulkRequest.getIds()) : Set.of();
+
+        List<ProcessedBlockRequest> processed = byIds
+                ? blockRequestRepository.resolvePendingByIds(target.name(), ids)
+                : blockRequestRepository.resolvePendingCreatedBefore(
+                        target.name(), bulkRequest.getCreatedBefore(), BlockRequestBulkRequest.MAX_BATCH);
+
+        int blockedCards = 0;
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        processed.forEach(p -> outboxEvents.add(OutboxEvent.blockRequestResolved(p.getId(), p.getCardId(), target)));
+        outboxPublisher.publishAll(outboxEvents);
+        if (target == RequestStatus.APPROVED && !processed.isEmpty()) {
+            Set<Long> cardIds = processed.stream()
+                    .map(ProcessedBlockRequest::getCardId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            outboxPublisher.publishCardStatusChanges(CardStatus.BLOCKED, cardIds);
+            blockedCards = cardRepository.updateStatusByIdIn(CardStatus.BLOCKED, cardIds);
+        }
+
+        BlockRequestChangedEvent.Type eventType = target == RequestStatus.APPROVED
+                ? BlockRequestChangedEvent.Type.APPROVED
+                : BlockRequestChangedEvent.Type.REJECTED;
+        List<BlockRequestOutcome> outcomes = new ArrayList<>();
+        processed.forEach(p -> {
+            outcomes.add(new BlockRequestOutcome(p.getId(), p.getCardId(), target, BulkOutcome.PROCESSED));
+            eventPublisher.publishEvent(new BlockRequestChangedEvent(eventType,
+                    new BlockRequestResponse(p.getId(), p.getCardId(), target, null, null)));
+        });
+
+        if (byIds && processed.size() < ids.size()) {
+            Set<Long> processedIds = processed.stream()
+                    .map(ProcessedBlockRequest::getId)
+                    .collect(Collectors.toSet());
+            List<Long> skipped = ids.stream().filter(id -> !processedIds.contains(id)).toList();
+            Map<Long, BlockRequest> existing = blockRequestRepository.findAllById(skipped).stream()
+                    .collect(Collectors.toMap(BlockRequest::getId, Function.identity()));
+
+            for (Long id : skipped) {
+                BlockRequest request = existing.get(id);
+                outcomes.add(request == null
+                        ? new BlockRequestOutcome(id, null, null, BulkOutcome.NOT_FOUND)
+                        : new BlockRequestOutcome(id, request.getCard().getId(), request.getStatus(),
+                                BulkOutcome.ALREADY_PROCESSED));
+            }
+        }
+
+        return new BlockRequestBulkResponse(processed.size(), blockedCards, outcomes);
     }
 
+    @Transactional(readOnly = true)
     public List<BlockRequest> getPendingRequests() {
         return blockRequestRepository.findAllByStatus(RequestStatus.PENDING);
     }
@@ -0,0 +1,84 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CacheRegionStats;
+import com.example.bankcards.dto.CacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class CacheStatsService {
+    public static final List<String> ENTITY_REGIONS = List.of("users", "cards");
+    public static final List<String> QUERY_REGIONS = List.of("users-by-username");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MBeanServer mBeanServer;
+
+    @Autowired
+    public CacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    CacheStatsService(EntityManagerFactory entityManagerFactory, MBeanServer mBeanServer) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.mBeanServer = mBeanServer;
+    }
+
+    public CacheStatsResponse getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStats> regions = new ArrayList<>();
+        ENTITY_REGIONS.forEach(region ->
+                regions.add(toRegionStats(region, statistics.getDomainDataRegionStatistics(region))));
+        QUERY_REGIONS.forEach(region ->
+                regions.add(toRegionStats(region, statistics.getQueryRegionStatistics(region))));
+
+        return new CacheStatsResponse(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions
+        );
+    }
+
+    private CacheRegionStats toRegionStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new CacheRegionStats(region, 0, 0, 0, evictionCount(region), 0);
+        }
+        return new CacheRegionStats(
+                region,
+                statistics.getHitCount(),
+                statistics.getMissCount(),
+                statistics.getPutCount(),
+                evictionCount(region),
+                Math.max(statistics.getElementCountInMemory(), 0)
+        );
+    }
+
+    private long evictionCount(String region) {
+        try {
+            Set<ObjectName> names = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) mBeanServer.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (JMException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardExpiryStats;
+import com.example.bankcards.entity.JobCheckpoint;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CardExpiryService {
+    public static final String JOB_NAME = "card-expiry";
+
+    private static final Logger logger = LoggerFactory.getLogger(CardExpiryService.class);
+
+    private final CardRepository cardRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong totalExpired = new AtomicLong();
+    private final AtomicLong totalBatches = new AtomicLong();
+    private volatile LocalDate runDate;
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+    private volatile long lastRunExpired;
+    private volatile long lastRunBatches;
+    private volatile long lastBatchMillis;
+    private volatile long lastProcessedId;
+
+    public CardExpiryService(CardRepository cardRepository,
+                             JobCheckpointRepository checkpointRepository,
+                             OutboxPublisher outboxPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.cards.expiry.batch-size:5000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        this.cardRepository = cardRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.cards.expiry.cron:0 5 0 * * *}")
+    public void scheduledRun() {
+        if (!execute(LocalDate.now())) {
+            logger.info("Card expiry job is already running, skipping scheduled run");
+        }
+    }
+
+    public CardExpiryStats run(LocalDate today) {
+        if (!execute(today)) {
+            throw new IllegalStateException("Задача истечения срока карт уже выполняется");
+        }
+        return getStats();
+    }
+
+    public CardExpiryStats getStats() {
+        return new CardExpiryStats(running.get(), runDate, lastRunStartedAt, lastRunFinishedAt,
+                lastRunExpired, lastRunBatches, lastBatchMillis, lastProcessedId,
+                totalExpired.get(), totalBatches.get());
+    }
+
+    private boolean execute(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            runDate = today;
+            lastRunStartedAt = LocalDateTime.now();
+            lastRunFinishedAt = null;
+            lastRunExpired = 0;
+            lastRunBatches = 0;
+
+            long afterId = checkpointedId(today);
+            long maxId = cardRepository.findMaxId();
+            lastProcessedId = afterId;
+
+            while (afterId < maxId) {
+                long fromId = afterId;
+                long toId = Math.min(afterId + batchSize, maxId);
+                long started = System.nanoTime();
+                Integer expired = transactionTemplate.execute(status -> {
+                    if (!checkpointRepository.tryLock(JOB_NAME)) {
+                        return null;
+                    }
+                    long startId = Math.max(fromId, checkpointedId(today));
+                    if (startId >= toId) {
+                        return 0;
+                    }
+                    outboxPublisher.publishCardExpiries(today, startId, toId);
+                    int updated = cardRepository.expireDueInRange(today, startId, toId);
+                    checkpointRepository.save(new JobCheckpoint(JOB_NAME, toId, today, LocalDateTime.now()));
+                    return updated;
+                });
+                if (expired == null) {
+                    logger.info("Card expiry job is locked by another instance, stopping after id {}", fromId);
+                    break;
+                }
+                long count = expired;
+
+                lastBatchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                lastRunExpired += count;
+                lastRunBatches++;
+                lastProcessedId = toId;
+                totalExpired.addAndGet(count);
+                totalBatches.incrementAndGet();
+                afterId = toId;
+            }
+
+            lastRunFinishedAt = LocalDateTime.now();
+            logger.info("Card expiry job for {} expired {} cards in {} batches",
+                    today, lastRunExpired, lastRunBatches);
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long checkpointedId(LocalDate today) {
+        return checkpointRepository.findById(JOB_NAME)
+                .filter(checkpoint -> today.equals(checkpoint.getRunDate()))
+                .map(JobCheckpoint::getLastId)
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardExportRow;
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.repository.CardRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Service
+public class CardExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,owner_id,owner_username,masked_number,status,expiration_date,balance\n";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final CardRepository cardRepository;
+
+    public CardExportService(CardRepository cardRepository) {
+        this.cardRepository = cardRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCards(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<CardExportRow> rows = cardRepository.streamAllForExport()) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, out);
+            } else {
+                writeNdjson(rows, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(Stream<CardExportRow> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        rows.forEach(row -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.getId());
+                generator.writeNumberField("ownerId", row.getOwnerId());
+                generator.writeStringField("ownerUsername", row.getOwnerUsername());
+                generator.writeStringField("maskedNumber", row.getMaskedNumber());
+                generator.writeStringField("status", row.getStatus().name());
+                generator.writeStringField("expirationDate", row.getExpirationDate().toString());
+                generator.writeNumberField("balance", row.getBalance());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        generator.close();
+    }
+
+    private void writeCsv(Stream<CardExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+
+        rows.forEach(row -> {
+            try {
+                writer.write(String.valueOf(row.getId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getOwnerId()));
+                writer.write(',');
+                writer.write(escapeCsv(row.getOwnerUsername()));
+                writer.write(',');
+                writer.write(row.getMaskedNumber());
+                writer.write(',');
+                writer.write(row.getStatus().name());
+                writer.write(',');
+                writer.write(row.getExpirationDate().toString());
+                writer.write(',');
+                writer.write(row.getBalance().toPlainString());
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.util.CardNumberConverter;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CardLast4BackfillService {
+    private static final Logger logger = LoggerFactory.getLogger(CardLast4BackfillService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardNumberConverter cardNumberConverter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public CardLast4BackfillService(JdbcTemplate jdbcTemplate,
+                                    CardNumberConverter cardNumberConverter,
+                                    EntityManagerFactory entityManagerFactory,
+                                    @Value("${app.cards.last4-backfill.enabled:true}") boolean enabled,
+                                    @Value("${app.cards.last4-backfill.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardNumberConverter = cardNumberConverter;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public long backfill() {
+        long afterId = 0;
+        long filled = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, card_number FROM cards WHERE card_last4 IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    afterId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                afterId = id;
+                try {
+                    String number = cardNumberConverter.convertToEntityAttribute((String) row.get("card_number"));
+                    if (number != null && number.length() >= 4) {
+                        updates.add(new Object[]{number.substring(number.length() - 4), id});
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Could not decrypt number of card {}, last4 left empty: {}", id, e.getMessage());
+                }
+            }
+            jdbcTemplate.batchUpdate("UPDATE cards SET card_last4 = ? WHERE id = ? AND card_last4 IS NULL", updates);
+            filled += updates.size();
+        }
+        if (filled > 0) {
+            entityManagerFactory.getCache().evict(Card.class);
+            logger.info("Backfilled last4 for {} cards", filled);
+        }
+        return filled;
+    }
+}
@@ -1,32 +1,52 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.entity.*;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardSpecifications;
 import com.example.bankcards.repository.TransferRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.CardNumberGenerator;
+import com.example.bankcards.util.CursorCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CardService {
     private final CardRepository cardRepository;
     private final UserRepository userRepository;
     private final TransferRepository transferRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final MeterRegistry meterRegistry;
 
     public CardService(CardRepository cardRepository,
                        UserRepository userRepository,
-                       TransferRepository transferRepository) {
+                       TransferRepository transferRepository,
+                       OutboxPublisher outboxPublisher,
+                       MeterRegistry meterRegistry) {
         this.cardRepository = cardRepository;
         this.userRepository = userRepository;
         this.transferRepository = transferRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.meterRegistry = meterRegistry;
     }
 
     @Transactional
@@ -36,7 +56,7 @@ public class CardService {
 
         Card card = new Card();
         card.setOwner(owner);
-        card.setCardNumber(generateCardNumber());
+        card.setCardNumber(CardNumberGenerator.generate());
         card.setExpirationDate(LocalDate.now().plusYears(3));
         card.setStatus(CardStatus.ACTIVE);
         card.setBalance(BigDecimal.ZERO);
@@ -44,6 +64,31 @@ public class CardService {
         return cardRepository.save(card);
     }
 
+    @Transactional
+    public List<Card> createCards(List<Long> ownerIds) {
+        Map<Long, User> owners = userRepository.findAllById(ownerIds.stream().distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Card> cards = new ArrayList<>(ownerIds.size());
+        for (Long ownerId : ownerIds) {
+            User owner = owners.get(ownerId);
+            if (owner == null) {
+                throw new EntityNotFoundException("Пользователь не найден: " + ownerId);
+            }
+
+            Card card = new Card();
+            card.setOwner(owner);
+            card.setCardNumber(CardNumberGenerator.generate());
+            card.setExpirationDate(LocalDate.now().plusYears(3));
+            card.setStatus(CardStatus.ACTIVE);
+            card.setBalance(BigDecimal.ZERO);
+            cards.add(card);
+        }
+
+        return cardRepository.saveAll(cards);
+    }
+
     @Transactional
     public void deleteCard(Long id) {
         if (!cardRepository.existsById(id)) {
@@ -54,56 +99,68 @@ public class CardService {
 
     @Transactional
     public Transfer transfer(Long fromCardId, Long toCardId, BigDecimal amount) {
-        Card from = cardRepository.findById(fromCardId)
-                .orElseThrow(() -> new EntityNotFoundException("Карта, с которой выполняется перевод, не найдена"));
-        Card to = cardRepository.findById(toCardId)
-                .orElseThrow(() -> new EntityNotFoundException("Карта, в которую выполняется перевод, не найдена"));
-
-        if (from.getStatus() == CardStatus.BLOCKED) {
-            throw new IllegalStateException("Отправляющая карта заблокирована");
-        }
-        if (to.getStatus() == CardStatus.BLOCKED) {
-            throw new IllegalStateException("Нельзя перевести деньги на заблокированную карту");
-        }
-
-        if (!from.getOwner().equals(to.getOwner())) {
-            throw new IllegalArgumentException("Можно переводить только между своими картами");
-        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Card from;
+            Card to;
+            if (fromCardId <= toCardId) {
+                from = cardRepository.findByIdForUpdate(fromCardId).orElse(null);
+                to = cardRepository.findByIdForUpdate(toCardId).orElse(null);
+            } else {
+                to = cardRepository.findByIdForUpdate(toCardId).orElse(null);
+                from = cardRepository.findByIdForUpdate(fromCardId).orElse(null);
+            }
 
-        if (from.getBalance().compareTo(amount) < 0) {
-            throw new IllegalArgumentException("Недостаточно средств");
-        }
+            TransferRejection rejection = TransferRejection.check(from, to, amount, LocalDate.now());
+            if (rejection != null) {
+                outcome = rejection.getReason();
+                meterRegistry.counter("bank.business.failures", "operation", "transfer", "reason", outcome).increment();
+                throw rejection.toException();
+            }
 
-        from.setBalance(from.getBalance().subtract(amount));
-        to.setBalance(to.getBalance().add(amount));
+            from.setBalance(from.getBalance().subtract(amount));
+            to.setBalance(to.getBalance().add(amount));
 
-        Transfer transfer = new Transfer();
-        transfer.setFromCard(from);
-        transfer.setToCard(to);
-        transfer.setAmount(amount);
+            Transfer transfer = new Transfer();
+            transfer.setFromCard(from);
+            transfer.setToCard(to);
+            transfer.setAmount(amount);
 
-        cardRepository.save(from);
-        cardRepository.save(to);
+            cardRepository.save(from);
+            cardRepository.save(to);
 
-        return transferRepository.save(transfer);
+            Transfer saved = transferRepository.save(transfer);
+            outboxPublisher.publish(OutboxEvent.transferCompleted(saved));
+            outcome = "success";
+            return saved;
+        } finally {
+            sample.stop(meterRegistry.timer("bank.transfers", "outcome", outcome));
+        }
     }
 
     @Transactional
     public void blockCard(Long cardId) {
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new EntityNotFoundException("Карта не найдена"));
-        card.setStatus(CardStatus.BLOCKED);
-        cardRepository.save(card);
+        changeStatus(cardId, CardStatus.BLOCKED);
     }
 
     @Transactional
     public void activateCard(Long cardId) {
-        Card card = cardRepository.findById(cardId)
+        changeStatus(cardId, CardStatus.ACTIVE);
+    }
+
+    private void changeStatus(Long cardId, CardStatus status) {
+        Card card = cardRepository.findByIdForUpdate(cardId)
                 .orElseThrow(() -> new EntityNotFoundException("Карта не найдена"));
-        card.setStatus(CardStatus.ACTIVE);
+        if (card.getStatus() == status) {
+            return;
+        }
+        card.setStatus(status);
         cardRepository.save(card);
+        outboxPublisher.publish(OutboxEvent.cardStatusChanged(cardId, status));
     }
 
+    @Transactional(readOnly = true)
     public Page<Card> getUserCards(Long userId, Pageable pageable, boolean isAdmin, String currentUsername) {
         if (!isAdmin) {
             User currentUser = userRepository.findByUsername(currentUsername)
@@ -121,46 +178,64 @@ public class CardService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<Card> getAllCards(Pageable pageable) {
         return cardRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Card> getCardsByStatus(CardStatus status, Pageable pageable) {
         return cardRepository.findAllByStatus(status, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Card> getCardsExpiringBefore(LocalDate date, Pageable pageable) {
         return cardRepository.findAllByExpirationDateBefore(date, pageable);
     }
 
-    private String generateCardNumber() {
-        StringBuilder cardNumber = new StringBuilder();
-        Random random = new Random();
-
-        for (int i = 0; i < 15; i++) {
-            cardNumber.append(random.nextInt(10));
-        }
-
-        int checkDigit = calculateLuhnCheckDigit(cardNumber.toString());
-        cardNumber.append(checkDigit);
+    @Transactional(readOnly = true)
+    public KeysetPage<Card> getAllCardsAfter(String cursor, int size) {
+        long afterId = CursorCodec.decodeId(cursor);
+        Slice<Card> slice = cardRepository.findByIdGreaterThanOrderByIdAsc(afterId, slicePage(size));
+        return KeysetPage.of(slice, card -> CursorCodec.encode(card.getId()));
+    }
 
-        return cardNumber.toString();
+    @Transactional(readOnly = true)
+    public KeysetPage<Card> getCardsByStatusAfter(CardStatus status, String cursor, int size) {
+        long afterId = CursorCodec.decodeId(cursor);
+        Slice<Card> slice = cardRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, slicePage(size));
+        return KeysetPage.of(slice, card -> CursorCodec.encode(card.getId()));
     }
 
-    private int calculateLuhnCheckDigit(String number) {
-        int sum = 0;
-        boolean alternate = true;
-        for (int i = number.length() - 1; i >= 0; i--) {
-            int n = Integer.parseInt(number.substring(i, i + 1));
-            if (alternate) {
-                n *= 2;
-                if (n > 9) {
-                    n = (n % 10) + 1;
-                }
+    @Transactional(readOnly = true)
+    public KeysetPage<Card> getCardsExpiringBeforeAfter(LocalDate date, String cursor, int size) {
+        Slice<Card> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = cardRepository.findByExpirationDateBeforeOrderByExpirationDateAscIdAsc(date, slicePage(size));
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            LocalDate afterDate;
+            long afterId;
+            try {
+                afterDate = LocalDate.parse(key[0]);
+                afterId = Long.parseLong(key[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Некорректный курсор", e);
             }
-            sum += n;
-            alternate = !alternate;
+            slice = cardRepository.findExpiringBeforeAfterKey(date, afterDate, afterId, slicePage(size));
         }
-        return (10 - (sum % 10)) % 10;
+        return KeysetPage.of(slice, card -> CursorCodec.encode(card.getExpirationDate(), card.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Card> searchCards(CardSearchFilter filter, String cursor, int size) {
+        long afterId = CursorCodec.decodeId(cursor);
+        Pageable page = PageRequest.of(0, KeysetPage.clampSize(size), Sort.by("id"));
+        Slice<Card> slice = cardRepository.findBy(CardSpecifications.matching(filter, afterId), q -> q.slice(page));
+        return KeysetPage.of(slice, card -> CursorCodec.encode(card.getId()));
+    }
+
+    private static Pageable slicePage(int size) {
+        return PageRequest.of(0, KeysetPage.clampSize(size));
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.JfrFrameStats;
+import com.example.bankcards.dto.JfrRecordingRequest;
+import com.example.bankcards.dto.JfrRecordingStatus;
+import com.example.bankcards.dto.JfrSummary;
+import com.example.bankcards.exception.RecordingStateException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DiagnosticsService {
+    public static final int MAX_TOP = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsService.class);
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final Map<String, String> ALLOCATION_EVENTS = Map.of(
+            "jdk.ObjectAllocationSample", "weight",
+            "jdk.ObjectAllocationInNewTLAB", "tlabSize",
+            "jdk.ObjectAllocationOutsideTLAB", "allocationSize");
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private String settings;
+    private Path file;
+
+    public DiagnosticsService(@Value("${app.diagnostics.jfr.directory:${java.io.tmpdir}}") Path directory,
+                              @Value("${app.diagnostics.jfr.max-duration:30m}") Duration maxDuration,
+                              @Value("${app.diagnostics.jfr.max-size:256MB}") DataSize maxSize) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    public synchronized JfrRecordingStatus start(JfrRecordingRequest request) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("Запись JFR уже идёт");
+        }
+        Duration duration = request.getDurationSeconds() == null
+                ? maxDuration
+                : Duration.ofSeconds(Math.min(request.getDurationSeconds(), maxDuration.toSeconds()));
+
+        Recording next;
+        Path destination;
+        try {
+            next = new Recording(Configuration.getConfiguration(request.getSettings()));
+            destination = Files.createTempFile(Files.createDirectories(directory), "bank-rest-", ".jfr");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Неизвестные настройки JFR: " + request.getSettings());
+        }
+
+        next.setName(destination.getFileName().toString());
+        next.setToDisk(true);
+        next.setDuration(duration);
+        next.setMaxSize(maxSize.toBytes());
+        if (request.getExecutionSamplePeriodMillis() != null) {
+            next.enable(EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(request.getExecutionSamplePeriodMillis()));
+        }
+        try {
+            next.setDestination(destination);
+        } catch (IOException e) {
+            next.close();
+            throw new UncheckedIOException(e);
+        }
+
+        discard();
+        next.start();
+        recording = next;
+        settings = request.getSettings();
+        file = destination;
+        logger.info("JFR recording {} started with '{}' settings for at most {}", next.getId(), settings, duration);
+        return getStatus();
+    }
+
+    public synchronized JfrRecordingStatus stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException("Нет активной записи JFR");
+        }
+        recording.stop();
+        logger.info("JFR recording {} stopped, written to {}", recording.getId(), file);
+        return getStatus();
+    }
+
+    public synchronized JfrRecordingStatus getStatus() {
+        if (recording == null) {
+            throw new RecordingStateException("Запись JFR ещё не запускалась");
+        }
+        boolean downloadable = isFinished();
+        return new JfrRecordingStatus(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                settings,
+                recording.getStartTime(),
+                recording.getStopTime(),
+                recording.getDuration() == null ? null : recording.getDuration().toSeconds(),
+                downloadable ? size(file) : recording.getSize(),
+                downloadable
+        );
+    }
+
+    public synchronized Path getRecordingFile() {
+        if (recording == null) {
+            throw new RecordingStateException("Запись JFR ещё не запускалась");
+        }
+        if (!isFinished()) {
+            throw new RecordingStateException("Запись JFR ещё идёт, сначала остановите её");
+        }
+        return file;
+    }
+
+    public synchronized JfrSummary summarize(int top) {
+        int limit = Math.min(Math.max(top, 1), MAX_TOP);
+        Path source = getRecordingFile();
+
+        Map<String, long[]> methods = new HashMap<>();
+        Map<String, long[]> sites = new HashMap<>();
+        long executionSamples = 0;
+        long allocationSamples = 0;
+        long allocatedBytes = 0;
+
+        try (RecordingFile recordingFile = new RecordingFile(source)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String type = event.getEventType().getName();
+                if (EXECUTION_SAMPLE.equals(type)) {
+                    executionSamples++;
+                    add(methods, topFrame(event.getStackTrace(), false), 0);
+                } else if (ALLOCATION_EVENTS.containsKey(type)) {
+                    long bytes = event.getLong(ALLOCATION_EVENTS.get(type));
+                    allocationSamples++;
+                    allocatedBytes += bytes;
+                    add(sites, topFrame(event.getStackTrace(), true), bytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new JfrSummary(
+                source.getFileName().toString(),
+                executionSamples,
+                allocationSamples,
+                allocatedBytes,
+                rank(methods, limit, executionSamples, false),
+                rank(sites, limit, allocatedBytes, true)
+        );
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete JFR recording {}", file, e);
+            }
+            file = null;
+        }
+    }
+
+    private boolean isFinished() {
+        RecordingState state = recording.getState();
+        return (state == RecordingState.STOPPED || state == RecordingState.CLOSED) && Files.exists(file);
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace, boolean withLine) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        return withLine && frame.getLineNumber() > 0 ? method + ":" + frame.getLineNumber() : method;
+    }
+
+    private static void add(Map<String, long[]> tally, String frame, long bytes) {
+        long[] counters = tally.computeIfAbsent(frame, key -> new long[2]);
+        counters[0]++;
+        counters[1] += bytes;
+    }
+
+    private static List<JfrFrameStats> rank(Map<String, long[]> tally, int limit, long total, boolean byBytes) {
+        int index = byBytes ? 1 : 0;
+        return tally.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[index]).reversed())
+                .limit(limit)
+                .map(e -> new JfrFrameStats(
+                        e.getKey(),
+                        e.getValue()[0],
+                        e.getValue()[1],
+                        total == 0 ? 0 : Math.round(e.getValue()[index] * 10000.0 / total) / 100.0))
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bankcards.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class HoldChangedEvent {
+    private final Long holdId;
+    private final LocalDateTime expiresAt;
+
+    public boolean isActive() {
+        return expiresAt != null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.HoldRepository;
+import com.example.bankcards.repository.HoldRepository.ActiveHold;
+import com.example.bankcards.util.HierarchicalTimerWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class HoldExpiryService {
+    public static final int SLOT_BITS = 6;
+    public static final int LEVELS = 4;
+    public static final int RECONCILE_BATCH = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryService.class);
+
+    private final HoldService holdService;
+    private final HoldRepository holdRepository;
+    private final HierarchicalTimerWheel<Long> wheel;
+    private final Duration retryDelay;
+    private final Duration reconcileGrace;
+    private final AtomicLong expired = new AtomicLong();
+
+    public HoldExpiryService(HoldService holdService,
+                             HoldRepository holdRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.holds.tick:1s}") Duration tick,
+                             @Value("${app.holds.retry-delay:30s}") Duration retryDelay,
+                             @Value("${app.holds.reconcile-interval:5m}") Duration reconcileGrace) {
+        this.holdService = holdService;
+        this.holdRepository = holdRepository;
+        this.wheel = new HierarchicalTimerWheel<>(tick, SLOT_BITS, LEVELS, System.currentTimeMillis());
+        this.retryDelay = retryDelay;
+        this.reconcileGrace = reconcileGrace;
+        meterRegistry.gauge("bank.holds.timers", wheel, HierarchicalTimerWheel::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        wheel.clear();
+        List<ActiveHold> active = holdRepository.findAllActive();
+        active.forEach(hold -> wheel.schedule(hold.getId(), toMillis(hold.getExpiresAt())));
+        logger.info("Hold expiry wheel rebuilt with {} active holds", active.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldChanged(HoldChangedEvent event) {
+        if (event.isActive()) {
+            wheel.schedule(event.getHoldId(), toMillis(event.getExpiresAt()));
+        } else {
+            wheel.cancel(event.getHoldId());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.holds.tick:1s}")
+    public void tick() {
+        advance(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.reconcile-interval:5m}",
+            initialDelayString = "${app.holds.reconcile-interval:5m}")
+    public void reconcile() {
+        List<ActiveHold> overdue = holdRepository.findActiveExpiredBefore(
+                LocalDateTime.now().minus(reconcileGrace), PageRequest.of(0, RECONCILE_BATCH));
+        if (!overdue.isEmpty()) {
+            logger.warn("Found {} overdue active holds without a timer, scheduling expiry", overdue.size());
+            overdue.forEach(hold -> wheel.schedule(hold.getId(), System.currentTimeMillis()));
+        }
+    }
+
+    public int advance(long nowMillis) {
+        List<Long> due = wheel.advance(nowMillis);
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), ZoneId.systemDefault());
+        int count = 0;
+        for (Long holdId : due) {
+            try {
+                if (holdService.expire(holdId, now)) {
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not expire hold {}, retrying in {}", holdId, retryDelay, e);
+                wheel.schedule(holdId, nowMillis + retryDelay.toMillis());
+            }
+        }
+        expired.addAndGet(count);
+        return count;
+    }
+
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+
+    public long getExpiredCount() {
+        return expired.get();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getNano() % 1_000_000 == 0 ? instant.toEpochMilli() : instant.toEpochMilli() + 1;
+    }
+}
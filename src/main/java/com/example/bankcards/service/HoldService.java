@@ -0,0 +1,199 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Hold;
+import com.example.bankcards.entity.HoldStatus;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.HoldRepository;
+import com.example.bankcards.repository.TransferRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+public class HoldService {
+    private final HoldRepository holdRepository;
+    private final CardRepository cardRepository;
+    private final TransferRepository transferRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    public HoldService(HoldRepository holdRepository,
+                       CardRepository cardRepository,
+                       TransferRepository transferRepository,
+                       OutboxPublisher outboxPublisher,
+                       ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.holds.default-ttl:7d}") Duration defaultTtl,
+                       @Value("${app.holds.max-ttl:30d}") Duration maxTtl) {
+        this.holdRepository = holdRepository;
+        this.cardRepository = cardRepository;
+        this.transferRepository = transferRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+    }
+
+    @Transactional
+    public Hold authorize(Long fromCardId, Long toCardId, BigDecimal amount, Long ttlSeconds, String currentUsername) {
+        Card[] cards = lockCards(fromCardId, toCardId);
+        Card from = cards[0];
+        Card to = cards[1];
+        if (from != null && !isOwnedBy(from, currentUsername)) {
+            throw new SecurityException("Вы не можете резервировать средства на карте другого пользователя");
+        }
+
+        TransferRejection rejection = TransferRejection.check(from, to, amount, LocalDate.now());
+        if (rejection != null) {
+            meterRegistry.counter("bank.business.failures", "operation", "hold", "reason", rejection.getReason())
+                    .increment();
+            throw rejection.toException();
+        }
+
+        Duration ttl = ttlSeconds == null ? defaultTtl : Duration.ofSeconds(Math.min(ttlSeconds, maxTtl.toSeconds()));
+        LocalDateTime now = LocalDateTime.now();
+
+        from.setHeldAmount(from.getHeldAmount().add(amount));
+        cardRepository.save(from);
+
+        Hold hold = new Hold();
+        hold.setCard(from);
+        hold.setTargetCard(to);
+        hold.setAmount(amount);
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(now.plus(ttl));
+        Hold saved = holdRepository.save(hold);
+
+        eventPublisher.publishEvent(new HoldChangedEvent(saved.getId(), saved.getExpiresAt()));
+        count(HoldStatus.ACTIVE);
+        return saved;
+    }
+
+    @Transactional
+    public Hold capture(Long holdId, BigDecimal amount, String currentUsername) {
+        Hold hold = lockActive(holdId, currentUsername);
+        if (hold.isExpiredAt(LocalDateTime.now())) {
+            throw new IllegalStateException("Срок действия холда истёк");
+        }
+        BigDecimal captured = amount == null ? hold.getAmount() : amount;
+        if (captured.compareTo(hold.getAmount()) > 0) {
+            throw new IllegalArgumentException("Сумма списания превышает сумму холда");
+        }
+
+        Card[] cards = lockCards(hold.getCard().getId(), hold.getTargetCard().getId());
+        Card from = cards[0];
+        Card to = cards[1];
+        TransferRejection rejection = TransferRejection.checkCards(from, to, LocalDate.now());
+        if (rejection != null) {
+            throw rejection.toException();
+        }
+
+        from.setHeldAmount(from.getHeldAmount().subtract(hold.getAmount()));
+        from.setBalance(from.getBalance().subtract(captured));
+        to.setBalance(to.getBalance().add(captured));
+        cardRepository.save(from);
+        cardRepository.save(to);
+
+        Transfer transfer = new Transfer();
+        transfer.setFromCard(from);
+        transfer.setToCard(to);
+        transfer.setAmount(captured);
+        Transfer saved = transferRepository.save(transfer);
+        outboxPublisher.publish(OutboxEvent.transferCompleted(saved));
+
+        hold.setTransferId(saved.getId());
+        return resolve(hold, HoldStatus.CAPTURED);
+    }
+
+    @Transactional
+    public Hold release(Long holdId, String currentUsername) {
+        Hold hold = lockActive(holdId, currentUsername);
+        releaseFunds(hold);
+        return resolve(hold, HoldStatus.RELEASED);
+    }
+
+    @Transactional
+    public boolean expire(Long holdId, LocalDateTime now) {
+        Hold hold = holdRepository.findByIdForUpdate(holdId).orElse(null);
+        if (hold == null || hold.getStatus() != HoldStatus.ACTIVE || !hold.isExpiredAt(now)) {
+            return false;
+        }
+        releaseFunds(hold);
+        hold.setStatus(HoldStatus.EXPIRED);
+        hold.setResolvedAt(now);
+        holdRepository.save(hold);
+        count(HoldStatus.EXPIRED);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public Hold getHold(Long holdId, String currentUsername) {
+        Hold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new EntityNotFoundException("Холд не найден"));
+        requireOwner(hold, currentUsername);
+        return hold;
+    }
+
+    private Hold lockActive(Long holdId, String currentUsername) {
+        Hold hold = holdRepository.findByIdForUpdate(holdId)
+                .orElseThrow(() -> new EntityNotFoundException("Холд не найден"));
+        requireOwner(hold, currentUsername);
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new IllegalStateException("Холд уже закрыт");
+        }
+        return hold;
+    }
+
+    private void requireOwner(Hold hold, String currentUsername) {
+        if (!cardRepository.existsByIdAndOwnerUsername(hold.getCard().getId(), currentUsername)) {
+            throw new SecurityException("Вы не можете управлять холдом другого пользователя");
+        }
+    }
+
+    private static boolean isOwnedBy(Card card, String username) {
+        return card.getOwner() != null && card.getOwner().getUsername().equals(username);
+    }
+
+    private void releaseFunds(Hold hold) {
+        Card card = cardRepository.findByIdForUpdate(hold.getCard().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Карта не найдена"));
+        card.setHeldAmount(card.getHeldAmount().subtract(hold.getAmount()));
+        cardRepository.save(card);
+    }
+
+    private Hold resolve(Hold hold, HoldStatus status) {
+        hold.setStatus(status);
+        hold.setResolvedAt(LocalDateTime.now());
+        Hold saved = holdRepository.save(hold);
+        eventPublisher.publishEvent(new HoldChangedEvent(saved.getId(), null));
+        count(status);
+        return saved;
+    }
+
+    private Card[] lockCards(Long fromCardId, Long toCardId) {
+        if (fromCardId <= toCardId) {
+            Card from = cardRepository.findByIdForUpdate(fromCardId).orElse(null);
+            return new Card[]{from, cardRepository.findByIdForUpdate(toCardId).orElse(null)};
+        }
+        Card to = cardRepository.findByIdForUpdate(toCardId).orElse(null);
+        return new Card[]{cardRepository.findByIdForUpdate(fromCardId).orElse(null), to};
+    }
+
+    private void count(HoldStatus status) {
+        meterRegistry.counter("bank.holds", "status", status.name().toLowerCase()).increment();
+    }
+}
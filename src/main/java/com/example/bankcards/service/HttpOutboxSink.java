@@ -0,0 +1,34 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.OutboxMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+public class HttpOutboxSink implements OutboxSink {
+    private final RestClient restClient;
+
+    public HttpOutboxSink(RestClient.Builder builder, String url, Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = builder.baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
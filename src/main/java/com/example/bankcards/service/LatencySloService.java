@@ -0,0 +1,124 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.EndpointLatencyStats;
+import com.example.bankcards.dto.LatencyReportResponse;
+import com.example.bankcards.dto.LatencyWindowStats;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class LatencySloService {
+    public static final int SLOT_SECONDS = 10;
+    public static final int SLOTS_PER_MINUTE = 6;
+    public static final int MINUTES_PER_HOUR = 60;
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, EndpointWindows> endpoints = new ConcurrentHashMap<>();
+    private final long thresholdMicros;
+    private final double objective;
+
+    public LatencySloService(@Value("${app.slo.latency-threshold:300ms}") Duration threshold,
+                             @Value("${app.slo.objective:0.99}") double objective) {
+        if (threshold.compareTo(Duration.ZERO) <= 0) {
+            throw new IllegalArgumentException("Порог задержки SLO должен быть положительным");
+        }
+        if (objective <= 0 || objective >= 1) {
+            throw new IllegalArgumentException("Цель SLO должна быть в интервале (0, 1)");
+        }
+        this.thresholdMicros = TimeUnit.NANOSECONDS.toMicros(threshold.toNanos());
+        this.objective = objective;
+    }
+
+    public void record(String endpoint, long elapsedNanos) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointWindows())
+                .recorder.recordValue(Math.max(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), 0));
+    }
+
+    @Scheduled(fixedRate = SLOT_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        endpoints.values().forEach(EndpointWindows::rotate);
+    }
+
+    public LatencyReportResponse getReport() {
+        List<EndpointLatencyStats> result = endpoints.entrySet().stream()
+                .map(entry -> {
+                    Histogram[] windows = entry.getValue().snapshot();
+                    return new EndpointLatencyStats(entry.getKey(), toStats(windows[0]), toStats(windows[1]));
+                })
+                .sorted(Comparator.comparingDouble((EndpointLatencyStats e) -> e.getLastHour().getBurnRate()).reversed()
+                        .thenComparing(EndpointLatencyStats::getEndpoint))
+                .toList();
+        return new LatencyReportResponse(TimeUnit.MICROSECONDS.toMillis(thresholdMicros), objective, result);
+    }
+
+    private LatencyWindowStats toStats(Histogram histogram) {
+        long count = histogram.getTotalCount();
+        if (count == 0) {
+            return new LatencyWindowStats(0, 0, 0, 0, 0, 0, 1, 0);
+        }
+        long slow = count - histogram.getCountBetweenValues(0, thresholdMicros);
+        double badShare = (double) slow / count;
+        return new LatencyWindowStats(
+                count,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                slow,
+                1 - badShare,
+                badShare / (1 - objective)
+        );
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class EndpointWindows {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+        private final Deque<Histogram> minuteSlots = new ArrayDeque<>();
+        private final Deque<Histogram> hourSlots = new ArrayDeque<>();
+        private Histogram currentMinute = new PackedHistogram(SIGNIFICANT_DIGITS);
+        private int slotsInCurrentMinute;
+
+        synchronized void rotate() {
+            Histogram slot = recorder.getIntervalHistogram();
+            minuteSlots.addLast(slot);
+            if (minuteSlots.size() > SLOTS_PER_MINUTE) {
+                minuteSlots.removeFirst();
+            }
+            currentMinute.add(slot);
+            if (++slotsInCurrentMinute == SLOTS_PER_MINUTE) {
+                hourSlots.addLast(currentMinute);
+                if (hourSlots.size() >= MINUTES_PER_HOUR) {
+                    hourSlots.removeFirst();
+                }
+                currentMinute = new PackedHistogram(SIGNIFICANT_DIGITS);
+                slotsInCurrentMinute = 0;
+            }
+        }
+
+        synchronized Histogram[] snapshot() {
+            Histogram minute = new PackedHistogram(SIGNIFICANT_DIGITS);
+            minuteSlots.forEach(minute::add);
+            Histogram hour = new PackedHistogram(SIGNIFICANT_DIGITS);
+            hourSlots.forEach(hour::add);
+            hour.add(currentMinute);
+            return new Histogram[]{minute, hour};
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class LogFileOutboxSink implements OutboxSink {
+    private final Path file;
+    private final ObjectWriter writer;
+
+    public LogFileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.writer = objectMapper.writerFor(OutboxMessage.class);
+    }
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : messages) {
+                out.write(writer.writeValueAsString(message));
+                out.newLine();
+            }
+        }
+    }
+}
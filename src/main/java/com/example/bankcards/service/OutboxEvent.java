@@ -0,0 +1,56 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.RequestStatus;
+import com.example.bankcards.entity.Transfer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class OutboxEvent {
+    public enum Type {
+        TRANSFER_COMPLETED,
+        CARD_STATUS_CHANGED,
+        BLOCK_REQUEST_APPROVED,
+        BLOCK_REQUEST_REJECTED
+    }
+
+    public static final String TRANSFER = "transfer";
+    public static final String CARD = "card";
+    public static final String BLOCK_REQUEST = "block_request";
+
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final Type type;
+    private final Map<String, Object> payload;
+
+    public static OutboxEvent transferCompleted(Transfer transfer) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transferId", transfer.getId());
+        payload.put("fromCardId", transfer.getFromCard().getId());
+        payload.put("toCardId", transfer.getToCard().getId());
+        payload.put("amount", transfer.getAmount());
+        payload.put("createdAt", transfer.getCreatedAt());
+        return new OutboxEvent(TRANSFER, transfer.getId(), Type.TRANSFER_COMPLETED, payload);
+    }
+
+    public static OutboxEvent cardStatusChanged(Long cardId, CardStatus status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("cardId", cardId);
+        payload.put("status", status);
+        return new OutboxEvent(CARD, cardId, Type.CARD_STATUS_CHANGED, payload);
+    }
+
+    public static OutboxEvent blockRequestResolved(Long requestId, Long cardId, RequestStatus status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("requestId", requestId);
+        payload.put("cardId", cardId);
+        payload.put("status", status);
+        Type type = status == RequestStatus.APPROVED ? Type.BLOCK_REQUEST_APPROVED : Type.BLOCK_REQUEST_REJECTED;
+        return new OutboxEvent(BLOCK_REQUEST, requestId, type, payload);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.CardStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class OutboxPublisher {
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, CAST(? AS jsonb))
+            """;
+
+    private static final String INSERT_EXPIRED_CARDS_SQL = """
+            INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+            SELECT ?, c.id, ?, jsonb_build_object('cardId', c.id, 'status', 'EXPIRED')
+            FROM cards c
+            WHERE c.id > ? AND c.id <= ? AND c.status = 'ACTIVE' AND c.expiration_date < ?
+            FOR UPDATE
+            """;
+
+    private static final String INSERT_CARD_STATUS_CHANGES_SQL = """
+            INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+            SELECT ?, c.id, ?, jsonb_build_object('cardId', c.id, 'status', ?)
+            FROM cards c
+            WHERE c.id = ANY (?) AND c.status <> ?
+            ORDER BY c.id
+            FOR UPDATE
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEvent event) {
+        jdbcTemplate.update(INSERT_SQL, event.getAggregateType(), event.getAggregateId(),
+                event.getType().name(), toJson(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events.stream()
+                .map(event -> new Object[]{event.getAggregateType(), event.getAggregateId(),
+                        event.getType().name(), toJson(event)})
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int publishCardExpiries(LocalDate today, long afterId, long toId) {
+        return jdbcTemplate.update(INSERT_EXPIRED_CARDS_SQL, OutboxEvent.CARD,
+                OutboxEvent.Type.CARD_STATUS_CHANGED.name(), afterId, toId, today);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int publishCardStatusChanges(CardStatus status, Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(INSERT_CARD_STATUS_CHANGES_SQL, ps -> {
+            ps.setString(1, OutboxEvent.CARD);
+            ps.setString(2, OutboxEvent.Type.CARD_STATUS_CHANGED.name());
+            ps.setString(3, status.name());
+            ps.setArray(4, ps.getConnection().createArrayOf("bigint", cardIds.toArray()));
+            ps.setString(5, status.name());
+        });
+    }
+
+    private String toJson(OutboxEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_SQL = """
+            SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at, attempts
+            FROM outbox
+            WHERE available_at <= now()
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM outbox WHERE id = ANY(?)";
+
+    private static final String RETRY_SQL = """
+            UPDATE outbox
+            SET attempts = attempts + 1,
+                available_at = now() + least(? * power(2, attempts), ?) * interval '1 millisecond'
+            WHERE id = ANY(?)
+            """;
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getLong("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Counter delivered;
+    private final Counter failed;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       ObjectProvider<OutboxSink> sinks,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.relay.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${app.outbox.relay.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = sinks.orderedStream().toList();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.delivered = meterRegistry.counter("bank.outbox.relayed", "outcome", "delivered");
+        this.failed = meterRegistry.counter("bank.outbox.relayed", "outcome", "failed");
+        if (this.sinks.isEmpty()) {
+            logger.info("No outbox sinks configured, events stay in the outbox table");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval:1s}")
+    public void scheduledRelay() {
+        if (enabled && !sinks.isEmpty()) {
+            relay();
+        }
+    }
+
+    public int relay() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            Long[] ids = batch.stream().map(OutboxMessage::getId).toArray(Long[]::new);
+
+            for (OutboxSink sink : sinks) {
+                try {
+                    sink.deliver(batch);
+                } catch (Exception e) {
+                    logger.warn("Outbox sink '{}' failed to deliver {} events starting at id {}: {}",
+                            sink.getName(), batch.size(), ids[0], e.toString());
+                    jdbcTemplate.update(RETRY_SQL, ps -> {
+                        ps.setLong(1, retryBackoff.toMillis());
+                        ps.setLong(2, maxRetryBackoff.toMillis());
+                        ps.setArray(3, ps.getConnection().createArrayOf("bigint", ids));
+                    });
+                    failed.increment(batch.size());
+                    return 0;
+                }
+            }
+
+            jdbcTemplate.update(DELETE_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+            delivered.increment(batch.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.OutboxMessage;
+
+import java.util.List;
+
+public interface OutboxSink {
+    String getName();
+
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
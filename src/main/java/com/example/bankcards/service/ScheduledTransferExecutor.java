@@ -0,0 +1,210 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ScheduledTransferStats;
+import com.example.bankcards.entity.ScheduledTransfer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ScheduledTransferExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTransferExecutor.class);
+
+    private final ScheduledTransferService scheduledTransferService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration claimLease;
+    private final int workerCount;
+    private final ExecutorService dispatcher;
+    private final ExecutorService workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong totalSucceeded = new AtomicLong();
+    private final AtomicLong totalRetried = new AtomicLong();
+    private final AtomicLong totalFailed = new AtomicLong();
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+    private volatile long lastRunClaimed;
+    private volatile long lastRunSucceeded;
+    private volatile long lastRunRetried;
+    private volatile long lastRunFailed;
+    private volatile long lastRunMillis;
+
+    public ScheduledTransferExecutor(ScheduledTransferService scheduledTransferService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.scheduled-transfers.enabled:true}") boolean enabled,
+                                     @Value("${app.scheduled-transfers.batch-size:500}") int batchSize,
+                                     @Value("${app.scheduled-transfers.threads:4}") int threads,
+                                     @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                     @Value("${app.scheduled-transfers.claim-lease:5m}") Duration claimLease) {
+        if (batchSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Размер пакета и число потоков должны быть положительными");
+        }
+        this.scheduledTransferService = scheduledTransferService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.claimLease = claimLease;
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-transfer-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int workerCount = Math.max(1, Math.min(threads, connectionPoolSize / 2));
+        if (workerCount < threads) {
+            logger.warn("Scheduled transfer threads reduced from {} to {} to leave connections for other work "
+                    + "(connection pool size {})", threads, workerCount, connectionPoolSize);
+        }
+        this.workerCount = workerCount;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-transfer-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduled-transfers.poll-interval:5s}")
+    public void poll() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    drain(LocalDateTime.now());
+                } catch (RuntimeException e) {
+                    logger.error("Scheduled transfer run failed", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public ScheduledTransferStats run(LocalDateTime now) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Исполнение плановых переводов уже выполняется");
+        }
+        drain(now);
+        return getStats();
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public ScheduledTransferStats getStats() {
+        return new ScheduledTransferStats(running.get(), lastRunStartedAt, lastRunFinishedAt,
+                lastRunClaimed, lastRunSucceeded, lastRunRetried, lastRunFailed, lastRunMillis,
+                totalSucceeded.get(), totalRetried.get(), totalFailed.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void drain(LocalDateTime now) {
+        try {
+            long started = System.nanoTime();
+            lastRunStartedAt = LocalDateTime.now();
+            lastRunFinishedAt = null;
+            lastRunClaimed = 0;
+            lastRunSucceeded = 0;
+            lastRunRetried = 0;
+            lastRunFailed = 0;
+
+            List<ScheduledTransfer> claimed;
+            do {
+                claimed = scheduledTransferService.claimDue(now, claimLease, batchSize);
+                lastRunClaimed += claimed.size();
+                List<Callable<Outcome>> tasks = new ArrayList<>(claimed.size());
+                for (ScheduledTransfer order : claimed) {
+                    tasks.add(() -> runOrder(order.getId(), order.getNextRunAt()));
+                }
+                for (Future<Outcome> result : workers.invokeAll(tasks)) {
+                    count(result.get());
+                }
+            } while (claimed.size() == batchSize);
+
+            lastRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            lastRunFinishedAt = LocalDateTime.now();
+            if (lastRunClaimed > 0) {
+                logger.info("Scheduled transfers: {} claimed, {} succeeded, {} retried, {} failed in {} ms",
+                        lastRunClaimed, lastRunSucceeded, lastRunRetried, lastRunFailed, lastRunMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Scheduled transfer run interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка исполнения плановых переводов", e.getCause());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Outcome runOrder(Long id, LocalDateTime dueAt) {
+        try {
+            return scheduledTransferService.execute(id, dueAt) ? Outcome.SUCCEEDED : Outcome.SKIPPED;
+        } catch (RuntimeException e) {
+            try {
+                return scheduledTransferService.recordFailure(id, dueAt, e.getMessage())
+                        ? Outcome.FAILED
+                        : Outcome.RETRIED;
+            } catch (RuntimeException recordError) {
+                logger.warn("Could not record failure of scheduled transfer {}, it will be retried after the lease expires",
+                        id, recordError);
+                return Outcome.RETRIED;
+            }
+        }
+    }
+
+    private void count(Outcome outcome) {
+        switch (outcome) {
+            case SUCCEEDED -> {
+                lastRunSucceeded++;
+                totalSucceeded.incrementAndGet();
+            }
+            case RETRIED -> {
+                lastRunRetried++;
+                totalRetried.incrementAndGet();
+            }
+            case FAILED -> {
+                lastRunFailed++;
+                totalFailed.incrementAndGet();
+            }
+            case SKIPPED -> {
+            }
+        }
+        meterRegistry.counter("bank.scheduled_transfers", "outcome", outcome.name().toLowerCase()).increment();
+    }
+
+    private enum Outcome {
+        SUCCEEDED,
+        RETRIED,
+        FAILED,
+        SKIPPED
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.ScheduledRunStatus;
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.ScheduledTransferRun;
+import com.example.bankcards.entity.ScheduledTransferStatus;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.entity.TransferRecurrence;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.ScheduledTransferRepository;
+import com.example.bankcards.repository.ScheduledTransferRunRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class ScheduledTransferService {
+    public static final int MAX_RUNS = 100;
+    public static final int MAX_ERROR_LENGTH = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTransferService.class);
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final ScheduledTransferRunRepository runRepository;
+    private final CardRepository cardRepository;
+    private final CardService cardService;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    public ScheduledTransferService(ScheduledTransferRepository scheduledTransferRepository,
+                                    ScheduledTransferRunRepository runRepository,
+                                    CardRepository cardRepository,
+                                    CardService cardService,
+                                    @Value("${app.scheduled-transfers.max-attempts:5}") int maxAttempts,
+                                    @Value("${app.scheduled-transfers.retry-backoff:10m}") Duration retryBackoff,
+                                    @Value("${app.scheduled-transfers.max-retry-backoff:4h}") Duration maxRetryBackoff) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Число попыток должно быть положительным");
+        }
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.runRepository = runRepository;
+        this.cardRepository = cardRepository;
+        this.cardService = cardService;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    @Transactional
+    public ScheduledTransfer create(Long fromCardId, Long toCardId, BigDecimal amount,
+                                    LocalDateTime firstRunAt, TransferRecurrence recurrence, String currentUsername) {
+        Card from = cardRepository.findById(fromCardId).orElse(null);
+        Card to = cardRepository.findById(toCardId).orElse(null);
+        if (from != null && !isOwnedBy(from, currentUsername)) {
+            throw new SecurityException("Вы не можете создавать плановые переводы с карты другого пользователя");
+        }
+        TransferRejection rejection = TransferRejection.checkCards(from, to, LocalDate.now());
+        if (rejection != null) {
+            throw rejection.toException();
+        }
+
+        ScheduledTransfer order = new ScheduledTransfer();
+        order.setFromCard(from);
+        order.setToCard(to);
+        order.setAmount(amount);
+        order.setRecurrence(recurrence == null ? TransferRecurrence.ONCE : recurrence);
+        order.setStartAt(firstRunAt);
+        order.setNextRunAt(firstRunAt);
+        order.setAvailableAt(firstRunAt);
+        return scheduledTransferRepository.save(order);
+    }
+
+    @Transactional(readOnly = true)
+    public ScheduledTransfer getScheduledTransfer(Long id, String currentUsername) {
+        ScheduledTransfer order = scheduledTransferRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Плановый перевод не найден"));
+        requireOwner(order, currentUsername);
+        return order;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledTransferRun> getRuns(Long id, int limit, String currentUsername) {
+        getScheduledTransfer(id, currentUsername);
+        int size = Math.min(Math.max(limit, 1), MAX_RUNS);
+        return runRepository.findByScheduledTransferIdOrderByDueAtDesc(id, PageRequest.of(0, size));
+    }
+
+    @Transactional
+    public ScheduledTransfer cancel(Long id, String currentUsername) {
+        ScheduledTransfer order = scheduledTransferRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Плановый перевод не найден"));
+        requireOwner(order, currentUsername);
+        if (order.getStatus() != ScheduledTransferStatus.ACTIVE) {
+            throw new IllegalStateException("Плановый перевод уже завершён");
+        }
+        order.setStatus(ScheduledTransferStatus.CANCELLED);
+        order.setClaimedUntil(null);
+        return scheduledTransferRepository.save(order);
+    }
+
+    private static void requireOwner(ScheduledTransfer order, String currentUsername) {
+        if (!isOwnedBy(order.getFromCard(), currentUsername)) {
+            throw new SecurityException("Вы не можете управлять плановым переводом другого пользователя");
+        }
+    }
+
+    private static boolean isOwnedBy(Card card, String username) {
+        return card.getOwner() != null && card.getOwner().getUsername().equals(username);
+    }
+
+    @Transactional
+    public List<ScheduledTransfer> claimDue(LocalDateTime now, Duration lease, int limit) {
+        return scheduledTransferRepository.claimDue(now, now.plus(lease), limit);
+    }
+
+    @Transactional
+    public boolean execute(Long id, LocalDateTime dueAt) {
+        ScheduledTransfer order = scheduledTransferRepository.findByIdForUpdate(id).orElse(null);
+        if (order == null || !order.isDueAt(dueAt)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ScheduledTransferRun run = runRepository.insertIfAbsent(id, dueAt, ScheduledRunStatus.SUCCEEDED.name(),
+                order.getAttempts() + 1, null, now).orElse(null);
+        if (run == null) {
+            logger.warn("Scheduled transfer {} already ran for {}, moving to the next occurrence", id, dueAt);
+        } else {
+            Transfer transfer = cardService.transfer(
+                    order.getFromCard().getId(), order.getToCard().getId(), order.getAmount());
+            run.setTransferId(transfer.getId());
+            runRepository.save(run);
+        }
+        order.setLastError(null);
+        finish(order, now, ScheduledTransferStatus.COMPLETED);
+        return run != null;
+    }
+
+    @Transactional
+    public boolean recordFailure(Long id, LocalDateTime dueAt, String error) {
+        ScheduledTransfer order = scheduledTransferRepository.findByIdForUpdate(id).orElse(null);
+        if (order == null || !order.isDueAt(dueAt)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String message = truncate(error);
+        int attempts = order.getAttempts() + 1;
+        order.setLastError(message);
+
+        if (attempts >= maxAttempts) {
+            runRepository.insertIfAbsent(id, dueAt, ScheduledRunStatus.FAILED.name(), attempts, message, now);
+            finish(order, now, ScheduledTransferStatus.FAILED);
+            return true;
+        }
+
+        order.setAttempts(attempts);
+        order.setAvailableAt(now.plus(backoff(attempts)));
+        order.setClaimedUntil(null);
+        scheduledTransferRepository.save(order);
+        return false;
+    }
+
+    Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 30);
+        Duration delay = retryBackoff.multipliedBy(multiplier);
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private void finish(ScheduledTransfer order, LocalDateTime now, ScheduledTransferStatus terminal) {
+        if (!order.advancePast(now)) {
+            order.setStatus(terminal);
+        }
+        scheduledTransferRepository.save(order);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.SqlRequestStats;
+import com.example.bankcards.dto.SqlEndpointStats;
+import com.example.bankcards.dto.SqlStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class SqlStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsService.class);
+
+    private final Map<String, EndpointTally> endpoints = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+    private final long chattyThreshold;
+
+    public SqlStatsService(@Value("${app.sql-accounting.slow-threshold:200ms}") Duration slowThreshold,
+                           @Value("${app.sql-accounting.chatty-threshold:20}") long chattyThreshold) {
+        if (slowThreshold.compareTo(Duration.ZERO) <= 0 || chattyThreshold <= 0) {
+            throw new IllegalArgumentException("Пороги учёта SQL должны быть положительными");
+        }
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.chattyThreshold = chattyThreshold;
+    }
+
+    public void record(String endpoint, SqlRequestStats stats) {
+        boolean slow = stats.getNanos() > slowThresholdNanos;
+        boolean chatty = stats.getStatements() > chattyThreshold;
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointTally()).add(stats, slow, chatty);
+
+        if (slow || chatty) {
+            logger.warn("{} SQL request {}: {} statements, {} rows, {} ms in database",
+                    slow && chatty ? "Slow and chatty" : slow ? "Slow" : "Chatty",
+                    endpoint, stats.getStatements(), stats.getRows(), stats.getMillis());
+        }
+    }
+
+    public SqlStatsResponse getStats() {
+        List<SqlEndpointStats> result = endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(Comparator.comparingLong(SqlEndpointStats::getStatements).reversed()
+                        .thenComparing(SqlEndpointStats::getEndpoint))
+                .toList();
+        return new SqlStatsResponse(Duration.ofNanos(slowThresholdNanos).toMillis(), chattyThreshold, result);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static class EndpointTally {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder chatty = new LongAdder();
+
+        void add(SqlRequestStats stats, boolean isSlow, boolean isChatty) {
+            requests.increment();
+            statements.add(stats.getStatements());
+            rows.add(stats.getRows());
+            nanos.add(stats.getNanos());
+            maxStatements.accumulate(stats.getStatements());
+            maxNanos.accumulate(stats.getNanos());
+            if (isSlow) {
+                slow.increment();
+            }
+            if (isChatty) {
+                chatty.increment();
+            }
+        }
+
+        SqlEndpointStats toStats(String endpoint) {
+            long requestCount = requests.sum();
+            long statementCount = statements.sum();
+            long totalNanos = nanos.sum();
+            return new SqlEndpointStats(
+                    endpoint,
+                    requestCount,
+                    statementCount,
+                    rows.sum(),
+                    totalNanos / 1_000_000,
+                    requestCount == 0 ? 0 : (double) statementCount / requestCount,
+                    requestCount == 0 ? 0 : totalNanos / 1_000_000.0 / requestCount,
+                    maxStatements.get(),
+                    maxNanos.get() / 1_000_000,
+                    slow.sum(),
+                    chatty.sum()
+            );
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import jakarta.persistence.EntityNotFoundException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+enum TransferRejection {
+    SOURCE_NOT_FOUND("card_not_found", EntityNotFoundException::new,
+            "Карта, с которой выполняется перевод, не найдена"),
+    TARGET_NOT_FOUND("card_not_found", EntityNotFoundException::new,
+            "Карта, в которую выполняется перевод, не найдена"),
+    SOURCE_BLOCKED("card_blocked", IllegalStateException::new,
+            "Отправляющая карта заблокирована"),
+    TARGET_BLOCKED("card_blocked", IllegalStateException::new,
+            "Нельзя перевести деньги на заблокированную карту"),
+    SOURCE_EXPIRED("card_expired", IllegalStateException::new,
+            "Срок действия отправляющей карты истёк"),
+    TARGET_EXPIRED("card_expired", IllegalStateException::new,
+            "Нельзя перевести деньги на карту с истёкшим сроком действия"),
+    FOREIGN_CARD("foreign_card", IllegalArgumentException::new,
+            "Можно переводить только между своими картами"),
+    INSUFFICIENT_FUNDS("insufficient_funds", IllegalArgumentException::new,
+            "Недостаточно средств");
+
+    private final String reason;
+    private final Function<String, RuntimeException> exceptionFactory;
+    private final String message;
+
+    TransferRejection(String reason, Function<String, RuntimeException> exceptionFactory, String message) {
+        this.reason = reason;
+        this.exceptionFactory = exceptionFactory;
+        this.message = message;
+    }
+
+    static TransferRejection check(Card from, Card to, BigDecimal amount, LocalDate today) {
+        TransferRejection rejection = checkCards(from, to, today);
+        if (rejection != null) {
+            return rejection;
+        }
+        if (from.getAvailableBalance().compareTo(amount) < 0) {
+            return INSUFFICIENT_FUNDS;
+        }
+        return null;
+    }
+
+    static TransferRejection checkCards(Card from, Card to, LocalDate today) {
+        if (from == null) {
+            return SOURCE_NOT_FOUND;
+        }
+        if (to == null) {
+            return TARGET_NOT_FOUND;
+        }
+        if (from.getStatus() == CardStatus.BLOCKED) {
+            return SOURCE_BLOCKED;
+        }
+        if (to.getStatus() == CardStatus.BLOCKED) {
+            return TARGET_BLOCKED;
+        }
+        if (from.isExpiredOn(today)) {
+            return SOURCE_EXPIRED;
+        }
+        if (to.isExpiredOn(today)) {
+            return TARGET_EXPIRED;
+        }
+        if (!from.getOwner().equals(to.getOwner())) {
+            return FOREIGN_CARD;
+        }
+        return null;
+    }
+
+    String getReason() {
+        return reason;
+    }
+
+    RuntimeException toException() {
+        return exceptionFactory.apply(message);
+    }
+}
@@ -1,25 +1,42 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.dto.UserCreateRequest;
 import com.example.bankcards.dto.UserResponse;
 import com.example.bankcards.dto.UserUpdateRequest;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.CursorCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final String EXPORT_SQL = "SELECT id, username, role FROM users ORDER BY id";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public UserResponse createUser(UserCreateRequest request) {
@@ -31,13 +48,47 @@ public class UserService {
         return UserResponse.from(saved);
     }
 
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(UserResponse::from)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<UserResponse> getUsers(String cursor, int size, String usernamePrefix) {
+        long afterId = CursorCodec.decodeId(cursor);
+        int pageSize = KeysetPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<User> users = (usernamePrefix == null || usernamePrefix.isBlank())
+                ? userRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit)
+                : userRepository.findByIdGreaterThanAndUsernameStartingWithOrderByIdAsc(afterId, usernamePrefix, limit);
+
+        return KeysetPage.of(users, pageSize, UserResponse::from, user -> CursorCodec.encode(user.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream out) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong("id"));
+                generator.writeStringField("username", rs.getString("username"));
+                generator.writeStringField("role", rs.getString("role"));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        generator.close();
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
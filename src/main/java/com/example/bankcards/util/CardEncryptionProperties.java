@@ -5,11 +5,14 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class CardEncryptionProperties {
-    @Value("${card.encryption.key}")
-    private String key;
+    private final String key;
+    private final String algorithm;
 
-    @Value("${card.encryption.algorithm:AES}")
-    private String algorithm;
+    public CardEncryptionProperties(@Value("${card.encryption.key}") String key,
+                                    @Value("${card.encryption.algorithm:AES}") String algorithm) {
+        this.key = key;
+        this.algorithm = algorithm;
+    }
 
     public String getKey() {
         return key;
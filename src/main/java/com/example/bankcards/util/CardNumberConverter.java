@@ -1,5 +1,6 @@
 package com.example.bankcards.util;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.springframework.stereotype.Component;
@@ -20,6 +21,7 @@ public class CardNumberConverter implements AttributeConverter<String, String> {
     }
 
     @Override
+    @Timed(value = "bank.card_number.crypto", extraTags = {"operation", "encrypt"})
     public String convertToDatabaseColumn(String attribute) {
         try {
             Cipher cipher = Cipher.getInstance(algorithm);
@@ -32,6 +34,7 @@ public class CardNumberConverter implements AttributeConverter<String, String> {
     }
 
     @Override
+    @Timed(value = "bank.card_number.crypto", extraTags = {"operation", "decrypt"})
     public String convertToEntityAttribute(String dbData) {
         try {
             Cipher cipher = Cipher.getInstance(algorithm);
@@ -0,0 +1,55 @@
+package com.example.bankcards.util;
+
+import java.nio.CharBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class CardNumberGenerator {
+    public static final int LENGTH = 16;
+
+    private CardNumberGenerator() {
+    }
+
+    public static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] digits = new char[LENGTH];
+        for (int i = 0; i < LENGTH - 1; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        digits[LENGTH - 1] = (char) ('0' + luhnCheckDigit(CharBuffer.wrap(digits, 0, LENGTH - 1)));
+        return new String(digits);
+    }
+
+    public static int luhnCheckDigit(CharSequence payload) {
+        int sum = 0;
+        boolean alternate = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int n = payload.charAt(i) - '0';
+            if (n < 0 || n > 9) {
+                throw new IllegalArgumentException("Номер карты должен состоять только из цифр");
+            }
+            if (alternate) {
+                n *= 2;
+                if (n > 9) {
+                    n -= 9;
+                }
+            }
+            sum += n;
+            alternate = !alternate;
+        }
+        return (10 - (sum % 10)) % 10;
+    }
+
+    public static boolean isValid(String number) {
+        if (number == null || number.length() < 2) {
+            return false;
+        }
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        int last = number.length() - 1;
+        return luhnCheckDigit(number.subSequence(0, last)) == number.charAt(last) - '0';
+    }
+}
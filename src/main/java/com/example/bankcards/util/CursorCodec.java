@@ -0,0 +1,47 @@
+package com.example.bankcards.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Некорректный курсор");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некорректный курсор", e);
+        }
+    }
+
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный курсор", e);
+        }
+    }
+}
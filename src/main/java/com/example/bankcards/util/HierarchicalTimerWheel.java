@@ -0,0 +1,119 @@
+package com.example.bankcards.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HierarchicalTimerWheel<K> {
+    private final long tickMillis;
+    private final int slotBits;
+    private final int levels;
+    private final long mask;
+    private final long startMillis;
+    private final List<List<Map<K, Long>>> wheels;
+    private final Map<K, Map<K, Long>> locations = new HashMap<>();
+    private long currentTick;
+
+    public HierarchicalTimerWheel(Duration tick, int slotBits, int levels, long startMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Шаг таймера должен быть не меньше миллисекунды");
+        }
+        if (slotBits <= 0 || levels <= 0 || (long) slotBits * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Недопустимый размер колеса таймера");
+        }
+        this.tickMillis = tick.toMillis();
+        this.slotBits = slotBits;
+        this.levels = levels;
+        this.mask = (1L << slotBits) - 1;
+        this.startMillis = startMillis;
+        this.wheels = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Map<K, Long>> slots = new ArrayList<>(1 << slotBits);
+            for (int slot = 0; slot < 1 << slotBits; slot++) {
+                slots.add(new HashMap<>());
+            }
+            wheels.add(slots);
+        }
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        place(key, deadlineTick, currentTick + 1);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Map<K, Long> slot = locations.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        slot.remove(key);
+        return true;
+    }
+
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<K> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < levels; level++) {
+                if ((currentTick & ((1L << (slotBits * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(wheels.get(level).get(index(currentTick, level)));
+            }
+            Map<K, Long> slot = wheels.get(0).get(index(currentTick, 0));
+            for (K key : slot.keySet()) {
+                locations.remove(key);
+                expired.add(key);
+            }
+            slot.clear();
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return locations.size();
+    }
+
+    public synchronized void clear() {
+        locations.values().forEach(Map::clear);
+        locations.clear();
+    }
+
+    public Duration getTick() {
+        return Duration.ofMillis(tickMillis);
+    }
+
+    public Duration getSpan() {
+        return Duration.ofMillis(tickMillis << (slotBits * levels));
+    }
+
+    private void cascade(Map<K, Long> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        Map<K, Long> entries = new HashMap<>(slot);
+        slot.clear();
+        entries.forEach((key, deadlineTick) -> place(key, deadlineTick, currentTick));
+    }
+
+    private void place(K key, long deadlineTick, long earliestTick) {
+        long dueTick = Math.max(deadlineTick, earliestTick);
+        long delta = dueTick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (slotBits * (level + 1))) {
+            level++;
+        }
+        long slotTick = Math.min(dueTick, currentTick + (1L << (slotBits * levels)) - 1);
+        Map<K, Long> slot = wheels.get(level).get(index(slotTick, level));
+        slot.put(key, deadlineTick);
+        locations.put(key, slot);
+    }
+
+    private int index(long tick, int level) {
+        return (int) ((tick >>> (slotBits * level)) & mask);
+    }
+}
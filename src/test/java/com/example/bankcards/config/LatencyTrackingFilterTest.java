@@ -0,0 +1,69 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.controller.CacheController;
+import com.example.bankcards.controller.CardController;
+import com.example.bankcards.service.LatencySloService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyTrackingFilterTest {
+    @Mock
+    private LatencySloService latencySloService;
+
+    @Test
+    void doFilter_ShouldRecordTrackedControllerByRoutePattern() throws Exception {
+        // Arrange
+        LatencyTrackingFilter filter = new LatencyTrackingFilter(latencySloService);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cards/user/42");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler(CardController.class, "getUserCards"));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/cards/user/{userId}");
+        };
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(latencySloService).record(eq("GET /api/cards/user/{userId}"), anyLong());
+    }
+
+    @Test
+    void doFilter_ShouldSkipUntrackedControllersAndUnmappedRequests() throws Exception {
+        // Arrange
+        LatencyTrackingFilter filter = new LatencyTrackingFilter(latencySloService);
+        FilterChain adminChain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler(CacheController.class, "getStats"));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/cache/stats");
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/cache/stats"), new MockHttpServletResponse(), adminChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        // Assert
+        verify(latencySloService, never()).record(anyString(), anyLong());
+    }
+
+    private static HandlerMethod handler(Class<?> type, String methodName) {
+        for (var method : type.getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return new HandlerMethod(mock(type), method);
+            }
+        }
+        throw new IllegalArgumentException(methodName);
+    }
+}
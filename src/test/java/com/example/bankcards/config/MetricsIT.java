@@ -0,0 +1,178 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.LatencySloService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext
+class MetricsIT {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private LatencySloService latencySloService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void prometheus_ShouldExposeApplicationTimersAndCounters() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setUsername("metrics-user");
+        user.setPassword(passwordEncoder.encode("secret"));
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        Card from = cardService.createCard(user.getId());
+        Card to = cardService.createCard(user.getId());
+
+        String login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"metrics-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).get("token").asText();
+
+        // Act
+        mockMvc.perform(get("/api/cards/user/" + user.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/cards/transfer")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromCardId\":" + from.getId() + ",\"toCardId\":" + to.getId() + ",\"amount\":10.00}"))
+                .andExpect(status().isBadRequest());
+        String metrics = mockMvc.perform(get("/actuator/prometheus")
+                        .with(httpBasic("prometheus", "MySuperSecretScrapePassword")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertAll(
+                () -> assertMetric(metrics, "bank_transfers_seconds_bucket{", "outcome=\"insufficient_funds\""),
+                () -> assertMetric(metrics, "bank_business_failures_total{", "reason=\"insufficient_funds\""),
+                () -> assertMetric(metrics, "bank_card_number_crypto_seconds_count{", "operation=\"encrypt\""),
+                () -> assertMetric(metrics, "bank_card_number_crypto_seconds_count{", "operation=\"decrypt\""),
+                () -> assertMetric(metrics, "bank_jwt_seconds_count{", "operation=\"validate\""),
+                () -> assertMetric(metrics, "bank_jwt_seconds_count{", "operation=\"generate\""),
+                () -> assertMetric(metrics, "bank_password_seconds_count{", "operation=\"matches\""),
+                () -> assertMetric(metrics, "spring_data_repository_invocations_seconds_bucket{", "repository=\"CardRepository\""),
+                () -> assertMetric(metrics, "hikaricp_connections_active{", "pool="),
+                () -> assertMetric(metrics, "http_server_requests_seconds_bucket{", "uri=\"/api/cards/transfer\""));
+    }
+
+    @Test
+    void actuator_ShouldRequireAdminForOtherEndpoints() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_ShouldRequireScrapeCredentials() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername("scrape-admin").password("x").roles("ADMIN").build());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "MySuperSecretScrapePassword")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void latencyReport_ShouldTrackControllerRoutes() throws Exception {
+        // Arrange
+        User admin = new User();
+        admin.setUsername("latency-admin");
+        admin.setPassword("x");
+        admin.setRole(Role.ADMIN);
+        admin = userRepository.save(admin);
+        String token = jwtService.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername(admin.getUsername()).password("x").roles("ADMIN").build());
+
+        // Act
+        mockMvc.perform(get("/api/users/" + admin.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/cache/stats")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        latencySloService.rotate();
+
+        // Assert
+        mockMvc.perform(get("/api/admin/latency")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'GET /api/users/{id}')].lastMinute.count").value(1))
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'GET /api/admin/cache/stats')]").isEmpty());
+    }
+
+    private static void assertMetric(String metrics, String prefix, String tag) {
+        boolean found = metrics.lines().anyMatch(line -> line.startsWith(prefix) && line.contains(tag));
+        assertTrue(found, "Метрика не найдена: " + prefix + " " + tag);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ReplicaLagMonitor(dataSource, Duration.ofSeconds(5));
+    }
+
+    private void stubLag(long millis) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getLong(1)).thenReturn(millis);
+    }
+
+    @Test
+    void refresh_ShouldEnableReplica_WhenLagWithinThreshold() throws SQLException {
+        // Arrange
+        stubLag(1200);
+
+        // Act
+        monitor.refresh();
+
+        // Assert
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(Duration.ofMillis(1200), monitor.getLastLag());
+    }
+
+    @Test
+    void refresh_ShouldDisableReplica_WhenLagExceedsThreshold() throws SQLException {
+        // Arrange
+        stubLag(7000);
+
+        // Act
+        monitor.refresh();
+
+        // Assert
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(Duration.ofMillis(7000), monitor.getLastLag());
+    }
+
+    @Test
+    void refresh_ShouldDisableReplica_WhenReplicaUnavailable() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // Act
+        monitor.refresh();
+
+        // Assert
+        assertFalse(monitor.isReplicaUsable());
+        assertNull(monitor.getLastLag());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @InjectMocks
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldRouteReadOnlyToReplica() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldRouteReadOnlyToPrimary_WhenReplicaLags() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldRouteWritesToPrimary() {
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        verifyNoInteractions(lagMonitor);
+    }
+}
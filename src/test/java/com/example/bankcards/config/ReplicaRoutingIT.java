@@ -0,0 +1,111 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.dto.UserCreateRequest;
+import com.example.bankcards.dto.UserResponse;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.datasource.replica.lag-check-interval=1h",
+        "app.datasource.replica.hikari.connection-timeout=1000"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DirtiesContext
+class ReplicaRoutingIT {
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) throws Exception {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+        migrate(replica);
+
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("app.datasource.replica.url", () -> replica.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (primary != null) {
+            primary.close();
+        }
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    private static void migrate(EmbeddedPostgres postgres) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(postgres.getPostgresDatabase());
+        liquibase.setChangeLog("classpath:db/migration/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    private static JdbcTemplate jdbc(EmbeddedPostgres postgres) {
+        return new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        jdbc(replica).update("INSERT INTO users (username, password, role) VALUES ('replica-only', 'x', 'USER')");
+        replicaLagMonitor.refresh();
+
+        List<UserResponse> users = userService.getUsers(null, 50, "replica-").getContent();
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals(List.of("replica-only"), users.stream().map(UserResponse::getUsername).toList());
+    }
+
+    @Test
+    @Order(2)
+    void writeTransaction_ShouldGoToPrimary() {
+        userService.createUser(new UserCreateRequest("primary-write", "password", Role.USER));
+
+        String sql = "SELECT count(*) FROM users WHERE username = 'primary-write'";
+        assertEquals(1, jdbc(primary).queryForObject(sql, Integer.class));
+        assertEquals(0, jdbc(replica).queryForObject(sql, Integer.class));
+    }
+
+    @Test
+    @Order(3)
+    void unavailableReplica_ShouldFallBackToPrimary() throws IOException {
+        replica.close();
+        replica = null;
+        replicaLagMonitor.refresh();
+
+        List<UserResponse> users = userService.getUsers(null, 50, "primary-").getContent();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals(List.of("primary-write"), users.stream().map(UserResponse::getUsername).toList());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.bankcards.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqlAccountingDataSourceTest {
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SqlAccountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new SqlAccountingDataSource(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlRequestStats.end();
+    }
+
+    @Test
+    void executeQuery_ShouldCountStatementAndFetchedRows() throws Exception {
+        // Arrange
+        when(connection.prepareStatement("SELECT * FROM cards")).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        SqlRequestStats stats = SqlRequestStats.begin();
+
+        // Act
+        try (Connection proxy = dataSource.getConnection();
+             PreparedStatement ps = proxy.prepareStatement("SELECT * FROM cards");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+
+        // Assert
+        assertEquals(1L, stats.getStatements());
+        assertEquals(3L, stats.getRows());
+        assertTrue(stats.getNanos() >= 0);
+        verify(resultSet).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void updatesAndBatches_ShouldCountAffectedRows() throws Exception {
+        // Arrange
+        when(connection.prepareStatement("UPDATE cards SET status = ?")).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(4);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1, Statement.SUCCESS_NO_INFO});
+        SqlRequestStats stats = SqlRequestStats.begin();
+
+        // Act
+        try (Connection proxy = dataSource.getConnection()) {
+            proxy.prepareStatement("UPDATE cards SET status = ?").executeUpdate();
+            Statement batch = proxy.createStatement();
+            batch.addBatch("DELETE FROM transfers WHERE id = 1");
+            batch.executeBatch();
+        }
+
+        // Assert
+        assertEquals(2L, stats.getStatements());
+        assertEquals(6L, stats.getRows());
+    }
+
+    @Test
+    void outsideRequest_ShouldPassThroughWithoutCounting() throws Exception {
+        // Arrange
+        when(connection.prepareStatement("SELECT 1")).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+
+        // Act
+        ResultSet rs;
+        try (Connection proxy = dataSource.getConnection()) {
+            rs = proxy.prepareStatement("SELECT 1").executeQuery();
+        }
+
+        // Assert
+        assertSame(resultSet, rs);
+        assertNull(SqlRequestStats.current());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.dto.SqlEndpointStats;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.SqlStatsService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sql-accounting.chatty-threshold=1")
+@AutoConfigureMockMvc
+@DirtiesContext
+class SqlAccountingIT {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private SqlStatsService sqlStatsService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void request_ShouldReportStatementsInHeadersAndAdminStats() throws Exception {
+        // Arrange
+        assertInstanceOf(SqlAccountingDataSource.class, dataSource);
+        User user = new User();
+        user.setUsername("sql-accounting-user");
+        user.setPassword("x");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        cardService.createCard(user.getId());
+        cardService.createCard(user.getId());
+        UserDetails principal = org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername()).password("x").roles("USER").build();
+        String token = jwtService.generateToken(principal);
+        sqlStatsService.reset();
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/api/cards/user/" + user.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        // Assert
+        long statements = Long.parseLong(response.getHeader(SqlAccountingFilter.STATEMENTS_HEADER));
+        long rows = Long.parseLong(response.getHeader(SqlAccountingFilter.ROWS_HEADER));
+        assertTrue(statements >= 1, "Запросы к БД не учтены");
+        assertTrue(rows >= 2, "Строки карт не учтены");
+        assertNotNull(response.getHeader(SqlAccountingFilter.TIME_HEADER));
+
+        SqlEndpointStats endpoint = sqlStatsService.getStats().getEndpoints().stream()
+                .filter(e -> e.getEndpoint().equals("GET /api/cards/user/{userId}"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Точка не найдена в отчёте"));
+        assertEquals(1L, endpoint.getRequests());
+        assertEquals(statements, endpoint.getStatements());
+        assertEquals(rows, endpoint.getRows());
+        assertEquals(statements > 1 ? 1L : 0L, endpoint.getChattyRequests());
+    }
+
+    @Test
+    void adminReport_ShouldRequireAdmin() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/sql/stats")).andExpect(status().isUnauthorized());
+    }
+}
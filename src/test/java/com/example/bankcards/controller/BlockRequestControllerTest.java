@@ -1,20 +1,28 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.BlockRequestBulkRequest;
+import com.example.bankcards.dto.BlockRequestBulkResponse;
+import com.example.bankcards.dto.BlockRequestOutcome;
+import com.example.bankcards.dto.BulkOutcome;
 import com.example.bankcards.entity.*;
 import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.BlockRequestEventHub;
 import com.example.bankcards.service.BlockRequestService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +36,9 @@ class BlockRequestControllerTest {
     @MockitoBean
     private BlockRequestService blockRequestService;
 
+    @MockitoBean
+    private BlockRequestEventHub eventHub;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -57,10 +68,10 @@ class BlockRequestControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "ADMIN")
+    @WithMockUser(username = "admin", roles = "ADMIN")
     void approve_ShouldReturnApprovedRequest() throws Exception {
         BlockRequest request = buildRequest(2L, 20L, RequestStatus.APPROVED);
-        Mockito.when(blockRequestService.approveRequest(eq(2L))).thenReturn(request);
+        Mockito.when(blockRequestService.approveRequest(eq(2L), eq("admin"))).thenReturn(request);
 
         mockMvc.perform(put("/api/block-requests/{id}/approve", 2L))
                 .andExpect(status().isOk())
@@ -70,10 +81,10 @@ class BlockRequestControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "ADMIN")
+    @WithMockUser(username = "admin", roles = "ADMIN")
     void reject_ShouldReturnRejectedRequest() throws Exception {
         BlockRequest request = buildRequest(3L, 30L, RequestStatus.REJECTED);
-        Mockito.when(blockRequestService.rejectRequest(eq(3L))).thenReturn(request);
+        Mockito.when(blockRequestService.rejectRequest(eq(3L), eq("admin"))).thenReturn(request);
 
         mockMvc.perform(put("/api/block-requests/{id}/reject", 3L))
                 .andExpect(status().isOk())
@@ -97,4 +108,57 @@ class BlockRequestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(5L))
                 .andExpect(jsonPath("$[1].status").value("PENDING"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulk_ShouldReturnPerIdOutcomes() throws Exception {
+        BlockRequestBulkResponse response = new BlockRequestBulkResponse(1, 1, List.of(
+                new BlockRequestOutcome(6L, 60L, RequestStatus.APPROVED, BulkOutcome.PROCESSED),
+                new BlockRequestOutcome(7L, 70L, RequestStatus.REJECTED, BulkOutcome.ALREADY_PROCESSED)));
+        Mockito.when(blockRequestService.bulkResolve(any(BlockRequestBulkRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/block-requests/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"APPROVE\",\"ids\":[6,7]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(1))
+                .andExpect(jsonPath("$.blockedCards").value(1))
+                .andExpect(jsonPath("$.outcomes[0].outcome").value("PROCESSED"))
+                .andExpect(jsonPath("$.outcomes[1].id").value(7L))
+                .andExpect(jsonPath("$.outcomes[1].outcome").value("ALREADY_PROCESSED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulk_ShouldRejectRequestWithoutTarget() throws Exception {
+        mockMvc.perform(post("/api/block-requests/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"REJECT\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.targetSpecified").value("Укажите либо ids, либо createdBefore"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void claim_ShouldReturnLeasedRequests() throws Exception {
+        BlockRequest request = buildRequest(8L, 80L, RequestStatus.PENDING);
+        request.setClaimedBy("admin");
+        request.setClaimedUntil(LocalDateTime.now().plusMinutes(5));
+        Mockito.when(blockRequestService.claim(eq(5), eq("admin"))).thenReturn(List.of(request));
+
+        mockMvc.perform(post("/api/block-requests/claim").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(8L))
+                .andExpect(jsonPath("$[0].claimedBy").value("admin"))
+                .andExpect(jsonPath("$[0].claimedUntil").exists());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stream_ShouldOpenEventStream() throws Exception {
+        Mockito.when(eventHub.subscribe(any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/block-requests/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+}
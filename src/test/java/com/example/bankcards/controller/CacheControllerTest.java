@@ -0,0 +1,47 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.CacheRegionStats;
+import com.example.bankcards.dto.CacheStatsResponse;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.CacheStatsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class CacheControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CacheStatsService cacheStatsService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStats_ShouldReturnRegionStatistics() throws Exception {
+        CacheStatsResponse stats = new CacheStatsResponse(12, 3, 5, 7, 1,
+                List.of(new CacheRegionStats("cards", 10, 2, 4, 6, 4)));
+        Mockito.when(cacheStatsService.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/admin/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(12))
+                .andExpect(jsonPath("$.queryCacheHitCount").value(7))
+                .andExpect(jsonPath("$.regions[0].region").value("cards"))
+                .andExpect(jsonPath("$.regions[0].evictionCount").value(6));
+    }
+}
@@ -3,7 +3,11 @@ package com.example.bankcards.controller;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.CardExportService;
 import com.example.bankcards.service.CardService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -16,12 +20,18 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +45,9 @@ class CardControllerTest {
     @MockitoBean
     private CardService cardService;
 
+    @MockitoBean
+    private CardExportService cardExportService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -177,4 +190,98 @@ class CardControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id").value(9L));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportCards_ShouldStreamGzippedCsv() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(cardExportService).exportCards(any(OutputStream.class), eq(ExportFormat.CSV));
+
+        MvcResult result = mockMvc.perform(get("/api/cards/export")
+                        .param("format", "CSV")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"cards.csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("id\n1\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getByStatusByCursor_ShouldReturnKeysetPage() throws Exception {
+        Card card = new Card();
+        card.setId(12L);
+        card.setStatus(CardStatus.BLOCKED);
+
+        Mockito.when(cardService.getCardsByStatusAfter(eq(CardStatus.BLOCKED), eq("abc"), eq(25)))
+                .thenReturn(new KeysetPage<>(List.of(card), "def"));
+
+        mockMvc.perform(get("/api/cards/status/BLOCKED/cursor")
+                        .param("cursor", "abc")
+                        .param("size", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(12L))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void searchCards_ShouldBindFilterParameters() throws Exception {
+        Card card = new Card();
+        card.setId(13L);
+
+        Mockito.when(cardService.searchCards(argThat((CardSearchFilter f) ->
+                        f.getStatus() == CardStatus.ACTIVE
+                                && f.getOwnerId() == 4L
+                                && "1234".equals(f.getLast4())
+                                && LocalDate.of(2030, 1, 1).equals(f.getExpiresTo())
+                                && new BigDecimal("10.00").equals(f.getBalanceMin())),
+                        isNull(), eq(50)))
+                .thenReturn(new KeysetPage<>(List.of(card), null));
+
+        mockMvc.perform(get("/api/cards/search")
+                        .param("status", "ACTIVE")
+                        .param("ownerId", "4")
+                        .param("last4", "1234")
+                        .param("expiresTo", "2030-01-01")
+                        .param("balanceMin", "10.00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(13L));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void searchCards_ShouldRejectInvalidLast4() throws Exception {
+        mockMvc.perform(get("/api/cards/search").param("last4", "12a4"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(cardService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createCards_ShouldReturnIssuedCards() throws Exception {
+        Card card1 = new Card(21L, "1111222233334444", BigDecimal.ZERO, CardStatus.ACTIVE);
+        Card card2 = new Card(22L, "5555666677778888", BigDecimal.ZERO, CardStatus.ACTIVE);
+
+        Mockito.when(cardService.createCards(eq(List.of(1L, 2L))))
+                .thenReturn(List.of(card1, card2));
+
+        mockMvc.perform(post("/api/cards/create/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ownerIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(21L))
+                .andExpect(jsonPath("$[1].maskedNumber").value("**** **** **** 8888"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.JfrFrameStats;
+import com.example.bankcards.dto.JfrRecordingRequest;
+import com.example.bankcards.dto.JfrRecordingStatus;
+import com.example.bankcards.dto.JfrSummary;
+import com.example.bankcards.exception.RecordingStateException;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.DiagnosticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DiagnosticsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class DiagnosticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DiagnosticsService diagnosticsService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startRecording_ShouldPassSettings() throws Exception {
+        Mockito.when(diagnosticsService.start(any(JfrRecordingRequest.class))).thenReturn(recordingStatus("RUNNING", false));
+
+        mockMvc.perform(post("/api/admin/diagnostics/jfr/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\":\"default\",\"durationSeconds\":60}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.downloadable").value(false));
+
+        ArgumentCaptor<JfrRecordingRequest> captor = ArgumentCaptor.forClass(JfrRecordingRequest.class);
+        Mockito.verify(diagnosticsService).start(captor.capture());
+        assertEquals("default", captor.getValue().getSettings());
+        assertEquals(60L, captor.getValue().getDurationSeconds());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startRecording_ShouldUseProfileSettingsWithoutBody() throws Exception {
+        Mockito.when(diagnosticsService.start(any(JfrRecordingRequest.class))).thenReturn(recordingStatus("RUNNING", false));
+
+        mockMvc.perform(post("/api/admin/diagnostics/jfr/start"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<JfrRecordingRequest> captor = ArgumentCaptor.forClass(JfrRecordingRequest.class);
+        Mockito.verify(diagnosticsService).start(captor.capture());
+        assertEquals("profile", captor.getValue().getSettings());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startRecording_ShouldRejectUnknownSettings() throws Exception {
+        mockMvc.perform(post("/api/admin/diagnostics/jfr/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\":\"verbose\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.settings").value("Допустимые настройки JFR: default или profile"));
+
+        Mockito.verifyNoInteractions(diagnosticsService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stopRecording_ShouldReturnConflictWithoutRecording() throws Exception {
+        Mockito.when(diagnosticsService.stop()).thenThrow(new RecordingStateException("Нет активной записи JFR"));
+
+        mockMvc.perform(post("/api/admin/diagnostics/jfr/stop"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Нет активной записи JFR"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getSummary_ShouldReturnConflictWhileRecording() throws Exception {
+        Mockito.when(diagnosticsService.summarize(20))
+                .thenThrow(new RecordingStateException("Запись JFR ещё идёт, сначала остановите её"));
+
+        mockMvc.perform(get("/api/admin/diagnostics/jfr/summary"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Запись JFR ещё идёт, сначала остановите её"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void downloadRecording_ShouldStreamJfrFile() throws Exception {
+        Path file = Files.write(directory.resolve("bank-rest-1.jfr"), new byte[]{'F', 'L', 'R', 0});
+        Mockito.when(diagnosticsService.getRecordingFile()).thenReturn(file);
+
+        MvcResult result = mockMvc.perform(get("/api/admin/diagnostics/jfr/recording"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bank-rest-1.jfr\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(new byte[]{'F', 'L', 'R', 0}, body);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getSummary_ShouldReturnHotMethodsAndAllocationSites() throws Exception {
+        JfrSummary summary = new JfrSummary("bank-rest-1.jfr", 120, 40, 4096, List.of(
+                new JfrFrameStats("com.example.bankcards.util.CardNumberConverter.convertToEntityAttribute", 30, 0, 25.0)),
+                List.of(new JfrFrameStats("java.util.Arrays.copyOf:3512", 10, 2048, 50.0)));
+        Mockito.when(diagnosticsService.summarize(10)).thenReturn(summary);
+
+        mockMvc.perform(get("/api/admin/diagnostics/jfr/summary").param("top", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executionSamples").value(120))
+                .andExpect(jsonPath("$.hotMethods[0].percent").value(25.0))
+                .andExpect(jsonPath("$.allocationSites[0].bytes").value(2048));
+    }
+
+    private static JfrRecordingStatus recordingStatus(String state, boolean downloadable) {
+        return new JfrRecordingStatus(1, "bank-rest-1.jfr", state, "profile", Instant.now(), null, 60L, 0, downloadable);
+    }
+}
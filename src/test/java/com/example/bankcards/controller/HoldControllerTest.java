@@ -0,0 +1,136 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Hold;
+import com.example.bankcards.entity.HoldStatus;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.HoldService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(HoldController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class HoldControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private HoldService holdService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    private static Hold hold(HoldStatus status) {
+        Hold hold = new Hold();
+        hold.setId(10L);
+        hold.setCard(new Card(1L, "1111222233334444", BigDecimal.valueOf(1000), CardStatus.ACTIVE));
+        hold.setTargetCard(new Card(2L, "5555666677778888", BigDecimal.valueOf(500), CardStatus.ACTIVE));
+        hold.setAmount(BigDecimal.valueOf(100));
+        hold.setStatus(status);
+        hold.setCreatedAt(LocalDateTime.now());
+        hold.setExpiresAt(LocalDateTime.now().plusDays(7));
+        return hold;
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void authorize_ShouldReturnActiveHold() throws Exception {
+        Mockito.when(holdService.authorize(eq(1L), eq(2L), any(BigDecimal.class), eq(3600L), eq("user")))
+                .thenReturn(hold(HoldStatus.ACTIVE));
+
+        mockMvc.perform(post("/api/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromCardId\":1,\"toCardId\":2,\"amount\":100,\"ttlSeconds\":3600}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.fromCardId").value(1))
+                .andExpect(jsonPath("$.toCardId").value(2))
+                .andExpect(jsonPath("$.amount").value(100))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void authorize_ShouldRejectNonPositiveAmount() throws Exception {
+        mockMvc.perform(post("/api/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromCardId\":1,\"toCardId\":2,\"amount\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.amount").exists());
+
+        Mockito.verifyNoInteractions(holdService);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void capture_ShouldCaptureFullHoldWhenBodyIsMissing() throws Exception {
+        Hold captured = hold(HoldStatus.CAPTURED);
+        captured.setTransferId(77L);
+        Mockito.when(holdService.capture(10L, null, "user")).thenReturn(captured);
+
+        mockMvc.perform(post("/api/holds/10/capture"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CAPTURED"))
+                .andExpect(jsonPath("$.transferId").value(77));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void capture_ShouldPassPartialAmount() throws Exception {
+        Mockito.when(holdService.capture(eq(10L), argThat(amount -> amount.compareTo(BigDecimal.valueOf(40)) == 0),
+                        eq("user")))
+                .thenReturn(hold(HoldStatus.CAPTURED));
+
+        mockMvc.perform(post("/api/holds/10/capture")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":40}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CAPTURED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void release_ShouldReturnBadRequestForClosedHold() throws Exception {
+        Mockito.when(holdService.release(10L, "user")).thenThrow(new IllegalStateException("Холд уже закрыт"));
+
+        mockMvc.perform(post("/api/holds/10/release"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Холд уже закрыт"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getHold_ShouldReturnHold() throws Exception {
+        Mockito.when(holdService.getHold(10L, "user")).thenReturn(hold(HoldStatus.RELEASED));
+
+        mockMvc.perform(get("/api/holds/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RELEASED"));
+    }
+
+    @Test
+    @WithMockUser(username = "stranger", roles = "USER")
+    void getHold_ShouldReturnBadRequestForHoldOfAnotherUser() throws Exception {
+        Mockito.when(holdService.getHold(10L, "stranger"))
+                .thenThrow(new SecurityException("Вы не можете управлять холдом другого пользователя"));
+
+        mockMvc.perform(get("/api/holds/10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Вы не можете управлять холдом другого пользователя"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.CardExpiryStats;
+import com.example.bankcards.dto.ScheduledTransferStats;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.CardExpiryService;
+import com.example.bankcards.service.ScheduledTransferExecutor;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(JobController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class JobControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CardExpiryService cardExpiryService;
+
+    @MockitoBean
+    private ScheduledTransferExecutor scheduledTransferExecutor;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getCardExpiryStats_ShouldReturnStats() throws Exception {
+        CardExpiryStats stats = new CardExpiryStats(false, LocalDate.of(2026, 1, 1),
+                LocalDateTime.of(2026, 1, 1, 0, 5), LocalDateTime.of(2026, 1, 1, 0, 6),
+                42, 3, 15, 12000, 100, 9);
+        Mockito.when(cardExpiryService.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/admin/jobs/card-expiry"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(false))
+                .andExpect(jsonPath("$.lastRunExpired").value(42))
+                .andExpect(jsonPath("$.lastProcessedId").value(12000))
+                .andExpect(jsonPath("$.totalExpired").value(100));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void runCardExpiry_ShouldReturnStatsOfCompletedRun() throws Exception {
+        CardExpiryStats stats = new CardExpiryStats();
+        stats.setLastRunExpired(7);
+        stats.setLastRunBatches(2);
+        Mockito.when(cardExpiryService.run(any(LocalDate.class))).thenReturn(stats);
+
+        mockMvc.perform(post("/api/admin/jobs/card-expiry/run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastRunExpired").value(7))
+                .andExpect(jsonPath("$.lastRunBatches").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void runScheduledTransfers_ShouldReturnStatsOfCompletedRun() throws Exception {
+        ScheduledTransferStats stats = new ScheduledTransferStats();
+        stats.setLastRunClaimed(12);
+        stats.setLastRunSucceeded(10);
+        stats.setLastRunRetried(2);
+        Mockito.when(scheduledTransferExecutor.run(any(LocalDateTime.class))).thenReturn(stats);
+
+        mockMvc.perform(post("/api/admin/jobs/scheduled-transfers/run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastRunClaimed").value(12))
+                .andExpect(jsonPath("$.lastRunSucceeded").value(10))
+                .andExpect(jsonPath("$.lastRunRetried").value(2));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.EndpointLatencyStats;
+import com.example.bankcards.dto.LatencyReportResponse;
+import com.example.bankcards.dto.LatencyWindowStats;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.LatencySloService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LatencyController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class LatencyControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LatencySloService latencySloService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getReport_ShouldReturnWindowsPerEndpoint() throws Exception {
+        LatencyWindowStats minute = new LatencyWindowStats(100, 12.5, 180.0, 410.0, 412.0, 2, 0.98, 2.0);
+        LatencyWindowStats hour = new LatencyWindowStats(6000, 11.0, 95.0, 300.0, 900.0, 30, 0.995, 0.5);
+        Mockito.when(latencySloService.getReport()).thenReturn(new LatencyReportResponse(300, 0.99,
+                List.of(new EndpointLatencyStats("POST /api/cards/transfer", minute, hour))));
+
+        mockMvc.perform(get("/api/admin/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sloThresholdMillis").value(300))
+                .andExpect(jsonPath("$.endpoints[0].endpoint").value("POST /api/cards/transfer"))
+                .andExpect(jsonPath("$.endpoints[0].lastMinute.p99Millis").value(180.0))
+                .andExpect(jsonPath("$.endpoints[0].lastMinute.burnRate").value(2.0))
+                .andExpect(jsonPath("$.endpoints[0].lastHour.p999Millis").value(300.0));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.ScheduledRunStatus;
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.ScheduledTransferRun;
+import com.example.bankcards.entity.ScheduledTransferStatus;
+import com.example.bankcards.entity.TransferRecurrence;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.ScheduledTransferService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ScheduledTransferController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ScheduledTransferControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ScheduledTransferService scheduledTransferService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    private static ScheduledTransfer order(ScheduledTransferStatus status) {
+        ScheduledTransfer order = new ScheduledTransfer();
+        order.setId(5L);
+        order.setFromCard(new Card(1L, "1111222233334444", BigDecimal.valueOf(1000), CardStatus.ACTIVE));
+        order.setToCard(new Card(2L, "5555666677778888", BigDecimal.valueOf(500), CardStatus.ACTIVE));
+        order.setAmount(BigDecimal.valueOf(100));
+        order.setRecurrence(TransferRecurrence.MONTHLY);
+        order.setStatus(status);
+        order.setStartAt(LocalDateTime.of(2030, 1, 1, 0, 0));
+        order.setNextRunAt(order.getStartAt());
+        order.setAvailableAt(order.getStartAt());
+        return order;
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void create_ShouldReturnScheduledTransfer() throws Exception {
+        Mockito.when(scheduledTransferService.create(eq(1L), eq(2L), any(BigDecimal.class),
+                        eq(LocalDateTime.of(2030, 1, 1, 0, 0)), eq(TransferRecurrence.MONTHLY), eq("user")))
+                .thenReturn(order(ScheduledTransferStatus.ACTIVE));
+
+        mockMvc.perform(post("/api/scheduled-transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fromCardId":1,"toCardId":2,"amount":100,
+                                 "firstRunAt":"2030-01-01T00:00:00","recurrence":"MONTHLY"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.recurrence").value("MONTHLY"))
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andExpect(jsonPath("$.nextRunAt").value("2030-01-01T00:00:00"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void create_ShouldRejectPastFirstRun() throws Exception {
+        mockMvc.perform(post("/api/scheduled-transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromCardId\":1,\"toCardId\":2,\"amount\":100,\"firstRunAt\":\"2001-01-01T00:00:00\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.firstRunAt").value("Дата первого перевода должна быть в будущем"));
+
+        Mockito.verifyNoInteractions(scheduledTransferService);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRuns_ShouldReturnRunHistory() throws Exception {
+        ScheduledTransferRun run = new ScheduledTransferRun();
+        run.setDueAt(LocalDateTime.of(2030, 1, 1, 0, 0));
+        run.setStatus(ScheduledRunStatus.FAILED);
+        run.setAttempts(5);
+        run.setError("Недостаточно средств");
+        run.setExecutedAt(LocalDateTime.of(2030, 1, 1, 5, 0));
+        Mockito.when(scheduledTransferService.getRuns(5L, 10, "user")).thenReturn(List.of(run));
+
+        mockMvc.perform(get("/api/scheduled-transfers/5/runs").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("FAILED"))
+                .andExpect(jsonPath("$[0].attempts").value(5))
+                .andExpect(jsonPath("$[0].error").value("Недостаточно средств"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void cancel_ShouldReturnCancelledOrder() throws Exception {
+        Mockito.when(scheduledTransferService.cancel(5L, "user")).thenReturn(order(ScheduledTransferStatus.CANCELLED));
+
+        mockMvc.perform(post("/api/scheduled-transfers/5/cancel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    @WithMockUser(username = "stranger", roles = "USER")
+    void cancel_ShouldReturnBadRequestForOrderOfAnotherUser() throws Exception {
+        Mockito.when(scheduledTransferService.cancel(5L, "stranger"))
+                .thenThrow(new SecurityException("Вы не можете управлять плановым переводом другого пользователя"));
+
+        mockMvc.perform(post("/api/scheduled-transfers/5/cancel"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Вы не можете управлять плановым переводом другого пользователя"));
+    }
+}
\ No newline at end of file
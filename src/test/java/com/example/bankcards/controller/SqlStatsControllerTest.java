@@ -0,0 +1,57 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.SqlEndpointStats;
+import com.example.bankcards.dto.SqlStatsResponse;
+import com.example.bankcards.security.JwtService;
+import com.example.bankcards.service.SqlStatsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SqlStatsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class SqlStatsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SqlStatsService sqlStatsService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStats_ShouldReturnPerEndpointReport() throws Exception {
+        SqlStatsResponse stats = new SqlStatsResponse(200, 20, List.of(
+                new SqlEndpointStats("GET /api/cards/user/{userId}", 4, 36, 120, 18, 9.0, 4.5, 12, 7, 0, 1)));
+        Mockito.when(sqlStatsService.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/admin/sql/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chattyThreshold").value(20))
+                .andExpect(jsonPath("$.endpoints[0].endpoint").value("GET /api/cards/user/{userId}"))
+                .andExpect(jsonPath("$.endpoints[0].statements").value(36))
+                .andExpect(jsonPath("$.endpoints[0].chattyRequests").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void resetStats_ShouldClearReport() throws Exception {
+        mockMvc.perform(delete("/api/admin/sql/stats"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(sqlStatsService).reset();
+    }
+}
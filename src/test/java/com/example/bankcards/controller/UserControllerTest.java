@@ -1,5 +1,6 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.dto.UserCreateRequest;
 import com.example.bankcards.dto.UserResponse;
 import com.example.bankcards.dto.UserUpdateRequest;
@@ -16,7 +17,9 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -41,18 +44,41 @@ class UserControllerTest {
     private JwtService jwtService;
 
     @Test
-    void getAllUsers_ShouldReturnList() throws Exception {
+    void getUsers_ShouldReturnKeysetPage() throws Exception {
         UserResponse resp = new UserResponse(1L, "admin", Role.ADMIN);
-        when(userService.getAllUsers()).thenReturn(List.of(resp));
+        when(userService.getUsers(eq("abc"), eq(20), eq("ad")))
+                .thenReturn(new KeysetPage<>(List.of(resp), "next"));
 
         mockMvc.perform(get("/api/users")
+                        .param("cursor", "abc")
+                        .param("size", "20")
+                        .param("usernamePrefix", "ad")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].username").value("admin"))
-                .andExpect(jsonPath("$[0].role").value("ADMIN"));
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].username").value("admin"))
+                .andExpect(jsonPath("$.content[0].role").value("ADMIN"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getUsers(eq("abc"), eq(20), eq("ad"));
+    }
+
+    @Test
+    void exportUsers_ShouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1,\"username\":\"admin\",\"role\":\"ADMIN\"}\n".getBytes());
+            return null;
+        }).when(userService).exportUsers(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1,\"username\":\"admin\",\"role\":\"ADMIN\"}\n"));
     }
 
     @Test
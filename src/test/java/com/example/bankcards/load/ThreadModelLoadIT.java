@@ -0,0 +1,239 @@
+package com.example.bankcards.load;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class ThreadModelLoadIT {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModelLoadIT.class);
+
+    private static final int CLIENTS = Integer.getInteger("load-test.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load-test.requests", 50);
+    private static final int POOL_SIZE = Integer.getInteger("load-test.pool-size", 20);
+    private static final int CARDS = CLIENTS * 2;
+
+    private static final List<EmbeddedPostgres> DATABASES = new CopyOnWriteArrayList<>();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "100")
+                .start();
+        DATABASES.add(postgres);
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> POOL_SIZE);
+        registry.add("spring.datasource.hikari.minimum-idle", () -> POOL_SIZE);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        for (EmbeddedPostgres postgres : DATABASES) {
+            postgres.close();
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    @DirtiesContext
+    class PlatformThreads extends LoadScenario {
+        @Test
+        void cardListingAndTransfers() throws Exception {
+            run("platform");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("virtual-threads")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DirtiesContext
+    class VirtualThreads extends LoadScenario {
+        @Test
+        void cardListingAndTransfers() throws Exception {
+            run("virtual");
+        }
+    }
+
+    abstract static class LoadScenario {
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(16))
+                .build();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private CardRepository cardRepository;
+
+        @Autowired
+        private BCryptPasswordEncoder passwordEncoder;
+
+        void run(String mode) throws Exception {
+            String username = "load-" + UUID.randomUUID();
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode("secret"));
+            user.setRole(Role.USER);
+            user = userRepository.save(user);
+
+            List<Card> cards = new ArrayList<>(CARDS);
+            for (int i = 0; i < CARDS; i++) {
+                Card card = new Card();
+                card.setOwner(user);
+                card.setCardNumber(String.format("5500%012d", i));
+                card.setExpirationDate(LocalDate.now().plusYears(3));
+                card.setStatus(CardStatus.ACTIVE);
+                card.setBalance(new BigDecimal("1000000.00"));
+                cards.add(card);
+            }
+            long[] cardIds = cardRepository.saveAll(cards).stream().mapToLong(Card::getId).toArray();
+
+            HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"" + username + "\",\"password\":\"secret\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, login.statusCode(), login.body());
+            JsonNode auth = objectMapper.readTree(login.body());
+            String token = auth.get("token").asText();
+            long userId = auth.get("id").asLong();
+
+            Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+            AtomicInteger errors = new AtomicInteger();
+            AtomicLong completed = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+            for (int c = 0; c < CLIENTS; c++) {
+                long ownCard = cardIds[2 * c];
+                long otherCard = cardIds[2 * c + 1];
+                clients.execute(() -> {
+                    try {
+                        start.await();
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            HttpRequest request;
+                            String endpoint;
+                            if (r % 2 == 0) {
+                                endpoint = "listing";
+                                request = HttpRequest.newBuilder(uri("/api/cards/user/" + userId + "?size=20"))
+                                        .header("Authorization", "Bearer " + token)
+                                        .GET()
+                                        .build();
+                            } else {
+                                endpoint = "transfer";
+                                boolean forward = r % 4 == 1;
+                                request = HttpRequest.newBuilder(uri("/api/cards/transfer"))
+                                        .header("Authorization", "Bearer " + token)
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString("{\"fromCardId\":" + (forward ? ownCard : otherCard)
+                                                + ",\"toCardId\":" + (forward ? otherCard : ownCard) + ",\"amount\":0.01}"))
+                                        .build();
+                            }
+                            long started = System.nanoTime();
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            latencies.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>())
+                                    .add(System.nanoTime() - started);
+                            if (response.statusCode() != 200 && errors.getAndIncrement() == 0) {
+                                logger.warn("{} failed: {} {}", endpoint, response.statusCode(), response.body());
+                            }
+                            completed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                });
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(10, TimeUnit.MINUTES));
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            logger.info("[{}] clients={} requests={} errors={} throughput={} req/s",
+                    mode, CLIENTS, completed.get(), errors.get(), String.format("%.1f", completed.get() / seconds));
+            latencies.forEach((endpoint, values) -> {
+                long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+                logger.info("[{}] {}: p50={}ms p95={}ms p99={}ms max={}ms", mode, endpoint,
+                        millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), millis(sorted, 1.0));
+            });
+
+            assertEquals(0, errors.get());
+            BigDecimal total = cardRepository.findAllById(Arrays.stream(cardIds).boxed().toList()).stream()
+                    .map(Card::getBalance)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(0, total.compareTo(new BigDecimal("1000000.00").multiply(BigDecimal.valueOf(CARDS))));
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+
+        private static String millis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return "-";
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+            return String.format("%.1f", sorted[Math.max(index, 0)] / 1e6);
+        }
+    }
+}
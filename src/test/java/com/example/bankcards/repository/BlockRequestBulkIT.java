@@ -0,0 +1,255 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.BlockRequestBulkRequest;
+import com.example.bankcards.dto.BlockRequestBulkResponse;
+import com.example.bankcards.dto.BlockRequestOutcome;
+import com.example.bankcards.dto.BulkAction;
+import com.example.bankcards.dto.BulkOutcome;
+import com.example.bankcards.entity.BlockRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.RequestStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.service.BlockRequestService;
+import com.example.bankcards.service.OutboxPublisher;
+import com.example.bankcards.util.CardEncryptionProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardEncryptionProperties.class, BlockRequestService.class, OutboxPublisher.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class BlockRequestBulkIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong(4000_0000_0000_0000L);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private BlockRequestService blockRequestService;
+
+    @Autowired
+    private BlockRequestRepository blockRequestRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private User owner;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        owner = tx.execute(status -> {
+            User user = new User();
+            user.setUsername("bulk-" + UUID.randomUUID());
+            user.setPassword("x");
+            user.setRole(Role.USER);
+            return userRepository.save(user);
+        });
+    }
+
+    private Card createCard() {
+        return tx.execute(status -> {
+            Card card = new Card();
+            card.setCardNumber(String.valueOf(CARD_NUMBERS.incrementAndGet()));
+            card.setOwner(userRepository.getReferenceById(owner.getId()));
+            card.setExpirationDate(LocalDate.now().plusYears(3));
+            return cardRepository.save(card);
+        });
+    }
+
+    private BlockRequest createRequest(Card card, RequestStatus status, LocalDateTime createdAt) {
+        return tx.execute(s -> {
+            BlockRequest request = new BlockRequest();
+            request.setCard(cardRepository.getReferenceById(card.getId()));
+            request.setStatus(status);
+            request.setCreatedAt(createdAt);
+            return blockRequestRepository.save(request);
+        });
+    }
+
+    private String statusOf(BlockRequest request) {
+        return jdbcTemplate.queryForObject("SELECT status FROM block_requests WHERE id = ?", String.class, request.getId());
+    }
+
+    @Test
+    void approveByIds_ShouldBlockCardsAndReportSkippedRequests() {
+        Card first = createCard();
+        Card second = createCard();
+        Card third = createCard();
+        BlockRequest pending1 = createRequest(first, RequestStatus.PENDING, LocalDateTime.now());
+        BlockRequest pending2 = createRequest(second, RequestStatus.PENDING, LocalDateTime.now());
+        BlockRequest rejected = createRequest(third, RequestStatus.REJECTED, LocalDateTime.now());
+        tx.execute(status -> cardRepository.findById(first.getId()).orElseThrow());
+
+        BlockRequestBulkResponse response = blockRequestService.bulkResolve(new BlockRequestBulkRequest(
+                BulkAction.APPROVE, List.of(pending1.getId(), pending2.getId(), rejected.getId(), -1L), null));
+
+        assertEquals(2, response.getProcessed());
+        assertEquals(2, response.getBlockedCards());
+        Map<Long, BulkOutcome> outcomes = response.getOutcomes().stream()
+                .collect(Collectors.toMap(BlockRequestOutcome::getId, BlockRequestOutcome::getOutcome));
+        assertEquals(BulkOutcome.PROCESSED, outcomes.get(pending1.getId()));
+        assertEquals(BulkOutcome.PROCESSED, outcomes.get(pending2.getId()));
+        assertEquals(BulkOutcome.ALREADY_PROCESSED, outcomes.get(rejected.getId()));
+        assertEquals(BulkOutcome.NOT_FOUND, outcomes.get(-1L));
+
+        assertEquals("APPROVED", statusOf(pending1));
+        assertEquals("APPROVED", statusOf(pending2));
+        assertEquals("REJECTED", statusOf(rejected));
+        assertEquals(CardStatus.BLOCKED, tx.execute(status -> cardRepository.findById(first.getId()).orElseThrow()).getStatus());
+        assertEquals(CardStatus.BLOCKED, tx.execute(status -> cardRepository.findById(second.getId()).orElseThrow()).getStatus());
+        assertEquals(CardStatus.ACTIVE, tx.execute(status -> cardRepository.findById(third.getId()).orElseThrow()).getStatus());
+        assertEquals(List.of("BLOCK_REQUEST_APPROVED", "BLOCK_REQUEST_APPROVED", "CARD_STATUS_CHANGED", "CARD_STATUS_CHANGED"),
+                jdbcTemplate.queryForList("SELECT event_type FROM outbox WHERE aggregate_id IN (?, ?, ?, ?) ORDER BY id",
+                        String.class, pending1.getId(), pending2.getId(), first.getId(), second.getId()));
+    }
+
+    @Test
+    void approveByIds_ShouldPublishStatusChangeOnlyForCardsActuallyBlocked() {
+        Card active = createCard();
+        Card alreadyBlocked = createCard();
+        BlockRequest pending1 = createRequest(active, RequestStatus.PENDING, LocalDateTime.now());
+        BlockRequest pending2 = createRequest(alreadyBlocked, RequestStatus.PENDING, LocalDateTime.now());
+        jdbcTemplate.update("UPDATE cards SET status = 'BLOCKED' WHERE id = ?", alreadyBlocked.getId());
+
+        BlockRequestBulkResponse response = blockRequestService.bulkResolve(new BlockRequestBulkRequest(
+                BulkAction.APPROVE, List.of(pending1.getId(), pending2.getId()), null));
+
+        assertEquals(2, response.getProcessed());
+        assertEquals(1, response.getBlockedCards());
+        assertEquals(List.of(active.getId()), jdbcTemplate.queryForList(
+                "SELECT aggregate_id FROM outbox WHERE event_type = 'CARD_STATUS_CHANGED' AND aggregate_id IN (?, ?)",
+                Long.class, active.getId(), alreadyBlocked.getId()));
+    }
+
+    @Test
+    void approveRequest_ShouldCompareAgainstLockedCardStatus() {
+        Card card = createCard();
+        BlockRequest pending = createRequest(card, RequestStatus.PENDING, LocalDateTime.now());
+        tx.execute(status -> cardRepository.findById(card.getId()).orElseThrow());
+        jdbcTemplate.update("UPDATE cards SET status = 'BLOCKED' WHERE id = ?", card.getId());
+
+        blockRequestService.approveRequest(pending.getId(), "admin");
+
+        assertEquals("APPROVED", statusOf(pending));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox WHERE event_type = 'CARD_STATUS_CHANGED' AND aggregate_id = ?",
+                Integer.class, card.getId()));
+    }
+
+    @Test
+    void rejectByFilter_ShouldOnlyTouchOlderPendingRequests() {
+        Card card = createCard();
+        Card other = createCard();
+        BlockRequest old = createRequest(card, RequestStatus.PENDING, LocalDateTime.now().minusDays(2));
+        BlockRequest recent = createRequest(other, RequestStatus.PENDING, LocalDateTime.now());
+
+        BlockRequestBulkResponse response = blockRequestService.bulkResolve(new BlockRequestBulkRequest(
+                BulkAction.REJECT, null, LocalDateTime.now().minusDays(1)));
+
+        assertTrue(response.getOutcomes().stream().anyMatch(o -> o.getId().equals(old.getId())));
+        assertTrue(response.getOutcomes().stream().noneMatch(o -> o.getId().equals(recent.getId())));
+        assertEquals("REJECTED", statusOf(old));
+        assertEquals("PENDING", statusOf(recent));
+        assertEquals(CardStatus.ACTIVE, tx.execute(status -> cardRepository.findById(card.getId()).orElseThrow()).getStatus());
+    }
+
+    @Test
+    void createRequest_ShouldKeepSinglePendingRequestPerCardUnderConcurrency() throws Exception {
+        Card card = createCard();
+        int clients = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return blockRequestService.createRequest(card.getId()).getId();
+                }));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<Long> future : futures) {
+                ids.add(future.get(30, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, ids.size());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM block_requests WHERE card_id = ?", Integer.class, card.getId()));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BlockRequest pending = blockRequestRepository.findFirstByCardIdAndStatus(card.getId(), RequestStatus.PENDING)
+                .orElseThrow();
+        blockRequestService.rejectRequest(pending.getId(), "admin");
+        BlockRequest next = blockRequestService.createRequest(card.getId());
+
+        assertNotEquals(pending.getId(), next.getId());
+        assertEquals("PENDING", statusOf(next));
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.BlockRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.RequestStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.service.BlockRequestService;
+import com.example.bankcards.service.OutboxPublisher;
+import com.example.bankcards.util.CardEncryptionProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardEncryptionProperties.class, BlockRequestService.class, OutboxPublisher.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class BlockRequestClaimIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong(4100_0000_0000_0000L);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private BlockRequestService blockRequestService;
+
+    @Autowired
+    private BlockRequestRepository blockRequestRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("UPDATE block_requests SET status = 'REJECTED' WHERE status = 'PENDING'");
+    }
+
+    private List<BlockRequest> createPending(int count) {
+        return tx.execute(status -> {
+            User owner = new User();
+            owner.setUsername("claim-" + UUID.randomUUID());
+            owner.setPassword("x");
+            owner.setRole(Role.USER);
+            userRepository.save(owner);
+
+            List<BlockRequest> requests = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Card card = new Card();
+                card.setCardNumber(String.valueOf(CARD_NUMBERS.incrementAndGet()));
+                card.setOwner(owner);
+                card.setExpirationDate(LocalDate.now().plusYears(3));
+                cardRepository.save(card);
+
+                BlockRequest request = new BlockRequest();
+                request.setCard(card);
+                request.setCreatedAt(LocalDateTime.now().minusMinutes(count - i));
+                requests.add(blockRequestRepository.save(request));
+            }
+            return requests;
+        });
+    }
+
+    @Test
+    void concurrentClaims_ShouldLeaseDisjointRequests() throws Exception {
+        createPending(30);
+        int workers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<BlockRequest>>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                String admin = "admin" + w;
+                Callable<List<BlockRequest>> claim = () -> {
+                    start.await();
+                    return blockRequestService.claim(10, admin);
+                };
+                futures.add(executor.submit(claim));
+            }
+            start.countDown();
+
+            Set<Long> claimed = new HashSet<>();
+            int total = 0;
+            for (Future<List<BlockRequest>> future : futures) {
+                for (BlockRequest request : future.get()) {
+                    claimed.add(request.getId());
+                    total++;
+                }
+            }
+
+            assertEquals(30, total);
+            assertEquals(30, claimed.size());
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM block_requests WHERE status = 'PENDING' AND claimed_by IS NULL", Integer.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredLease_ShouldBeClaimableAgain() {
+        List<BlockRequest> created = createPending(2);
+
+        List<BlockRequest> first = blockRequestService.claim(1, "alice");
+        assertEquals(List.of(created.get(0).getId()), first.stream().map(BlockRequest::getId).toList());
+        assertEquals("alice", first.get(0).getClaimedBy());
+
+        List<BlockRequest> second = blockRequestService.claim(5, "bob");
+        assertEquals(List.of(created.get(1).getId()), second.stream().map(BlockRequest::getId).toList());
+
+        jdbcTemplate.update("UPDATE block_requests SET claimed_until = now() - interval '1 minute' WHERE id = ?",
+                created.get(0).getId());
+
+        List<BlockRequest> third = blockRequestService.claim(5, "bob");
+        assertEquals(List.of(created.get(0).getId()), third.stream().map(BlockRequest::getId).toList());
+        assertEquals("bob", third.get(0).getClaimedBy());
+    }
+
+    @Test
+    void approve_ShouldRespectActiveClaim() {
+        BlockRequest request = createPending(1).get(0);
+        blockRequestService.claim(1, "alice");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> blockRequestService.approveRequest(request.getId(), "bob"));
+        assertEquals("Заявка взята в работу администратором alice", exception.getMessage());
+
+        BlockRequest approved = blockRequestService.approveRequest(request.getId(), "alice");
+        assertEquals(RequestStatus.APPROVED, approved.getStatus());
+        assertThrows(IllegalStateException.class, () -> blockRequestService.rejectRequest(request.getId(), "alice"));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.CardExpiryStats;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.JobCheckpoint;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.service.CardExpiryService;
+import com.example.bankcards.service.OutboxPublisher;
+import com.example.bankcards.util.CardEncryptionProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.cards.expiry.batch-size=3")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardEncryptionProperties.class, CardExpiryService.class, OutboxPublisher.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class CardExpiryIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong(4000_0000_0000_0000L);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private CardExpiryService cardExpiryService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private User owner;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        checkpointRepository.deleteAll();
+        owner = tx.execute(status -> {
+            User user = new User();
+            user.setUsername("expiry-" + UUID.randomUUID());
+            user.setPassword("x");
+            user.setRole(Role.USER);
+            return userRepository.save(user);
+        });
+    }
+
+    private Card createCard(LocalDate expirationDate, CardStatus status) {
+        return tx.execute(s -> {
+            Card card = new Card();
+            card.setCardNumber(String.valueOf(CARD_NUMBERS.incrementAndGet()));
+            card.setOwner(userRepository.getReferenceById(owner.getId()));
+            card.setExpirationDate(expirationDate);
+            card.setStatus(status);
+            return cardRepository.save(card);
+        });
+    }
+
+    private CardStatus statusOf(Card card) {
+        return cardRepository.findById(card.getId()).orElseThrow().getStatus();
+    }
+
+    @Test
+    void run_ShouldExpireOnlyActiveDueCardsInBatches() {
+        LocalDate today = LocalDate.now();
+        Card due1 = createCard(today.minusDays(1), CardStatus.ACTIVE);
+        Card valid = createCard(today, CardStatus.ACTIVE);
+        Card blocked = createCard(today.minusMonths(2), CardStatus.BLOCKED);
+        Card due2 = createCard(today.minusYears(1), CardStatus.ACTIVE);
+        Card future = createCard(today.plusYears(2), CardStatus.ACTIVE);
+        assertEquals(CardStatus.ACTIVE, statusOf(due1));
+
+        CardExpiryStats stats = cardExpiryService.run(today);
+
+        assertEquals(CardStatus.EXPIRED, statusOf(due1));
+        assertEquals(CardStatus.EXPIRED, statusOf(due2));
+        assertEquals(CardStatus.ACTIVE, statusOf(valid));
+        assertEquals(CardStatus.ACTIVE, statusOf(future));
+        assertEquals(CardStatus.BLOCKED, statusOf(blocked));
+        assertTrue(stats.getLastRunExpired() >= 2);
+        assertTrue(stats.getLastRunBatches() >= 2);
+        assertNotNull(stats.getLastRunFinishedAt());
+
+        long maxId = cardRepository.findMaxId();
+        JobCheckpoint checkpoint = checkpointRepository.findById(CardExpiryService.JOB_NAME).orElseThrow();
+        assertEquals(maxId, checkpoint.getLastId());
+        assertEquals(today, checkpoint.getRunDate());
+        assertEquals(maxId, stats.getLastProcessedId());
+
+        CardExpiryStats rerun = cardExpiryService.run(today);
+        assertEquals(0, rerun.getLastRunExpired());
+        assertEquals(0, rerun.getLastRunBatches());
+    }
+
+    @Test
+    void run_ShouldResumeFromCheckpointOfSameDay() {
+        LocalDate today = LocalDate.now();
+        Card beforeCheckpoint = createCard(today.minusDays(3), CardStatus.ACTIVE);
+        Card afterCheckpoint = createCard(today.minusDays(3), CardStatus.ACTIVE);
+        checkpointRepository.save(new JobCheckpoint(CardExpiryService.JOB_NAME,
+                beforeCheckpoint.getId(), today, LocalDateTime.now()));
+
+        cardExpiryService.run(today);
+
+        assertEquals(CardStatus.ACTIVE, statusOf(beforeCheckpoint));
+        assertEquals(CardStatus.EXPIRED, statusOf(afterCheckpoint));
+    }
+
+    @Test
+    void run_ShouldIgnoreCheckpointOfPreviousDay() {
+        LocalDate today = LocalDate.now();
+        Card due = createCard(today.minusDays(3), CardStatus.ACTIVE);
+        checkpointRepository.save(new JobCheckpoint(CardExpiryService.JOB_NAME,
+                cardRepository.findMaxId(), today.minusDays(1), LocalDateTime.now()));
+
+        cardExpiryService.run(today);
+
+        assertEquals(CardStatus.EXPIRED, statusOf(due));
+    }
+
+    @Test
+    void run_ShouldNotDuplicateWorkWhileAnotherInstanceHoldsTheLock() throws Exception {
+        LocalDate today = LocalDate.now();
+        Card due = createCard(today.minusDays(3), CardStatus.ACTIVE);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))::text", String.class,
+                    CardExpiryService.JOB_NAME);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        other.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        CardExpiryStats blocked = cardExpiryService.run(today);
+        release.countDown();
+        other.join();
+
+        assertEquals(0, blocked.getLastRunBatches());
+        assertEquals(CardStatus.ACTIVE, statusOf(due));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox WHERE event_type = 'CARD_STATUS_CHANGED' AND aggregate_id = ?",
+                Integer.class, due.getId()));
+
+        cardExpiryService.run(today);
+
+        assertEquals(CardStatus.EXPIRED, statusOf(due));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox WHERE event_type = 'CARD_STATUS_CHANGED' AND aggregate_id = ?",
+                Integer.class, due.getId()));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.util.CardEncryptionProperties;
+import com.example.bankcards.util.CardNumberConverter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.bankcards.repository.CardSearchQueryPlanIT$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CardEncryptionProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class CardSearchQueryPlanIT {
+    private static final int USERS = 20_000;
+    private static final int CARDS = 200_000;
+
+    private static EmbeddedPostgres postgres;
+    private static boolean seeded;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CardEncryptionProperties encryptionProperties;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (username, password, role) " +
+                "SELECT 'user' || g, 'x', 'USER' FROM generate_series(1, ?) g", USERS);
+
+        CardNumberConverter converter = new CardNumberConverter(encryptionProperties);
+        String[] numbers = new String[CARDS];
+        for (int g = 1; g <= CARDS; g++) {
+            numbers[g - 1] = converter.convertToDatabaseColumn(String.format("4000%012d", g));
+        }
+        jdbcTemplate.update("""
+                INSERT INTO cards (card_number, owner_id, expiration_date, status, balance, card_last4)
+                SELECT t.num,
+                       owners.ids[1 + (g * g) % ?],
+                       current_date + (g * 1825 / ?)::int - 365,
+                       CASE WHEN g % 50 = 0 THEN 'EXPIRED' WHEN g % 12 = 0 THEN 'BLOCKED' ELSE 'ACTIVE' END,
+                       (g % 100000) / 10.0,
+                       lpad((g % 10000)::text, 4, '0')
+                FROM unnest(?::text[]) WITH ORDINALITY AS t(num, g),
+                     (SELECT array_agg(id ORDER BY id) AS ids FROM users WHERE role = 'USER') owners
+                """, ps -> {
+            ps.setInt(1, USERS);
+            ps.setInt(2, CARDS);
+            ps.setArray(3, ps.getConnection().createArrayOf("text", numbers));
+        });
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE cards");
+        seeded = true;
+    }
+
+    @Test
+    void statusOnly_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_status_id", f -> f.setStatus(CardStatus.BLOCKED));
+    }
+
+    @Test
+    void statusAndExpiryRange_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_active_expiration_id", f -> {
+            f.setStatus(CardStatus.ACTIVE);
+            f.setExpiresFrom(LocalDate.now());
+            f.setExpiresTo(LocalDate.now().plusDays(2));
+        });
+    }
+
+    @Test
+    void ownerOnly_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_owner_status_id", f -> f.setOwnerId(userId(42)));
+    }
+
+    @Test
+    void ownerAndStatus_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_owner_status_id", f -> {
+            f.setOwnerId(userId(42));
+            f.setStatus(CardStatus.ACTIVE);
+        });
+    }
+
+    @Test
+    void last4_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_last4_id", f -> f.setLast4("1234"));
+    }
+
+    @Test
+    void balanceRange_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_balance_id", f -> {
+            f.setBalanceMin(new BigDecimal("9000.00"));
+            f.setBalanceMax(new BigDecimal("9010.00"));
+        });
+    }
+
+    @Test
+    void statusBalanceAndExpiry_ShouldUseIndex() {
+        assertUsesIndex("idx_cards_active_expiration_id", f -> {
+            f.setStatus(CardStatus.ACTIVE);
+            f.setBalanceMin(new BigDecimal("5000.00"));
+            f.setExpiresFrom(LocalDate.now());
+            f.setExpiresTo(LocalDate.now().plusDays(2));
+        });
+    }
+
+    private long userId(int offset) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE role = 'USER' ORDER BY id OFFSET ? LIMIT 1", Long.class, offset);
+    }
+
+    private void assertUsesIndex(String index, Consumer<CardSearchFilter> setup) {
+        CardSearchFilter filter = new CardSearchFilter();
+        setup.accept(filter);
+
+        CapturingInspector.captured.clear();
+        cardRepository.findBy(CardSpecifications.matching(filter, 0L),
+                q -> q.slice(PageRequest.of(0, 50, Sort.by("id"))));
+
+        String sql = CapturingInspector.captured.stream()
+                .filter(s -> s.contains("from cards"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("Запрос к cards не перехвачен"));
+        String explained = sql
+                .replace("offset ? rows", "offset 0 rows")
+                .replace("fetch first ? rows", "fetch first 51 rows");
+        assertFalse(explained.contains("?"), "Неожиданные параметры: " + sql);
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + explained, String.class);
+        String planText = String.join("\n", plan);
+        assertFalse(planText.contains("Seq Scan on cards"), "Последовательное сканирование:\n" + planText);
+        assertFalse(planText.contains("cards_pkey"), "Обход по первичному ключу с фильтром:\n" + planText);
+        assertTrue(planText.contains(" " + index + " "), "Ожидался индекс " + index + ":\n" + planText);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> captured = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            captured.add(sql);
+            return sql;
+        }
+    }
+}
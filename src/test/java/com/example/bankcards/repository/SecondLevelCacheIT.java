@@ -0,0 +1,154 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.util.CardEncryptionProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CardEncryptionProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class SecondLevelCacheIT {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private User createUser() {
+        return tx.execute(status -> {
+            User user = new User();
+            user.setUsername("cache-" + UUID.randomUUID());
+            user.setPassword("x");
+            user.setRole(Role.USER);
+            return userRepository.save(user);
+        });
+    }
+
+    private Card createCard(User owner) {
+        return tx.execute(status -> {
+            Card card = new Card();
+            card.setCardNumber(String.format("4000%012d", Math.abs(UUID.randomUUID().getMostSignificantBits() % 1_000_000_000_000L)));
+            card.setOwner(userRepository.getReferenceById(owner.getId()));
+            card.setExpirationDate(LocalDate.now().plusYears(3));
+            card.setBalance(new BigDecimal("100.00"));
+            return cardRepository.save(card);
+        });
+    }
+
+    private Card loadCard(Long id) {
+        return tx.execute(status -> cardRepository.findById(id).orElseThrow());
+    }
+
+    @Test
+    void findById_ShouldBeServedFromCache_AfterFirstLoad() {
+        Card card = createCard(createUser());
+        statistics.clear();
+
+        loadCard(card.getId());
+        loadCard(card.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("cards").getHitCount());
+    }
+
+    @Test
+    void statusChange_ShouldBeVisibleThroughCache() {
+        Card card = createCard(createUser());
+        loadCard(card.getId());
+
+        tx.executeWithoutResult(status -> {
+            Card managed = cardRepository.findById(card.getId()).orElseThrow();
+            managed.setStatus(CardStatus.BLOCKED);
+            managed.setBalance(new BigDecimal("40.00"));
+        });
+        statistics.clear();
+
+        Card reloaded = loadCard(card.getId());
+
+        assertEquals(CardStatus.BLOCKED, reloaded.getStatus());
+        assertEquals(0, new BigDecimal("40.00").compareTo(reloaded.getBalance()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByUsername_ShouldUseQueryCache_UntilUsersChange() {
+        User user = createUser();
+        statistics.clear();
+
+        tx.execute(status -> userRepository.findByUsername(user.getUsername()));
+        tx.execute(status -> userRepository.findByUsername(user.getUsername()));
+
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        tx.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow().setRole(Role.ADMIN));
+        statistics.clear();
+
+        User reloaded = tx.execute(status -> userRepository.findByUsername(user.getUsername()).orElseThrow());
+
+        assertEquals(Role.ADMIN, reloaded.getRole());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+}
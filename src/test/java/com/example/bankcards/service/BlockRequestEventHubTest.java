@@ -0,0 +1,117 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.BlockRequestResponse;
+import com.example.bankcards.entity.RequestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockRequestEventHubTest {
+    private final BlockRequestEventHub hub = new BlockRequestEventHub(2, Duration.ofMinutes(1), 2, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    private BlockRequestChangedEvent event(long id, BlockRequestChangedEvent.Type type, RequestStatus status) {
+        return new BlockRequestChangedEvent(type, new BlockRequestResponse(id, id * 10, status, null, null));
+    }
+
+    @Test
+    void subscribe_ShouldSendSnapshotBeforeIncrementalEvents() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        BlockRequestResponse pending = new BlockRequestResponse(1L, 10L, RequestStatus.PENDING, null, null);
+
+        // Act
+        hub.subscribe(emitter, () -> List.of(pending));
+        hub.onChange(event(2L, BlockRequestChangedEvent.Type.CREATED, RequestStatus.PENDING));
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.events.size() == 2);
+        assertTrue(emitter.events.get(0).startsWith("event:snapshot"));
+        assertTrue(emitter.events.get(1).startsWith("event:created"));
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    @Test
+    void publish_ShouldDropSlowSubscriber_WhenBufferOverflows() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        hub.subscribe(slow, List::of);
+        hub.subscribe(fast, List::of);
+
+        // Act
+        for (long id = 1; id <= 5; id++) {
+            hub.onChange(event(id, BlockRequestChangedEvent.Type.APPROVED, RequestStatus.APPROVED));
+            await().atMost(Duration.ofSeconds(5)).until(fast.events::size, size -> size >= 1);
+        }
+
+        // Assert
+        assertEquals(1, hub.getSubscriberCount());
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> fast.events.size() == 6);
+    }
+
+    @Test
+    void publish_ShouldEvictStalledSubscriber_WithoutStarvingOthers() {
+        // Arrange
+        BlockRequestEventHub singleThreaded = new BlockRequestEventHub(8, Duration.ofMinutes(1), 1,
+                Duration.ofMillis(200));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        try {
+            singleThreaded.subscribe(stalled, List::of);
+            singleThreaded.subscribe(fast, List::of);
+
+            // Act
+            for (long id = 1; id <= 3; id++) {
+                singleThreaded.onChange(event(id, BlockRequestChangedEvent.Type.CREATED, RequestStatus.PENDING));
+            }
+
+            // Assert
+            await().atMost(Duration.ofSeconds(5)).until(() -> fast.events.size() == 4);
+            assertEquals(1, singleThreaded.getSubscriberCount());
+            assertTrue(stalled.events.isEmpty());
+        } finally {
+            release.countDown();
+            singleThreaded.shutdown();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -1,23 +1,36 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.BlockRequestBulkRequest;
+import com.example.bankcards.dto.BlockRequestBulkResponse;
+import com.example.bankcards.dto.BlockRequestOutcome;
+import com.example.bankcards.dto.BulkAction;
+import com.example.bankcards.dto.BulkOutcome;
 import com.example.bankcards.entity.BlockRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.RequestStatus;
 import com.example.bankcards.repository.BlockRequestRepository;
+import com.example.bankcards.repository.BlockRequestRepository.ProcessedBlockRequest;
 import com.example.bankcards.repository.CardRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +41,20 @@ class BlockRequestServiceTest {
     @Mock
     private CardRepository cardRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
     private BlockRequestService blockRequestService;
 
+    @BeforeEach
+    void setUp() {
+        blockRequestService = new BlockRequestService(
+                blockRequestRepository, cardRepository, eventPublisher, outboxPublisher, Duration.ofMinutes(5));
+    }
+
     @Test
     void createRequest_ShouldSuccessfullyCreateRequest() {
         // Arrange
@@ -39,12 +63,15 @@ class BlockRequestServiceTest {
         card.setId(cardId);
         card.setStatus(CardStatus.ACTIVE);
 
+        BlockRequest inserted = new BlockRequest();
+        inserted.setId(1L);
+        inserted.setStatus(RequestStatus.PENDING);
+
         when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
-        when(blockRequestRepository.save(any(BlockRequest.class))).thenAnswer(invocation -> {
-            BlockRequest request = invocation.getArgument(0);
-            request.setId(1L);
-            return request;
-        });
+        when(blockRequestRepository.findFirstByCardIdAndStatus(cardId, RequestStatus.PENDING))
+                .thenReturn(Optional.empty());
+        when(blockRequestRepository.insertPendingIfAbsent(eq(cardId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(inserted));
 
         // Act
         BlockRequest result = blockRequestService.createRequest(cardId);
@@ -54,7 +81,63 @@ class BlockRequestServiceTest {
         assertEquals(card, result.getCard());
         assertEquals(RequestStatus.PENDING, result.getStatus());
         verify(cardRepository, times(1)).findById(cardId);
-        verify(blockRequestRepository, times(1)).save(any(BlockRequest.class));
+        verify(blockRequestRepository, times(1)).insertPendingIfAbsent(eq(cardId), any(LocalDateTime.class));
+        verify(eventPublisher, times(1)).publishEvent(any(BlockRequestChangedEvent.class));
+    }
+
+    @Test
+    void createRequest_ShouldReturnExistingPendingRequest() {
+        // Arrange
+        Long cardId = 1L;
+        Card card = new Card();
+        card.setId(cardId);
+        card.setStatus(CardStatus.ACTIVE);
+
+        BlockRequest existing = new BlockRequest();
+        existing.setId(7L);
+        existing.setCard(card);
+        existing.setStatus(RequestStatus.PENDING);
+
+        when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+        when(blockRequestRepository.findFirstByCardIdAndStatus(cardId, RequestStatus.PENDING))
+                .thenReturn(Optional.of(existing));
+
+        // Act
+        BlockRequest result = blockRequestService.createRequest(cardId);
+
+        // Assert
+        assertSame(existing, result);
+        verify(blockRequestRepository, never()).insertPendingIfAbsent(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createRequest_ShouldReturnConcurrentlyInsertedRequestOnConflict() {
+        // Arrange
+        Long cardId = 1L;
+        Card card = new Card();
+        card.setId(cardId);
+        card.setStatus(CardStatus.ACTIVE);
+
+        BlockRequest winner = new BlockRequest();
+        winner.setId(8L);
+        winner.setCard(card);
+        winner.setStatus(RequestStatus.PENDING);
+
+        when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+        when(blockRequestRepository.findFirstByCardIdAndStatus(cardId, RequestStatus.PENDING))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(blockRequestRepository.insertPendingIfAbsent(eq(cardId), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        // Act
+        BlockRequest result = blockRequestService.createRequest(cardId);
+
+        // Assert
+        assertSame(winner, result);
+        verify(blockRequestRepository, times(2)).findFirstByCardIdAndStatus(cardId, RequestStatus.PENDING);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -66,7 +149,7 @@ class BlockRequestServiceTest {
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> blockRequestService.createRequest(cardId));
         verify(cardRepository, times(1)).findById(cardId);
-        verify(blockRequestRepository, never()).save(any(BlockRequest.class));
+        verify(blockRequestRepository, never()).insertPendingIfAbsent(any(), any());
     }
 
     @Test
@@ -85,7 +168,7 @@ class BlockRequestServiceTest {
 
         assertEquals("Карта уже заблокирована", exception.getMessage());
         verify(cardRepository, times(1)).findById(cardId);
-        verify(blockRequestRepository, never()).save(any(BlockRequest.class));
+        verify(blockRequestRepository, never()).insertPendingIfAbsent(any(), any());
     }
 
     @Test
@@ -101,31 +184,67 @@ class BlockRequestServiceTest {
         request.setCard(card);
         request.setStatus(RequestStatus.PENDING);
 
-        when(blockRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card));
         when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(blockRequestRepository.save(any(BlockRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        BlockRequest result = blockRequestService.approveRequest(requestId);
+        BlockRequest result = blockRequestService.approveRequest(requestId, "admin");
 
         // Assert
         assertNotNull(result);
         assertEquals(RequestStatus.APPROVED, result.getStatus());
         assertEquals(CardStatus.BLOCKED, card.getStatus());
-        verify(blockRequestRepository, times(1)).findById(requestId);
+        verify(blockRequestRepository, times(1)).findByIdForUpdate(requestId);
         verify(cardRepository, times(1)).save(card);
         verify(blockRequestRepository, times(1)).save(request);
+
+        ArgumentCaptor<List<OutboxEvent>> outbox = ArgumentCaptor.captor();
+        verify(outboxPublisher).publishAll(outbox.capture());
+        assertEquals(List.of(OutboxEvent.Type.BLOCK_REQUEST_APPROVED, OutboxEvent.Type.CARD_STATUS_CHANGED),
+                outbox.getValue().stream().map(OutboxEvent::getType).toList());
+    }
+
+    @Test
+    void approveRequest_ShouldNotPublishStatusChangeForAlreadyBlockedCard() {
+        // Arrange
+        Long requestId = 1L;
+        Card card = new Card();
+        card.setId(1L);
+        card.setStatus(CardStatus.BLOCKED);
+
+        BlockRequest request = new BlockRequest();
+        request.setId(requestId);
+        request.setCard(card);
+        request.setStatus(RequestStatus.PENDING);
+
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card));
+        when(blockRequestRepository.save(any(BlockRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BlockRequest result = blockRequestService.approveRequest(requestId, "admin");
+
+        // Assert
+        assertEquals(RequestStatus.APPROVED, result.getStatus());
+        verify(cardRepository, never()).save(any(Card.class));
+
+        ArgumentCaptor<List<OutboxEvent>> outbox = ArgumentCaptor.captor();
+        verify(outboxPublisher).publishAll(outbox.capture());
+        assertEquals(List.of(OutboxEvent.Type.BLOCK_REQUEST_APPROVED),
+                outbox.getValue().stream().map(OutboxEvent::getType).toList());
     }
 
     @Test
     void approveRequest_ShouldThrowExceptionWhenRequestNotFound() {
         // Arrange
         Long requestId = 999L;
-        when(blockRequestRepository.findById(requestId)).thenReturn(Optional.empty());
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> blockRequestService.approveRequest(requestId));
-        verify(blockRequestRepository, times(1)).findById(requestId);
+        assertThrows(EntityNotFoundException.class, () -> blockRequestService.approveRequest(requestId, "admin"));
+        verify(blockRequestRepository, times(1)).findByIdForUpdate(requestId);
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -137,14 +256,14 @@ class BlockRequestServiceTest {
         request.setId(requestId);
         request.setStatus(RequestStatus.APPROVED);
 
-        when(blockRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
 
         // Act & Assert
         IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> blockRequestService.approveRequest(requestId));
+                () -> blockRequestService.approveRequest(requestId, "admin"));
 
         assertEquals("Заявка уже обработана", exception.getMessage());
-        verify(blockRequestRepository, times(1)).findById(requestId);
+        verify(blockRequestRepository, times(1)).findByIdForUpdate(requestId);
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -152,32 +271,37 @@ class BlockRequestServiceTest {
     void rejectRequest_ShouldSuccessfullyRejectRequest() {
         // Arrange
         Long requestId = 1L;
+        Card card = new Card();
+        card.setId(1L);
+
         BlockRequest request = new BlockRequest();
         request.setId(requestId);
+        request.setCard(card);
         request.setStatus(RequestStatus.PENDING);
 
-        when(blockRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
         when(blockRequestRepository.save(any(BlockRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        BlockRequest result = blockRequestService.rejectRequest(requestId);
+        BlockRequest result = blockRequestService.rejectRequest(requestId, "admin");
 
         // Assert
         assertNotNull(result);
         assertEquals(RequestStatus.REJECTED, result.getStatus());
-        verify(blockRequestRepository, times(1)).findById(requestId);
+        verify(blockRequestRepository, times(1)).findByIdForUpdate(requestId);
         verify(blockRequestRepository, times(1)).save(request);
+        verify(outboxPublisher).publish(argThat(event -> event.getType() == OutboxEvent.Type.BLOCK_REQUEST_REJECTED));
     }
 
     @Test
     void rejectRequest_ShouldThrowExceptionWhenRequestNotFound() {
         // Arrange
         Long requestId = 999L;
-        when(blockRequestRepository.findById(requestId)).thenReturn(Optional.empty());
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> blockRequestService.rejectRequest(requestId));
-        verify(blockRequestRepository, times(1)).findById(requestId);
+        assertThrows(EntityNotFoundException.class, () -> blockRequestService.rejectRequest(requestId, "admin"));
+        verify(blockRequestRepository, times(1)).findByIdForUpdate(requestId);
         verify(blockRequestRepository, never()).save(any(BlockRequest.class));
     }
 
@@ -189,14 +313,14 @@ class BlockRequestServiceTest {
         request.setId(requestId);
         request.setStatus(RequestStatus.APPROVED);
 
-        when(blockRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
 
         // Act & Assert
         IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> blockRequestService.rejectRequest(requestId));
+                () -> blockRequestService.rejectRequest(requestId, "admin"));
 
         assertEquals("Заявка уже обработана", exception.getMessage());
-        verify(blockRequestRepository, times(1)).findById(requestId);
+        verify(blockRequestRepository, times(1)).findByIdForUpdate(requestId);
         verify(blockRequestRepository, never()).save(any(BlockRequest.class));
     }
 
@@ -221,4 +345,185 @@ class BlockRequestServiceTest {
         assertEquals(2, result.size());
         verify(blockRequestRepository, times(1)).findAllByStatus(RequestStatus.PENDING);
     }
-}
\ No newline at end of file
+
+    private ProcessedBlockRequest processed(Long id, Long cardId) {
+        return new ProcessedBlockRequest() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+        };
+    }
+
+    @Test
+    void bulkResolve_ShouldApproveByIdsAndReportSkippedRequests() {
+        // Arrange
+        Card card = new Card();
+        card.setId(30L);
+
+        BlockRequest rejected = new BlockRequest();
+        rejected.setId(3L);
+        rejected.setCard(card);
+        rejected.setStatus(RequestStatus.REJECTED);
+
+        BlockRequestBulkRequest request = new BlockRequestBulkRequest(BulkAction.APPROVE, List.of(1L, 2L, 3L, 4L), null);
+
+        when(blockRequestRepository.resolvePendingByIds(eq("APPROVED"), anyCollection()))
+                .thenReturn(List.of(processed(1L, 10L), processed(2L, 20L)));
+        when(cardRepository.updateStatusByIdIn(CardStatus.BLOCKED, Set.of(10L, 20L))).thenReturn(2);
+        when(blockRequestRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(rejected));
+
+        // Act
+        BlockRequestBulkResponse result = blockRequestService.bulkResolve(request);
+
+        // Assert
+        assertEquals(2, result.getProcessed());
+        assertEquals(2, result.getBlockedCards());
+        assertEquals(4, result.getOutcomes().size());
+
+        BlockRequestOutcome first = result.getOutcomes().get(0);
+        assertEquals(1L, first.getId());
+        assertEquals(RequestStatus.APPROVED, first.getStatus());
+        assertEquals(BulkOutcome.PROCESSED, first.getOutcome());
+
+        BlockRequestOutcome alreadyProcessed = result.getOutcomes().get(2);
+        assertEquals(3L, alreadyProcessed.getId());
+        assertEquals(30L, alreadyProcessed.getCardId());
+        assertEquals(RequestStatus.REJECTED, alreadyProcessed.getStatus());
+        assertEquals(BulkOutcome.ALREADY_PROCESSED, alreadyProcessed.getOutcome());
+
+        BlockRequestOutcome notFound = result.getOutcomes().get(3);
+        assertEquals(4L, notFound.getId());
+        assertEquals(BulkOutcome.NOT_FOUND, notFound.getOutcome());
+
+        verify(blockRequestRepository, never()).save(any(BlockRequest.class));
+        verify(cardRepository, never()).save(any(Card.class));
+
+        ArgumentCaptor<List<OutboxEvent>> outbox = ArgumentCaptor.captor();
+        verify(outboxPublisher).publishAll(outbox.capture());
+        assertEquals(List.of(OutboxEvent.Type.BLOCK_REQUEST_APPROVED, OutboxEvent.Type.BLOCK_REQUEST_APPROVED),
+                outbox.getValue().stream().map(OutboxEvent::getType).toList());
+        verify(outboxPublisher).publishCardStatusChanges(CardStatus.BLOCKED, Set.of(10L, 20L));
+    }
+
+    @Test
+    void bulkResolve_ShouldRejectByFilterWithoutTouchingCards() {
+        // Arrange
+        LocalDateTime createdBefore = LocalDateTime.now().minusHours(1);
+        BlockRequestBulkRequest request = new BlockRequestBulkRequest(BulkAction.REJECT, null, createdBefore);
+
+        when(blockRequestRepository.resolvePendingCreatedBefore("REJECTED", createdBefore, BlockRequestBulkRequest.MAX_BATCH))
+                .thenReturn(List.of(processed(5L, 50L)));
+
+        // Act
+        BlockRequestBulkResponse result = blockRequestService.bulkResolve(request);
+
+        // Assert
+        assertEquals(1, result.getProcessed());
+        assertEquals(0, result.getBlockedCards());
+        assertEquals(BulkOutcome.PROCESSED, result.getOutcomes().get(0).getOutcome());
+        assertEquals(RequestStatus.REJECTED, result.getOutcomes().get(0).getStatus());
+        verify(cardRepository, never()).updateStatusByIdIn(any(), anyCollection());
+        verify(blockRequestRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void approveRequest_ShouldThrowExceptionWhenClaimedByAnotherAdmin() {
+        // Arrange
+        Long requestId = 1L;
+        BlockRequest request = new BlockRequest();
+        request.setId(requestId);
+        request.setStatus(RequestStatus.PENDING);
+        request.setClaimedBy("other");
+        request.setClaimedUntil(LocalDateTime.now().plusMinutes(3));
+
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> blockRequestService.approveRequest(requestId, "admin"));
+
+        assertEquals("Заявка взята в работу администратором other", exception.getMessage());
+        assertEquals(RequestStatus.PENDING, request.getStatus());
+        verify(blockRequestRepository, never()).save(any(BlockRequest.class));
+    }
+
+    @Test
+    void rejectRequest_ShouldIgnoreExpiredClaim() {
+        // Arrange
+        Long requestId = 1L;
+        Card card = new Card();
+        card.setId(1L);
+
+        BlockRequest request = new BlockRequest();
+        request.setId(requestId);
+        request.setCard(card);
+        request.setStatus(RequestStatus.PENDING);
+        request.setClaimedBy("other");
+        request.setClaimedUntil(LocalDateTime.now().minusMinutes(1));
+
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
+        when(blockRequestRepository.save(any(BlockRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BlockRequest result = blockRequestService.rejectRequest(requestId, "admin");
+
+        // Assert
+        assertEquals(RequestStatus.REJECTED, result.getStatus());
+    }
+
+    @Test
+    void claim_ShouldLeasePendingRequestsInCreationOrder() {
+        // Arrange
+        BlockRequest newer = new BlockRequest();
+        newer.setId(2L);
+        newer.setCreatedAt(LocalDateTime.now());
+
+        BlockRequest older = new BlockRequest();
+        older.setId(1L);
+        older.setCreatedAt(LocalDateTime.now().minusHours(1));
+
+        when(blockRequestRepository.claimPending(eq("admin"), any(LocalDateTime.class), any(LocalDateTime.class), eq(BlockRequestService.MAX_CLAIM)))
+                .thenReturn(List.of(newer, older));
+
+        // Act
+        List<BlockRequest> result = blockRequestService.claim(1000, "admin");
+
+        // Assert
+        assertEquals(List.of(older, newer), result);
+    }
+
+    @Test
+    void approveRequest_ShouldPublishApprovedEvent() {
+        // Arrange
+        Long requestId = 1L;
+        Card card = new Card();
+        card.setId(10L);
+        card.setStatus(CardStatus.ACTIVE);
+
+        BlockRequest request = new BlockRequest();
+        request.setId(requestId);
+        request.setCard(card);
+        request.setStatus(RequestStatus.PENDING);
+
+        when(blockRequestRepository.findByIdForUpdate(requestId)).thenReturn(Optional.of(request));
+        when(cardRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(card));
+        when(blockRequestRepository.save(any(BlockRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        blockRequestService.approveRequest(requestId, "admin");
+
+        // Assert
+        ArgumentCaptor<BlockRequestChangedEvent> captor = ArgumentCaptor.forClass(BlockRequestChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(BlockRequestChangedEvent.Type.APPROVED, captor.getValue().getType());
+        assertEquals(requestId, captor.getValue().getRequest().getId());
+        assertEquals(10L, captor.getValue().getRequest().getCardId());
+        assertEquals(RequestStatus.APPROVED, captor.getValue().getRequest().getStatus());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CacheRegionStats;
+import com.example.bankcards.dto.CacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatsServiceTest {
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private CacheRegionStatistics cardsRegion;
+
+    @Mock
+    private MBeanServer mBeanServer;
+
+    private CacheStatsService cacheStatsService;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        cacheStatsService = new CacheStatsService(entityManagerFactory, mBeanServer);
+    }
+
+    @Test
+    void getStats_ShouldCombineHibernateAndJCacheStatistics() throws Exception {
+        // Arrange
+        ObjectName cardsBean = new ObjectName("javax.cache:type=CacheStatistics,CacheManager=ehcache.xml,Cache=cards");
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(12L);
+        when(statistics.getSecondLevelCacheMissCount()).thenReturn(3L);
+        when(statistics.getSecondLevelCachePutCount()).thenReturn(5L);
+        when(statistics.getQueryCacheHitCount()).thenReturn(7L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(1L);
+        when(statistics.getDomainDataRegionStatistics("users")).thenReturn(null);
+        when(statistics.getDomainDataRegionStatistics("cards")).thenReturn(cardsRegion);
+        when(cardsRegion.getHitCount()).thenReturn(10L);
+        when(cardsRegion.getMissCount()).thenReturn(2L);
+        when(cardsRegion.getPutCount()).thenReturn(4L);
+        when(cardsRegion.getElementCountInMemory()).thenReturn(4L);
+        ObjectName cardsPattern = new ObjectName("javax.cache:type=CacheStatistics,Cache=cards,*");
+        when(mBeanServer.queryNames(any(ObjectName.class), isNull())).thenAnswer(invocation ->
+                cardsPattern.equals(invocation.getArgument(0)) ? Set.of(cardsBean) : Set.of());
+        when(mBeanServer.getAttribute(cardsBean, "CacheEvictions")).thenReturn(6L);
+
+        // Act
+        CacheStatsResponse result = cacheStatsService.getStats();
+
+        // Assert
+        assertEquals(12L, result.getHitCount());
+        assertEquals(3L, result.getMissCount());
+        assertEquals(5L, result.getPutCount());
+        assertEquals(7L, result.getQueryCacheHitCount());
+        assertEquals(1L, result.getQueryCacheMissCount());
+        assertEquals(3, result.getRegions().size());
+
+        CacheRegionStats cards = result.getRegions().stream()
+                .filter(r -> r.getRegion().equals("cards"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(10L, cards.getHitCount());
+        assertEquals(2L, cards.getMissCount());
+        assertEquals(4L, cards.getPutCount());
+        assertEquals(6L, cards.getEvictionCount());
+        assertEquals(4L, cards.getElementCount());
+
+        CacheRegionStats users = result.getRegions().get(0);
+        assertEquals("users", users.getRegion());
+        assertEquals(0L, users.getHitCount());
+    }
+}
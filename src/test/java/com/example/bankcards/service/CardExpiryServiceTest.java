@@ -0,0 +1,198 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardExpiryStats;
+import com.example.bankcards.entity.JobCheckpoint;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpiryServiceTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CardExpiryService cardExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        cardExpiryService = new CardExpiryService(cardRepository, checkpointRepository, outboxPublisher, transactionManager, 100);
+    }
+
+    @Test
+    void run_ShouldExpireCardsInIdRangeBatchesAndSaveCheckpoints() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME)).thenReturn(Optional.empty());
+        when(checkpointRepository.tryLock(CardExpiryService.JOB_NAME)).thenReturn(true);
+        when(cardRepository.findMaxId()).thenReturn(250L);
+        when(cardRepository.expireDueInRange(TODAY, 0L, 100L)).thenReturn(10);
+        when(cardRepository.expireDueInRange(TODAY, 100L, 200L)).thenReturn(5);
+        when(cardRepository.expireDueInRange(TODAY, 200L, 250L)).thenReturn(0);
+
+        // Act
+        CardExpiryStats stats = cardExpiryService.run(TODAY);
+
+        // Assert
+        assertEquals(15, stats.getLastRunExpired());
+        assertEquals(3, stats.getLastRunBatches());
+        assertEquals(250, stats.getLastProcessedId());
+        assertEquals(15, stats.getTotalExpired());
+        assertEquals(TODAY, stats.getRunDate());
+        assertFalse(stats.isRunning());
+        assertNotNull(stats.getLastRunFinishedAt());
+
+        ArgumentCaptor<JobCheckpoint> captor = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(checkpointRepository, times(3)).save(captor.capture());
+        List<Long> lastIds = captor.getAllValues().stream().map(JobCheckpoint::getLastId).toList();
+        assertEquals(List.of(100L, 200L, 250L), lastIds);
+        assertTrue(captor.getAllValues().stream().allMatch(c -> TODAY.equals(c.getRunDate())));
+        verify(transactionManager, times(3)).commit(any());
+        verify(outboxPublisher).publishCardExpiries(TODAY, 0L, 100L);
+        verify(outboxPublisher).publishCardExpiries(TODAY, 100L, 200L);
+        verify(outboxPublisher).publishCardExpiries(TODAY, 200L, 250L);
+    }
+
+    @Test
+    void run_ShouldResumeFromCheckpointOfSameDay() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME))
+                .thenReturn(Optional.of(new JobCheckpoint(CardExpiryService.JOB_NAME, 200L, TODAY, LocalDateTime.now())));
+        when(checkpointRepository.tryLock(CardExpiryService.JOB_NAME)).thenReturn(true);
+        when(cardRepository.findMaxId()).thenReturn(250L);
+        when(cardRepository.expireDueInRange(TODAY, 200L, 250L)).thenReturn(4);
+
+        // Act
+        CardExpiryStats stats = cardExpiryService.run(TODAY);
+
+        // Assert
+        assertEquals(4, stats.getLastRunExpired());
+        assertEquals(1, stats.getLastRunBatches());
+        verify(cardRepository, times(1)).expireDueInRange(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void run_ShouldRestartWhenCheckpointIsFromPreviousDay() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME))
+                .thenReturn(Optional.of(new JobCheckpoint(CardExpiryService.JOB_NAME, 250L,
+                        TODAY.minusDays(1), LocalDateTime.now())));
+        when(checkpointRepository.tryLock(CardExpiryService.JOB_NAME)).thenReturn(true);
+        when(cardRepository.findMaxId()).thenReturn(50L);
+        when(cardRepository.expireDueInRange(TODAY, 0L, 50L)).thenReturn(2);
+
+        // Act
+        CardExpiryStats stats = cardExpiryService.run(TODAY);
+
+        // Assert
+        assertEquals(2, stats.getLastRunExpired());
+        verify(cardRepository).expireDueInRange(eq(TODAY), eq(0L), eq(50L));
+    }
+
+    @Test
+    void run_ShouldDoNothingWhenNoCards() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME)).thenReturn(Optional.empty());
+        when(cardRepository.findMaxId()).thenReturn(0L);
+
+        // Act
+        CardExpiryStats stats = cardExpiryService.run(TODAY);
+
+        // Assert
+        assertEquals(0, stats.getLastRunBatches());
+        verify(cardRepository, never()).expireDueInRange(any(), anyLong(), anyLong());
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    void run_ShouldAccumulateTotalsAcrossRuns() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME)).thenReturn(Optional.empty());
+        when(checkpointRepository.tryLock(CardExpiryService.JOB_NAME)).thenReturn(true);
+        when(cardRepository.findMaxId()).thenReturn(10L);
+        when(cardRepository.expireDueInRange(any(), eq(0L), eq(10L))).thenReturn(3);
+
+        // Act
+        cardExpiryService.run(TODAY);
+        CardExpiryStats stats = cardExpiryService.run(TODAY.plusDays(1));
+
+        // Assert
+        assertEquals(3, stats.getLastRunExpired());
+        assertEquals(6, stats.getTotalExpired());
+        assertEquals(2, stats.getTotalBatches());
+    }
+
+    @Test
+    void run_ShouldStopWhenAnotherInstanceHoldsTheLock() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME)).thenReturn(Optional.empty());
+        when(checkpointRepository.tryLock(CardExpiryService.JOB_NAME)).thenReturn(false);
+        when(cardRepository.findMaxId()).thenReturn(250L);
+
+        // Act
+        CardExpiryStats stats = cardExpiryService.run(TODAY);
+
+        // Assert
+        assertEquals(0, stats.getLastRunBatches());
+        assertFalse(stats.isRunning());
+        verify(checkpointRepository, times(1)).tryLock(CardExpiryService.JOB_NAME);
+        verify(cardRepository, never()).expireDueInRange(any(), anyLong(), anyLong());
+        verify(checkpointRepository, never()).save(any());
+        verifyNoInteractions(outboxPublisher);
+    }
+
+    @Test
+    void run_ShouldSkipRangesCheckpointedByAnotherInstance() {
+        // Arrange
+        when(checkpointRepository.findById(CardExpiryService.JOB_NAME))
+                .thenReturn(Optional.empty(), Optional.empty(),
+                        Optional.of(new JobCheckpoint(CardExpiryService.JOB_NAME, 200L, TODAY, LocalDateTime.now())));
+        when(checkpointRepository.tryLock(CardExpiryService.JOB_NAME)).thenReturn(true);
+        when(cardRepository.findMaxId()).thenReturn(250L);
+        when(cardRepository.expireDueInRange(TODAY, 0L, 100L)).thenReturn(10);
+        when(cardRepository.expireDueInRange(TODAY, 200L, 250L)).thenReturn(1);
+
+        // Act
+        CardExpiryStats stats = cardExpiryService.run(TODAY);
+
+        // Assert
+        assertEquals(11, stats.getLastRunExpired());
+        assertEquals(250, stats.getLastProcessedId());
+        verify(cardRepository, times(2)).expireDueInRange(any(), anyLong(), anyLong());
+        verify(outboxPublisher, never()).publishCardExpiries(TODAY, 100L, 200L);
+        verify(checkpointRepository, times(2)).save(any());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveBatchSize() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new CardExpiryService(cardRepository, checkpointRepository, outboxPublisher, transactionManager, 0));
+    }
+}
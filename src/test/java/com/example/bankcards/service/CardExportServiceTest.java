@@ -0,0 +1,77 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardExportRow;
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.repository.CardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExportServiceTest {
+    @Mock
+    private CardRepository cardRepository;
+
+    @InjectMocks
+    private CardExportService cardExportService;
+
+    private Stream<CardExportRow> rows(AtomicBoolean closed) {
+        return Stream.of(
+                new CardExportRow(1L, 10L, "ivan", "1111222233334444",
+                        CardStatus.ACTIVE, LocalDate.of(2030, 1, 31), new BigDecimal("100.50")),
+                new CardExportRow(2L, 11L, "petrov, p", "5555666677778888",
+                        CardStatus.BLOCKED, LocalDate.of(2029, 6, 30), BigDecimal.ZERO)
+        ).onClose(() -> closed.set(true));
+    }
+
+    @Test
+    void exportCards_ShouldWriteNdjsonWithMaskedNumbers() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(cardRepository.streamAllForExport()).thenReturn(rows(closed));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        cardExportService.exportCards(out, ExportFormat.NDJSON);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"ownerId\":10,\"ownerUsername\":\"ivan\",\"maskedNumber\":\"**** **** **** 4444\","
+                + "\"status\":\"ACTIVE\",\"expirationDate\":\"2030-01-31\",\"balance\":100.50}", lines[0]);
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("1111222233334444"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportCards_ShouldWriteCsvWithHeaderAndEscaping() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(cardRepository.streamAllForExport()).thenReturn(rows(closed));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        cardExportService.exportCards(out, ExportFormat.CSV);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,owner_id,owner_username,masked_number,status,expiration_date,balance", lines[0]);
+        assertEquals("1,10,ivan,**** **** **** 4444,ACTIVE,2030-01-31,100.50", lines[1]);
+        assertEquals("2,11,\"petrov, p\",**** **** **** 8888,BLOCKED,2029-06-30,0", lines[2]);
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.CardNumberConverter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.outbox.relay.enabled=false",
+        "app.cards.last4-backfill.enabled=false",
+        "app.cards.last4-backfill.batch-size=2"
+})
+@DirtiesContext
+class CardLast4BackfillIT {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private CardLast4BackfillService backfillService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardNumberConverter cardNumberConverter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private long insertLegacyCard(User owner, String encryptedNumber) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('cards_id_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO cards (id, card_number, card_last4, owner_id, expiration_date, status, " +
+                        "balance, held_amount) VALUES (?, ?, NULL, ?, ?, 'ACTIVE', 0, 0)",
+                id, encryptedNumber, owner.getId(), LocalDate.now().plusYears(1));
+        return id;
+    }
+
+    private List<Long> searchByLast4(String last4) {
+        CardSearchFilter filter = new CardSearchFilter();
+        filter.setLast4(last4);
+        return cardService.searchCards(filter, null, 50).getContent().stream().map(Card::getId).toList();
+    }
+
+    @Test
+    void backfill_ShouldMakeCardsCreatedBeforeMigrationSearchable() {
+        // Arrange
+        User user = new User();
+        user.setUsername("legacy-" + UUID.randomUUID());
+        user.setPassword("x");
+        user.setRole(Role.USER);
+        User owner = userRepository.save(user);
+        long first = insertLegacyCard(owner, cardNumberConverter.convertToDatabaseColumn("4000000000007351"));
+        long second = insertLegacyCard(owner, cardNumberConverter.convertToDatabaseColumn("4000000000017351"));
+        long third = insertLegacyCard(owner, cardNumberConverter.convertToDatabaseColumn("4000000000002468"));
+        long broken = insertLegacyCard(owner, "not-a-ciphertext");
+        assertTrue(searchByLast4("7351").isEmpty());
+
+        // Act
+        long filled = backfillService.backfill();
+
+        // Assert
+        assertEquals(3, filled);
+        assertEquals(List.of(first, second), searchByLast4("7351"));
+        assertEquals(List.of(third), searchByLast4("2468"));
+        assertNull(jdbcTemplate.queryForObject("SELECT card_last4 FROM cards WHERE id = ?", String.class, broken));
+        assertEquals(0, backfillService.backfill());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.CardSearchFilter;
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.Transfer;
@@ -7,15 +9,22 @@ import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransferRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.CursorCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,6 +33,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +47,12 @@ class CardServiceTest {
     @Mock
     private TransferRepository transferRepository;
 
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CardService cardService;
 
@@ -128,8 +144,8 @@ class CardServiceTest {
         toCard.setBalance(new BigDecimal("50.00"));
         toCard.setStatus(CardStatus.ACTIVE);
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.of(fromCard));
-        when(cardRepository.findById(toCardId)).thenReturn(Optional.of(toCard));
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
         when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> {
             Transfer transfer = invocation.getArgument(0);
@@ -147,9 +163,14 @@ class CardServiceTest {
         assertEquals(amount, result.getAmount());
         assertEquals(new BigDecimal("100.00"), fromCard.getBalance());
         assertEquals(new BigDecimal("150.00"), toCard.getBalance());
-        verify(cardRepository, times(2)).findById(anyLong());
+        assertEquals(1, meterRegistry.timer("bank.transfers", "outcome", "success").count());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
         verify(cardRepository, times(2)).save(any(Card.class));
         verify(transferRepository, times(1)).save(any(Transfer.class));
+        verify(outboxPublisher).publish(argThat(event ->
+                event.getType() == OutboxEvent.Type.TRANSFER_COMPLETED
+                        && event.getAggregateId().equals(1L)
+                        && event.getPayload().get("amount").equals(amount)));
     }
 
     @Test
@@ -159,12 +180,13 @@ class CardServiceTest {
         Long toCardId = 2L;
         BigDecimal amount = new BigDecimal("100.00");
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.empty());
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(new Card()));
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class,
                 () -> cardService.transfer(fromCardId, toCardId, amount));
-        verify(cardRepository, times(1)).findById(fromCardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(fromCardId);
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -179,14 +201,14 @@ class CardServiceTest {
         fromCard.setId(fromCardId);
         fromCard.setStatus(CardStatus.ACTIVE);
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.of(fromCard));
-        when(cardRepository.findById(toCardId)).thenReturn(Optional.empty());
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class,
                 () -> cardService.transfer(fromCardId, toCardId, amount));
-        verify(cardRepository, times(1)).findById(fromCardId);
-        verify(cardRepository, times(1)).findById(toCardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(fromCardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(toCardId);
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -210,15 +232,17 @@ class CardServiceTest {
         toCard.setOwner(owner);
         toCard.setStatus(CardStatus.ACTIVE);
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.of(fromCard));
-        when(cardRepository.findById(toCardId)).thenReturn(Optional.of(toCard));
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
 
         // Act & Assert
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> cardService.transfer(fromCardId, toCardId, amount));
 
         assertEquals("Отправляющая карта заблокирована", exception.getMessage());
-        verify(cardRepository, times(2)).findById(anyLong());
+        assertEquals(1.0, meterRegistry.counter("bank.business.failures",
+                "operation", "transfer", "reason", "card_blocked").count());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -242,15 +266,81 @@ class CardServiceTest {
         toCard.setOwner(owner);
         toCard.setStatus(CardStatus.BLOCKED);
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.of(fromCard));
-        when(cardRepository.findById(toCardId)).thenReturn(Optional.of(toCard));
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
 
         // Act & Assert
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> cardService.transfer(fromCardId, toCardId, amount));
 
         assertEquals("Нельзя перевести деньги на заблокированную карту", exception.getMessage());
-        verify(cardRepository, times(2)).findById(anyLong());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
+        verify(cardRepository, never()).save(any(Card.class));
+    }
+
+    @Test
+    void transfer_ShouldThrowExceptionWhenFromCardExpired() {
+        // Arrange
+        Long fromCardId = 1L;
+        Long toCardId = 2L;
+        BigDecimal amount = new BigDecimal("100.00");
+
+        User owner = new User();
+        owner.setId(1L);
+
+        Card fromCard = new Card();
+        fromCard.setId(fromCardId);
+        fromCard.setOwner(owner);
+        fromCard.setStatus(CardStatus.EXPIRED);
+
+        Card toCard = new Card();
+        toCard.setId(toCardId);
+        toCard.setOwner(owner);
+        toCard.setStatus(CardStatus.ACTIVE);
+
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> cardService.transfer(fromCardId, toCardId, amount));
+
+        assertEquals("Срок действия отправляющей карты истёк", exception.getMessage());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
+        verify(cardRepository, never()).save(any(Card.class));
+    }
+
+    @Test
+    void transfer_ShouldThrowExceptionWhenToCardPastExpirationDate() {
+        // Arrange
+        Long fromCardId = 1L;
+        Long toCardId = 2L;
+        BigDecimal amount = new BigDecimal("100.00");
+
+        User owner = new User();
+        owner.setId(1L);
+
+        Card fromCard = new Card();
+        fromCard.setId(fromCardId);
+        fromCard.setOwner(owner);
+        fromCard.setStatus(CardStatus.ACTIVE);
+        fromCard.setExpirationDate(LocalDate.now().plusYears(1));
+
+        Card toCard = new Card();
+        toCard.setId(toCardId);
+        toCard.setOwner(owner);
+        toCard.setStatus(CardStatus.ACTIVE);
+        toCard.setExpirationDate(LocalDate.now().minusDays(1));
+
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> cardService.transfer(fromCardId, toCardId, amount));
+
+        assertEquals("Нельзя перевести деньги на карту с истёкшим сроком действия", exception.getMessage());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -277,15 +367,15 @@ class CardServiceTest {
         toCard.setOwner(owner2);
         toCard.setStatus(CardStatus.ACTIVE);
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.of(fromCard));
-        when(cardRepository.findById(toCardId)).thenReturn(Optional.of(toCard));
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> cardService.transfer(fromCardId, toCardId, amount));
 
         assertEquals("Можно переводить только между своими картами", exception.getMessage());
-        verify(cardRepository, times(2)).findById(anyLong());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -310,18 +400,54 @@ class CardServiceTest {
         toCard.setOwner(owner);
         toCard.setStatus(CardStatus.ACTIVE);
 
-        when(cardRepository.findById(fromCardId)).thenReturn(Optional.of(fromCard));
-        when(cardRepository.findById(toCardId)).thenReturn(Optional.of(toCard));
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> cardService.transfer(fromCardId, toCardId, amount));
 
         assertEquals("Недостаточно средств", exception.getMessage());
-        verify(cardRepository, times(2)).findById(anyLong());
+        assertEquals(1, meterRegistry.timer("bank.transfers", "outcome", "insufficient_funds").count());
+        assertEquals(1.0, meterRegistry.counter("bank.business.failures",
+                "operation", "transfer", "reason", "insufficient_funds").count());
+        verify(cardRepository, times(2)).findByIdForUpdate(anyLong());
         verify(cardRepository, never()).save(any(Card.class));
     }
 
+    @Test
+    void transfer_ShouldNotSpendFundsReservedByHolds() {
+        // Arrange
+        Long fromCardId = 1L;
+        Long toCardId = 2L;
+
+        User owner = new User();
+        owner.setId(1L);
+
+        Card fromCard = new Card();
+        fromCard.setId(fromCardId);
+        fromCard.setOwner(owner);
+        fromCard.setBalance(new BigDecimal("200.00"));
+        fromCard.setHeldAmount(new BigDecimal("150.00"));
+        fromCard.setStatus(CardStatus.ACTIVE);
+
+        Card toCard = new Card();
+        toCard.setId(toCardId);
+        toCard.setOwner(owner);
+        toCard.setStatus(CardStatus.ACTIVE);
+
+        when(cardRepository.findByIdForUpdate(fromCardId)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByIdForUpdate(toCardId)).thenReturn(Optional.of(toCard));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> cardService.transfer(fromCardId, toCardId, new BigDecimal("100.00")));
+
+        assertEquals("Недостаточно средств", exception.getMessage());
+        assertEquals(new BigDecimal("200.00"), fromCard.getBalance());
+        verify(transferRepository, never()).save(any(Transfer.class));
+    }
+
     @Test
     void blockCard_ShouldSuccessfullyBlockCard() {
         // Arrange
@@ -330,7 +456,7 @@ class CardServiceTest {
         card.setId(cardId);
         card.setStatus(CardStatus.ACTIVE);
 
-        when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+        when(cardRepository.findByIdForUpdate(cardId)).thenReturn(Optional.of(card));
         when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -338,20 +464,43 @@ class CardServiceTest {
 
         // Assert
         assertEquals(CardStatus.BLOCKED, card.getStatus());
-        verify(cardRepository, times(1)).findById(cardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(cardId);
         verify(cardRepository, times(1)).save(card);
+        verify(outboxPublisher).publish(argThat(event ->
+                event.getType() == OutboxEvent.Type.CARD_STATUS_CHANGED
+                        && event.getPayload().get("status") == CardStatus.BLOCKED));
+    }
+
+    @Test
+    void blockCard_ShouldNotPublishEventWhenCardAlreadyBlocked() {
+        // Arrange
+        Long cardId = 1L;
+        Card card = new Card();
+        card.setId(cardId);
+        card.setStatus(CardStatus.BLOCKED);
+
+        when(cardRepository.findByIdForUpdate(cardId)).thenReturn(Optional.of(card));
+
+        // Act
+        cardService.blockCard(cardId);
+
+        // Assert
+        assertEquals(CardStatus.BLOCKED, card.getStatus());
+        verify(cardRepository, never()).save(any(Card.class));
+        verifyNoInteractions(outboxPublisher);
     }
 
     @Test
     void blockCard_ShouldThrowExceptionWhenCardNotFound() {
         // Arrange
         Long cardId = 999L;
-        when(cardRepository.findById(cardId)).thenReturn(Optional.empty());
+        when(cardRepository.findByIdForUpdate(cardId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> cardService.blockCard(cardId));
-        verify(cardRepository, times(1)).findById(cardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(cardId);
         verify(cardRepository, never()).save(any(Card.class));
+        verifyNoInteractions(outboxPublisher);
     }
 
     @Test
@@ -362,7 +511,7 @@ class CardServiceTest {
         card.setId(cardId);
         card.setStatus(CardStatus.BLOCKED);
 
-        when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+        when(cardRepository.findByIdForUpdate(cardId)).thenReturn(Optional.of(card));
         when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -370,19 +519,38 @@ class CardServiceTest {
 
         // Assert
         assertEquals(CardStatus.ACTIVE, card.getStatus());
-        verify(cardRepository, times(1)).findById(cardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(cardId);
         verify(cardRepository, times(1)).save(card);
     }
 
+    @Test
+    void activateCard_ShouldNotPublishEventWhenCardAlreadyActive() {
+        // Arrange
+        Long cardId = 1L;
+        Card card = new Card();
+        card.setId(cardId);
+        card.setStatus(CardStatus.ACTIVE);
+
+        when(cardRepository.findByIdForUpdate(cardId)).thenReturn(Optional.of(card));
+
+        // Act
+        cardService.activateCard(cardId);
+
+        // Assert
+        assertEquals(CardStatus.ACTIVE, card.getStatus());
+        verify(cardRepository, never()).save(any(Card.class));
+        verifyNoInteractions(outboxPublisher);
+    }
+
     @Test
     void activateCard_ShouldThrowExceptionWhenCardNotFound() {
         // Arrange
         Long cardId = 999L;
-        when(cardRepository.findById(cardId)).thenReturn(Optional.empty());
+        when(cardRepository.findByIdForUpdate(cardId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> cardService.activateCard(cardId));
-        verify(cardRepository, times(1)).findById(cardId);
+        verify(cardRepository, times(1)).findByIdForUpdate(cardId);
         verify(cardRepository, never()).save(any(Card.class));
     }
 
@@ -545,4 +713,129 @@ class CardServiceTest {
         assertEquals(2, result.getContent().size());
         verify(cardRepository, times(1)).findAllByExpirationDateBefore(date, pageable);
     }
-}
+
+    @Test
+    void getAllCardsAfter_ShouldReturnSliceWithNextCursor() {
+        // Arrange
+        Card card1 = new Card();
+        card1.setId(11L);
+        Card card2 = new Card();
+        card2.setId(12L);
+
+        when(cardRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(card1, card2), PageRequest.of(0, 2), true));
+
+        // Act
+        KeysetPage<Card> result = cardService.getAllCardsAfter(CursorCodec.encode(10L), 2);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertEquals(12L, CursorCodec.decodeId(result.getNextCursor()));
+        verify(cardRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getCardsByStatusAfter_ShouldReturnLastSliceWithoutCursor() {
+        // Arrange
+        Card card = new Card();
+        card.setId(5L);
+        card.setStatus(CardStatus.BLOCKED);
+
+        when(cardRepository.findByStatusAndIdGreaterThanOrderByIdAsc(CardStatus.BLOCKED, 0L, PageRequest.of(0, 50)))
+                .thenReturn(new SliceImpl<>(List.of(card), PageRequest.of(0, 50), false));
+
+        // Act
+        KeysetPage<Card> result = cardService.getCardsByStatusAfter(CardStatus.BLOCKED, null, 50);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getCardsExpiringBeforeAfter_ShouldContinueFromDateAndIdKey() {
+        // Arrange
+        LocalDate before = LocalDate.of(2030, 1, 1);
+        LocalDate afterDate = LocalDate.of(2027, 5, 1);
+
+        Card card = new Card();
+        card.setId(40L);
+        card.setExpirationDate(LocalDate.of(2027, 6, 1));
+
+        when(cardRepository.findExpiringBeforeAfterKey(before, afterDate, 33L, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(card), PageRequest.of(0, 1), true));
+
+        // Act
+        KeysetPage<Card> result = cardService.getCardsExpiringBeforeAfter(
+                before, CursorCodec.encode(afterDate, 33L), 1);
+
+        // Assert
+        assertEquals(40L, result.getContent().get(0).getId());
+        assertArrayEquals(new String[]{"2027-06-01", "40"}, CursorCodec.decode(result.getNextCursor(), 2));
+    }
+
+    @Test
+    void getCardsExpiringBeforeAfter_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCardsExpiringBeforeAfter(
+                LocalDate.of(2030, 1, 1), CursorCodec.encode("not-a-date", 1L), 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchCards_ShouldRunSingleSpecificationQuery() {
+        // Arrange
+        CardSearchFilter filter = new CardSearchFilter();
+        filter.setStatus(CardStatus.ACTIVE);
+        filter.setLast4("4444");
+
+        Card card = new Card();
+        card.setId(3L);
+
+        when(cardRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(List.of(card), PageRequest.of(0, 1), true));
+
+        // Act
+        KeysetPage<Card> result = cardService.searchCards(filter, null, 1);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(3L, CursorCodec.decodeId(result.getNextCursor()));
+        verify(cardRepository, times(1)).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void createCards_ShouldIssueCardsInSingleSaveAll() {
+        // Arrange
+        User owner1 = new User();
+        owner1.setId(1L);
+        User owner2 = new User();
+        owner2.setId(2L);
+
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(owner1, owner2));
+        when(cardRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<Card> result = cardService.createCards(List.of(1L, 2L, 1L));
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(owner1, result.get(0).getOwner());
+        assertEquals(owner2, result.get(1).getOwner());
+        assertEquals(owner1, result.get(2).getOwner());
+        assertTrue(result.stream().allMatch(card -> card.getStatus() == CardStatus.ACTIVE));
+        verify(cardRepository, times(1)).saveAll(anyList());
+        verify(cardRepository, never()).save(any(Card.class));
+    }
+
+    @Test
+    void createCards_ShouldThrowExceptionWhenOwnerNotFound() {
+        // Arrange
+        User owner = new User();
+        owner.setId(1L);
+        when(userRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(owner));
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> cardService.createCards(List.of(1L, 9L)));
+        verify(cardRepository, never()).saveAll(anyList());
+    }
+}
\ No newline at end of file
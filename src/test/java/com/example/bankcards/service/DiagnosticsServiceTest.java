@@ -0,0 +1,115 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.JfrRecordingRequest;
+import com.example.bankcards.dto.JfrRecordingStatus;
+import com.example.bankcards.dto.JfrSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsServiceTest {
+    @TempDir
+    private Path directory;
+
+    private DiagnosticsService diagnosticsService;
+
+    @BeforeEach
+    void setUp() {
+        diagnosticsService = new DiagnosticsService(directory, Duration.ofMinutes(1), DataSize.ofMegabytes(64));
+    }
+
+    @AfterEach
+    void tearDown() {
+        diagnosticsService.shutdown();
+    }
+
+    @Test
+    void startAndStop_ShouldProduceRecordingWithHotMethodsAndAllocationSites() throws Exception {
+        // Arrange
+        JfrRecordingRequest request = new JfrRecordingRequest();
+        request.setExecutionSamplePeriodMillis(5);
+
+        // Act
+        JfrRecordingStatus started = diagnosticsService.start(request);
+        long checksum = burnCpuAndAllocate();
+        JfrRecordingStatus stopped = diagnosticsService.stop();
+        JfrSummary summary = diagnosticsService.summarize(5);
+
+        // Assert
+        assertTrue(checksum != 0);
+        assertEquals("RUNNING", started.getState());
+        assertFalse(started.isDownloadable());
+        assertEquals("profile", started.getSettings());
+        assertNotEquals("RUNNING", stopped.getState());
+        assertTrue(stopped.isDownloadable());
+        assertTrue(stopped.getSizeBytes() > 0);
+        assertEquals(directory, diagnosticsService.getRecordingFile().getParent());
+
+        assertTrue(summary.getExecutionSamples() > 0, "Нет выборок выполнения");
+        assertTrue(summary.getAllocationSamples() > 0, "Нет выборок выделения памяти");
+        assertTrue(summary.getHotMethods().size() <= 5);
+        assertFalse(summary.getHotMethods().isEmpty());
+        assertFalse(summary.getAllocationSites().isEmpty());
+        assertTrue(summary.getAllocationSites().get(0).getBytes()
+                >= summary.getAllocationSites().get(summary.getAllocationSites().size() - 1).getBytes());
+    }
+
+    @Test
+    void start_ShouldRejectSecondRecordingWhileRunning() {
+        // Arrange
+        diagnosticsService.start(new JfrRecordingRequest());
+
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> diagnosticsService.start(new JfrRecordingRequest()));
+        assertEquals("Запись JFR уже идёт", ex.getMessage());
+        assertThrows(IllegalStateException.class, () -> diagnosticsService.getRecordingFile());
+    }
+
+    @Test
+    void start_ShouldDiscardPreviousRecordingFile() {
+        // Arrange
+        diagnosticsService.start(new JfrRecordingRequest());
+        diagnosticsService.stop();
+        Path previous = diagnosticsService.getRecordingFile();
+
+        // Act
+        diagnosticsService.start(new JfrRecordingRequest());
+
+        // Assert
+        assertFalse(Files.exists(previous));
+    }
+
+    @Test
+    void stop_ShouldFailWithoutRecording() {
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> diagnosticsService.stop());
+        assertEquals("Нет активной записи JFR", ex.getMessage());
+    }
+
+    private static long burnCpuAndAllocate() {
+        long deadline = System.nanoTime() + Duration.ofMillis(1500).toNanos();
+        long checksum = 0;
+        List<byte[]> retained = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 10_000; i++) {
+                checksum += Long.hashCode(checksum * 31 + i);
+            }
+            retained.add(new byte[64 * 1024]);
+            if (retained.size() > 64) {
+                retained.clear();
+            }
+        }
+        return checksum + retained.size();
+    }
+}
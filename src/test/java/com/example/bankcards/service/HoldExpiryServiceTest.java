@@ -0,0 +1,129 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.HoldRepository;
+import com.example.bankcards.repository.HoldRepository.ActiveHold;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryServiceTest {
+    @Mock
+    private HoldService holdService;
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    private HoldExpiryService holdExpiryService;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        holdExpiryService = new HoldExpiryService(holdService, holdRepository, new SimpleMeterRegistry(),
+                Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(5));
+        now = System.currentTimeMillis();
+    }
+
+    private static LocalDateTime at(long millis) {
+        return LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static ActiveHold activeHold(Long id, LocalDateTime expiresAt) {
+        return new ActiveHold() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getExpiresAt() {
+                return expiresAt;
+            }
+        };
+    }
+
+    @Test
+    void rebuild_ShouldScheduleActiveHoldsAndExpireThemWhenDue() {
+        // Arrange
+        when(holdRepository.findAllActive()).thenReturn(List.of(
+                activeHold(1L, at(now + 3_000)),
+                activeHold(2L, at(now + 2 * 3_600_000L))));
+        when(holdService.expire(eq(1L), any())).thenReturn(true);
+
+        // Act
+        holdExpiryService.rebuild();
+        int early = holdExpiryService.advance(now + 1_000);
+        int due = holdExpiryService.advance(now + 5_000);
+
+        // Assert
+        assertEquals(0, early);
+        assertEquals(1, due);
+        assertEquals(1, holdExpiryService.getScheduledCount());
+        assertEquals(1, holdExpiryService.getExpiredCount());
+        verify(holdService, never()).expire(eq(2L), any());
+    }
+
+    @Test
+    void onHoldChanged_ShouldScheduleAndCancelTimers() {
+        // Arrange
+        holdExpiryService.onHoldChanged(new HoldChangedEvent(1L, at(now + 2_000)));
+        holdExpiryService.onHoldChanged(new HoldChangedEvent(2L, at(now + 2_000)));
+
+        // Act
+        holdExpiryService.onHoldChanged(new HoldChangedEvent(2L, null));
+        holdExpiryService.advance(now + 10_000);
+
+        // Assert
+        verify(holdService).expire(eq(1L), any());
+        verify(holdService, never()).expire(eq(2L), any());
+        assertEquals(0, holdExpiryService.getScheduledCount());
+    }
+
+    @Test
+    void advance_ShouldRetryWhenExpiryFails() {
+        // Arrange
+        holdExpiryService.onHoldChanged(new HoldChangedEvent(1L, at(now + 1_000)));
+        when(holdService.expire(eq(1L), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(true);
+
+        // Act
+        int failed = holdExpiryService.advance(now + 2_000);
+        int beforeRetry = holdExpiryService.advance(now + 20_000);
+        int retried = holdExpiryService.advance(now + 33_000);
+
+        // Assert
+        assertEquals(0, failed);
+        assertEquals(0, beforeRetry);
+        assertEquals(1, retried);
+        verify(holdService, times(2)).expire(eq(1L), any());
+    }
+
+    @Test
+    void reconcile_ShouldScheduleOverdueHoldsForImmediateExpiry() {
+        // Arrange
+        when(holdRepository.findActiveExpiredBefore(any(), any(Pageable.class)))
+                .thenReturn(List.of(activeHold(5L, at(now - 3_600_000L))));
+
+        // Act
+        holdExpiryService.reconcile();
+
+        // Assert
+        assertEquals(1, holdExpiryService.getScheduledCount());
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Hold;
+import com.example.bankcards.entity.HoldStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.outbox.relay.enabled=false")
+@DirtiesContext
+class HoldIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong(4200_0000_0000_0000L);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private HoldExpiryService holdExpiryService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("holds-" + UUID.randomUUID());
+        user.setPassword("x");
+        user.setRole(Role.USER);
+        owner = userRepository.save(user);
+    }
+
+    private Card createCard(BigDecimal balance) {
+        Card card = new Card();
+        card.setOwner(owner);
+        card.setCardNumber(String.valueOf(CARD_NUMBERS.incrementAndGet()));
+        card.setExpirationDate(LocalDate.now().plusYears(1));
+        card.setStatus(CardStatus.ACTIVE);
+        card.setBalance(balance);
+        return cardRepository.save(card);
+    }
+
+    private BigDecimal column(String column, Card card) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM cards WHERE id = ?", BigDecimal.class,
+                card.getId());
+    }
+
+    private String holdStatus(Hold hold) {
+        return jdbcTemplate.queryForObject("SELECT status FROM holds WHERE id = ?", String.class, hold.getId());
+    }
+
+    @Test
+    void authorize_ShouldReserveFundsAgainstTransfers() {
+        // Arrange
+        Card from = createCard(new BigDecimal("100.00"));
+        Card to = createCard(BigDecimal.ZERO);
+
+        // Act
+        holdService.authorize(from.getId(), to.getId(), new BigDecimal("70.00"), 3600L, owner.getUsername());
+
+        // Assert
+        assertEquals(new BigDecimal("70.00"), column("held_amount", from));
+        assertEquals(new BigDecimal("100.00"), column("balance", from));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> cardService.transfer(from.getId(), to.getId(), new BigDecimal("40.00")));
+        assertEquals("Недостаточно средств", exception.getMessage());
+        cardService.transfer(from.getId(), to.getId(), new BigDecimal("30.00"));
+        assertEquals(new BigDecimal("70.00"), column("balance", from));
+        assertEquals(new BigDecimal("30.00"), column("balance", to));
+    }
+
+    @Test
+    void authorize_ShouldNotOverbookUnderConcurrency() throws Exception {
+        // Arrange
+        Card from = createCard(new BigDecimal("100.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Hold>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(() -> holdService.authorize(from.getId(), to.getId(), new BigDecimal("30.00"), 3600L,
+                    owner.getUsername()));
+        }
+
+        // Act
+        int succeeded = 0;
+        try {
+            for (Future<Hold> result : executor.invokeAll(attempts)) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertEquals("Недостаточно средств", e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(3, succeeded);
+        assertEquals(new BigDecimal("90.00"), column("held_amount", from));
+    }
+
+    @Test
+    void capture_ShouldCreateTransferAndOutboxEvent() {
+        // Arrange
+        Card from = createCard(new BigDecimal("100.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        Hold hold = holdService.authorize(from.getId(), to.getId(), new BigDecimal("70.00"), 3600L, owner.getUsername());
+
+        // Act
+        Hold captured = holdService.capture(hold.getId(), new BigDecimal("55.00"), owner.getUsername());
+
+        // Assert
+        assertEquals(HoldStatus.CAPTURED, captured.getStatus());
+        assertEquals("CAPTURED", holdStatus(hold));
+        assertEquals(new BigDecimal("0.00"), column("held_amount", from));
+        assertEquals(new BigDecimal("45.00"), column("balance", from));
+        assertEquals(new BigDecimal("55.00"), column("balance", to));
+        assertEquals(new BigDecimal("55.00"), jdbcTemplate.queryForObject(
+                "SELECT amount FROM transfers WHERE id = ?", BigDecimal.class, captured.getTransferId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox WHERE event_type = 'TRANSFER_COMPLETED' AND aggregate_id = ?",
+                Integer.class, captured.getTransferId()));
+        assertThrows(IllegalStateException.class, () -> holdService.release(hold.getId(), owner.getUsername()));
+    }
+
+    @Test
+    void release_ShouldReturnReservedFunds() {
+        // Arrange
+        Card from = createCard(new BigDecimal("100.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        Hold hold = holdService.authorize(from.getId(), to.getId(), new BigDecimal("70.00"), 3600L, owner.getUsername());
+
+        // Act
+        holdService.release(hold.getId(), owner.getUsername());
+
+        // Assert
+        assertEquals("RELEASED", holdStatus(hold));
+        assertEquals(new BigDecimal("0.00"), column("held_amount", from));
+        assertEquals(new BigDecimal("100.00"), column("balance", from));
+    }
+
+    @Test
+    void captureAndRelease_ShouldNotLoseUpdatesOnSameCard() throws Exception {
+        // Arrange
+        Card from = createCard(new BigDecimal("1000.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        List<Hold> holds = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            holds.add(holdService.authorize(from.getId(), to.getId(), new BigDecimal("50.00"), 3600L,
+                    owner.getUsername()));
+        }
+        cardRepository.findById(from.getId());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Hold>> operations = new ArrayList<>();
+        for (int i = 0; i < holds.size(); i++) {
+            Long holdId = holds.get(i).getId();
+            if (i % 2 == 0) {
+                operations.add(() -> holdService.capture(holdId, new BigDecimal("20.00"), owner.getUsername()));
+            } else {
+                operations.add(() -> holdService.release(holdId, owner.getUsername()));
+            }
+        }
+
+        // Act
+        try {
+            for (Future<Hold> result : executor.invokeAll(operations)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(new BigDecimal("0.00"), column("held_amount", from));
+        assertEquals(new BigDecimal("840.00"), column("balance", from));
+        assertEquals(new BigDecimal("160.00"), column("balance", to));
+    }
+
+    @Test
+    void release_ShouldRejectHoldOfAnotherUser() {
+        // Arrange
+        Card from = createCard(new BigDecimal("100.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        Hold hold = holdService.authorize(from.getId(), to.getId(), new BigDecimal("70.00"), 3600L, owner.getUsername());
+        User other = new User();
+        other.setUsername("holds-" + UUID.randomUUID());
+        other.setPassword("x");
+        other.setRole(Role.USER);
+        userRepository.save(other);
+
+        // Act & Assert
+        assertThrows(SecurityException.class, () -> holdService.release(hold.getId(), other.getUsername()));
+        assertThrows(SecurityException.class, () -> holdService.authorize(from.getId(), to.getId(),
+                new BigDecimal("10.00"), 3600L, other.getUsername()));
+        assertEquals("ACTIVE", holdStatus(hold));
+        assertEquals(new BigDecimal("70.00"), column("held_amount", from));
+        holdService.release(hold.getId(), owner.getUsername());
+    }
+
+    @Test
+    void expiry_ShouldReleaseOverdueHoldsAfterWheelRebuild() {
+        // Arrange
+        Card from = createCard(new BigDecimal("100.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        Hold overdue = holdService.authorize(from.getId(), to.getId(), new BigDecimal("20.00"), 3600L, owner.getUsername());
+        Hold pending = holdService.authorize(from.getId(), to.getId(), new BigDecimal("30.00"), 3600L, owner.getUsername());
+        jdbcTemplate.update("UPDATE holds SET expires_at = now() - interval '1 minute' WHERE id = ?", overdue.getId());
+
+        // Act
+        holdExpiryService.rebuild();
+        holdExpiryService.advance(System.currentTimeMillis() + 2_000);
+
+        // Assert
+        assertEquals("EXPIRED", holdStatus(overdue));
+        assertEquals("ACTIVE", holdStatus(pending));
+        assertEquals(new BigDecimal("30.00"), column("held_amount", from));
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> holdService.capture(overdue.getId(), null, owner.getUsername()));
+        assertEquals("Холд уже закрыт", exception.getMessage());
+        holdService.release(pending.getId(), owner.getUsername());
+    }
+}
\ No newline at end of file
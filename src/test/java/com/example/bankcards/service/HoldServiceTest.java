@@ -0,0 +1,300 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Hold;
+import com.example.bankcards.entity.HoldStatus;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.HoldRepository;
+import com.example.bankcards.repository.TransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HoldService holdService;
+    private Card from;
+    private Card to;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldService(holdRepository, cardRepository, transferRepository, outboxPublisher,
+                eventPublisher, meterRegistry, Duration.ofDays(7), Duration.ofDays(30));
+
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("owner");
+        from = card(1L, owner, "200.00");
+        to = card(2L, owner, "0.00");
+    }
+
+    private static Card card(Long id, User owner, String balance) {
+        Card card = new Card();
+        card.setId(id);
+        card.setOwner(owner);
+        card.setBalance(new BigDecimal(balance));
+        card.setStatus(CardStatus.ACTIVE);
+        card.setExpirationDate(LocalDate.now().plusYears(1));
+        return card;
+    }
+
+    private Hold activeHold(String amount, LocalDateTime expiresAt) {
+        Hold hold = new Hold();
+        hold.setId(10L);
+        hold.setCard(from);
+        hold.setTargetCard(to);
+        hold.setAmount(new BigDecimal(amount));
+        hold.setExpiresAt(expiresAt);
+        from.setHeldAmount(from.getHeldAmount().add(hold.getAmount()));
+        return hold;
+    }
+
+    @Test
+    void authorize_ShouldReserveFundsAndScheduleExpiry() {
+        // Arrange
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> {
+            Hold hold = invocation.getArgument(0);
+            hold.setId(10L);
+            return hold;
+        });
+
+        // Act
+        Hold hold = holdService.authorize(1L, 2L, new BigDecimal("150.00"), 60L, "owner");
+
+        // Assert
+        assertEquals(HoldStatus.ACTIVE, hold.getStatus());
+        assertEquals(new BigDecimal("150.00"), from.getHeldAmount());
+        assertEquals(new BigDecimal("200.00"), from.getBalance());
+        assertEquals(new BigDecimal("50.00"), from.getAvailableBalance());
+        assertEquals(Duration.ofSeconds(60), Duration.between(hold.getCreatedAt(), hold.getExpiresAt()));
+
+        ArgumentCaptor<HoldChangedEvent> event = ArgumentCaptor.forClass(HoldChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(10L, event.getValue().getHoldId());
+        assertTrue(event.getValue().isActive());
+        verifyNoInteractions(transferRepository);
+    }
+
+    @Test
+    void authorize_ShouldRejectAmountAboveAvailableBalance() {
+        // Arrange
+        from.setHeldAmount(new BigDecimal("150.00"));
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> holdService.authorize(1L, 2L, new BigDecimal("60.00"), null, "owner"));
+        assertEquals("Недостаточно средств", exception.getMessage());
+        assertEquals(1.0, meterRegistry.counter("bank.business.failures",
+                "operation", "hold", "reason", "insufficient_funds").count());
+        verify(holdRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void authorize_ShouldClampTtlToMaximum() {
+        // Arrange
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Hold hold = holdService.authorize(1L, 2L, new BigDecimal("10.00"), Duration.ofDays(365).toSeconds(), "owner");
+
+        // Assert
+        assertEquals(Duration.ofDays(30), Duration.between(hold.getCreatedAt(), hold.getExpiresAt()));
+    }
+
+    @Test
+    void capture_ShouldMoveCapturedAmountAndReleaseRemainder() {
+        // Arrange
+        Hold hold = activeHold("150.00", LocalDateTime.now().plusHours(1));
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(cardRepository.existsByIdAndOwnerUsername(1L, "owner")).thenReturn(true);
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
+        when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> {
+            Transfer transfer = invocation.getArgument(0);
+            transfer.setId(77L);
+            return transfer;
+        });
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Hold captured = holdService.capture(10L, new BigDecimal("120.00"), "owner");
+
+        // Assert
+        assertEquals(HoldStatus.CAPTURED, captured.getStatus());
+        assertEquals(77L, captured.getTransferId());
+        assertNotNull(captured.getResolvedAt());
+        assertEquals(new BigDecimal("80.00"), from.getBalance());
+        assertEquals(new BigDecimal("0.00"), from.getHeldAmount());
+        assertEquals(new BigDecimal("120.00"), to.getBalance());
+        verify(outboxPublisher).publish(argThat(event ->
+                event.getType() == OutboxEvent.Type.TRANSFER_COMPLETED && event.getAggregateId().equals(77L)));
+        verify(eventPublisher).publishEvent(argThat((HoldChangedEvent event) -> !event.isActive()));
+    }
+
+    @Test
+    void capture_ShouldRejectAmountAboveHold() {
+        // Arrange
+        Hold hold = activeHold("50.00", LocalDateTime.now().plusHours(1));
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(cardRepository.existsByIdAndOwnerUsername(1L, "owner")).thenReturn(true);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> holdService.capture(10L, new BigDecimal("50.01"), "owner"));
+        assertEquals("Сумма списания превышает сумму холда", exception.getMessage());
+        verifyNoInteractions(transferRepository);
+    }
+
+    @Test
+    void capture_ShouldRejectExpiredHold() {
+        // Arrange
+        Hold hold = activeHold("50.00", LocalDateTime.now().minusSeconds(1));
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(cardRepository.existsByIdAndOwnerUsername(1L, "owner")).thenReturn(true);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> holdService.capture(10L, null, "owner"));
+        assertEquals("Срок действия холда истёк", exception.getMessage());
+        verifyNoInteractions(transferRepository);
+    }
+
+    @Test
+    void release_ShouldReturnFundsAndCancelTimer() {
+        // Arrange
+        Hold hold = activeHold("150.00", LocalDateTime.now().plusHours(1));
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(cardRepository.existsByIdAndOwnerUsername(1L, "owner")).thenReturn(true);
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Hold released = holdService.release(10L, "owner");
+
+        // Assert
+        assertEquals(HoldStatus.RELEASED, released.getStatus());
+        assertEquals(new BigDecimal("0.00"), from.getHeldAmount());
+        assertEquals(new BigDecimal("200.00"), from.getBalance());
+        verify(eventPublisher).publishEvent(argThat((HoldChangedEvent event) -> !event.isActive()));
+    }
+
+    @Test
+    void release_ShouldRejectClosedHold() {
+        // Arrange
+        Hold hold = activeHold("150.00", LocalDateTime.now().plusHours(1));
+        hold.setStatus(HoldStatus.CAPTURED);
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(cardRepository.existsByIdAndOwnerUsername(1L, "owner")).thenReturn(true);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> holdService.release(10L, "owner"));
+        assertEquals("Холд уже закрыт", exception.getMessage());
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void authorize_ShouldRejectCardOfAnotherUser() {
+        // Arrange
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(to));
+
+        // Act & Assert
+        SecurityException exception = assertThrows(SecurityException.class,
+                () -> holdService.authorize(1L, 2L, new BigDecimal("10.00"), null, "stranger"));
+        assertEquals("Вы не можете резервировать средства на карте другого пользователя", exception.getMessage());
+        assertEquals(BigDecimal.ZERO, from.getHeldAmount());
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    void captureAndRelease_ShouldRejectHoldOfAnotherUser() {
+        // Arrange
+        Hold hold = activeHold("50.00", LocalDateTime.now().plusHours(1));
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold));
+
+        // Act & Assert
+        assertThrows(SecurityException.class, () -> holdService.capture(10L, null, "stranger"));
+        assertThrows(SecurityException.class, () -> holdService.release(10L, "stranger"));
+        assertThrows(SecurityException.class, () -> holdService.getHold(10L, "stranger"));
+        assertEquals(HoldStatus.ACTIVE, hold.getStatus());
+        verify(cardRepository, never()).save(any());
+        verify(transferRepository, never()).save(any());
+    }
+
+    @Test
+    void release_ShouldThrowWhenHoldNotFound() {
+        // Arrange
+        when(holdRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> holdService.release(99L, "owner"));
+    }
+
+    @Test
+    void expire_ShouldOnlyExpireActiveHoldsPastDeadline() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Hold hold = activeHold("150.00", now.minusSeconds(1));
+        when(holdRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(hold));
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(from));
+
+        // Act
+        boolean notYet = holdService.expire(10L, now.minusSeconds(5));
+        boolean expired = holdService.expire(10L, now);
+        boolean again = holdService.expire(10L, now);
+
+        // Assert
+        assertFalse(notYet);
+        assertTrue(expired);
+        assertFalse(again);
+        assertEquals(HoldStatus.EXPIRED, hold.getStatus());
+        assertEquals(new BigDecimal("0.00"), from.getHeldAmount());
+        verify(cardRepository, times(1)).save(from);
+        assertEquals(1.0, meterRegistry.counter("bank.holds", "status", "expired").count());
+    }
+}
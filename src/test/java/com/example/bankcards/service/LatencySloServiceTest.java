@@ -0,0 +1,114 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.EndpointLatencyStats;
+import com.example.bankcards.dto.LatencyReportResponse;
+import com.example.bankcards.dto.LatencyWindowStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencySloServiceTest {
+    private static final String CARDS = "GET /api/cards/user/{userId}";
+    private static final String TRANSFER = "POST /api/cards/transfer";
+
+    private LatencySloService latencySloService;
+
+    @BeforeEach
+    void setUp() {
+        latencySloService = new LatencySloService(Duration.ofMillis(100), 0.99);
+    }
+
+    @Test
+    void getReport_ShouldComputePercentilesAndBurnRateAfterRotation() {
+        // Arrange
+        for (int i = 1; i <= 98; i++) {
+            latencySloService.record(CARDS, millis(i % 50 + 1));
+        }
+        latencySloService.record(CARDS, millis(150));
+        latencySloService.record(CARDS, millis(400));
+
+        // Act
+        LatencyReportResponse before = latencySloService.getReport();
+        latencySloService.rotate();
+        LatencyReportResponse after = latencySloService.getReport();
+
+        // Assert
+        assertEquals(0L, before.getEndpoints().get(0).getLastMinute().getCount());
+
+        assertEquals(100L, after.getSloThresholdMillis());
+        assertEquals(0.99, after.getSloObjective());
+        LatencyWindowStats minute = after.getEndpoints().get(0).getLastMinute();
+        assertEquals(100L, minute.getCount());
+        assertEquals(2L, minute.getSlowRequests());
+        assertEquals(0.98, minute.getCompliance(), 1e-9);
+        assertEquals(2.0, minute.getBurnRate(), 1e-9);
+        assertEquals(26.0, minute.getP50Millis(), 0.1);
+        assertEquals(150.0, minute.getP99Millis(), 0.2);
+        assertEquals(400.0, minute.getP999Millis(), 0.5);
+        assertEquals(400.0, minute.getMaxMillis(), 0.5);
+        assertEquals(100L, after.getEndpoints().get(0).getLastHour().getCount());
+    }
+
+    @Test
+    void rotate_ShouldExpireMinuteWindowButKeepHourWindow() {
+        // Arrange
+        latencySloService.record(TRANSFER, millis(20));
+        latencySloService.rotate();
+
+        // Act
+        for (int i = 0; i < LatencySloService.SLOTS_PER_MINUTE; i++) {
+            latencySloService.rotate();
+        }
+
+        // Assert
+        EndpointLatencyStats stats = latencySloService.getReport().getEndpoints().get(0);
+        assertEquals(0L, stats.getLastMinute().getCount());
+        assertEquals(1.0, stats.getLastMinute().getCompliance());
+        assertEquals(1L, stats.getLastHour().getCount());
+    }
+
+    @Test
+    void rotate_ShouldExpireHourWindow() {
+        // Arrange
+        latencySloService.record(TRANSFER, millis(20));
+
+        // Act
+        for (int i = 0; i < LatencySloService.SLOTS_PER_MINUTE * LatencySloService.MINUTES_PER_HOUR; i++) {
+            latencySloService.rotate();
+        }
+
+        // Assert
+        assertEquals(0L, latencySloService.getReport().getEndpoints().get(0).getLastHour().getCount());
+    }
+
+    @Test
+    void getReport_ShouldOrderEndpointsByHourlyBurnRate() {
+        // Arrange
+        latencySloService.record(CARDS, millis(10));
+        latencySloService.record(TRANSFER, millis(500));
+        latencySloService.rotate();
+
+        // Act
+        LatencyReportResponse report = latencySloService.getReport();
+
+        // Assert
+        assertEquals(TRANSFER, report.getEndpoints().get(0).getEndpoint());
+        assertEquals(100.0, report.getEndpoints().get(0).getLastHour().getBurnRate(), 1e-9);
+        assertEquals(CARDS, report.getEndpoints().get(1).getEndpoint());
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidObjective() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LatencySloService(Duration.ofMillis(100), 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencySloService(Duration.ZERO, 0.99));
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.OutboxMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFileOutboxSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void deliver_ShouldAppendOneJsonLinePerMessageWithRawPayload() throws Exception {
+        // Arrange
+        Path file = directory.resolve("nested").resolve("outbox.ndjson");
+        LogFileOutboxSink sink = new LogFileOutboxSink(file, objectMapper);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+        // Act
+        sink.deliver(List.of(
+                new OutboxMessage(1, "card", 10, "CARD_STATUS_CHANGED", "{\"cardId\": 10, \"status\": \"BLOCKED\"}", createdAt, 0)));
+        sink.deliver(List.of(
+                new OutboxMessage(2, "transfer", 7, "TRANSFER_COMPLETED", "{\"amount\": 12.50}", createdAt, 2)));
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("CARD_STATUS_CHANGED", first.get("eventType").asText());
+        assertEquals("BLOCKED", first.get("payload").get("status").asText());
+
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals(12.50, second.get("payload").get("amount").asDouble());
+        assertEquals(2, second.get("attempts").asInt());
+        assertEquals("log", sink.getName());
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.outbox.relay.enabled=false",
+        "app.outbox.relay.batch-size=2",
+        "app.outbox.relay.retry-backoff=10m",
+        "app.outbox.relay.max-retry-backoff=1h",
+        "app.outbox.log-sink.enabled=true"
+})
+@DirtiesContext
+class OutboxIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong(4100_0000_0000_0000L);
+    private static final List<String> received = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger responseStatus = new AtomicInteger(200);
+
+    private static EmbeddedPostgres postgres;
+    private static HttpServer stub;
+    private static Path logFile;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardExpiryService cardExpiryService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/events", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        stub.start();
+        registry.add("app.outbox.http-sink.url",
+                () -> "http://127.0.0.1:" + stub.getAddress().getPort() + "/events");
+
+        logFile = Files.createTempDirectory("outbox-it").resolve("outbox.ndjson");
+        registry.add("app.outbox.log-sink.path", logFile::toString);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (stub != null) {
+            stub.stop(0);
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jdbcTemplate.update("DELETE FROM outbox");
+        received.clear();
+        responseStatus.set(200);
+        Files.deleteIfExists(logFile);
+
+        User user = new User();
+        user.setUsername("outbox-" + UUID.randomUUID());
+        user.setPassword("x");
+        user.setRole(Role.USER);
+        owner = userRepository.save(user);
+    }
+
+    private Card createCard(LocalDate expirationDate, BigDecimal balance) {
+        Card card = new Card();
+        card.setOwner(owner);
+        card.setCardNumber(String.valueOf(CARD_NUMBERS.incrementAndGet()));
+        card.setExpirationDate(expirationDate);
+        card.setStatus(CardStatus.ACTIVE);
+        card.setBalance(balance);
+        return cardRepository.save(card);
+    }
+
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM outbox", Integer.class);
+    }
+
+    @Test
+    void transfer_ShouldWriteEventInSameTransactionAndRelayToAllSinks() throws Exception {
+        // Arrange
+        Card from = createCard(LocalDate.now().plusYears(1), new BigDecimal("100.00"));
+        Card to = createCard(LocalDate.now().plusYears(1), BigDecimal.ZERO);
+
+        // Act
+        cardService.transfer(from.getId(), to.getId(), new BigDecimal("40.00"));
+        assertThrows(IllegalArgumentException.class,
+                () -> cardService.transfer(from.getId(), to.getId(), new BigDecimal("500.00")));
+        cardService.blockCard(to.getId());
+        int relayed = outboxRelay.relay();
+
+        // Assert
+        assertEquals(2, relayed);
+        assertEquals(0, outboxSize());
+
+        assertEquals(1, received.size());
+        JsonNode events = objectMapper.readTree(received.get(0));
+        assertEquals(2, events.size());
+        assertEquals("TRANSFER_COMPLETED", events.get(0).get("eventType").asText());
+        assertEquals(40.0, events.get(0).get("payload").get("amount").asDouble());
+        assertEquals(from.getId(), events.get(0).get("payload").get("fromCardId").asLong());
+        assertEquals("CARD_STATUS_CHANGED", events.get(1).get("eventType").asText());
+        assertEquals("BLOCKED", events.get(1).get("payload").get("status").asText());
+
+        List<String> lines = Files.readAllLines(logFile);
+        assertEquals(2, lines.size());
+        assertEquals("TRANSFER_COMPLETED", objectMapper.readTree(lines.get(0)).get("eventType").asText());
+    }
+
+    @Test
+    void publish_ShouldDiscardEventsWhenSurroundingTransactionRollsBack() {
+        // Arrange
+        Card from = createCard(LocalDate.now().plusYears(1), new BigDecimal("100.00"));
+        Card to = createCard(LocalDate.now().plusYears(1), BigDecimal.ZERO);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    cardService.transfer(from.getId(), to.getId(), new BigDecimal("40.00"));
+                    outboxPublisher.publish(OutboxEvent.cardStatusChanged(to.getId(), CardStatus.BLOCKED));
+                    assertEquals(2, outboxSize());
+                    throw new IllegalStateException("rollback");
+                }));
+
+        // Assert
+        assertEquals(0, outboxSize());
+        assertEquals(0, outboxRelay.relay());
+        assertTrue(received.isEmpty());
+        assertEquals(new BigDecimal("100.00"), jdbcTemplate.queryForObject(
+                "SELECT balance FROM cards WHERE id = ?", BigDecimal.class, from.getId()));
+    }
+
+    @Test
+    void relay_ShouldKeepEventsAndBackOffWhenSinkFails() {
+        // Arrange
+        Card card = createCard(LocalDate.now().plusYears(1), BigDecimal.ZERO);
+        cardService.blockCard(card.getId());
+        responseStatus.set(503);
+
+        // Act
+        int failed = outboxRelay.relay();
+        responseStatus.set(200);
+        int retriedTooEarly = outboxRelay.relay();
+
+        // Assert
+        assertEquals(0, failed);
+        assertEquals(0, retriedTooEarly);
+        assertEquals(1, outboxSize());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT attempts FROM outbox", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT available_at > now() + interval '5 minutes' FROM outbox",
+                Boolean.class));
+    }
+
+    @Test
+    void relay_ShouldSkipRowsLockedByAnotherRelayAndDrainInBatches() throws Exception {
+        // Arrange
+        Card card = createCard(LocalDate.now().plusYears(1), BigDecimal.ZERO);
+        for (int i = 0; i < 5; i++) {
+            if (i % 2 == 0) {
+                cardService.blockCard(card.getId());
+            } else {
+                cardService.activateCard(card.getId());
+            }
+        }
+        long lockedId = jdbcTemplate.queryForObject("SELECT min(id) FROM outbox", Long.class);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT id FROM outbox WHERE id = ? FOR UPDATE", Long.class, lockedId);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        other.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        // Act
+        int relayedWhileLocked = outboxRelay.relay();
+        int requestsWhileLocked = received.size();
+        release.countDown();
+        other.join();
+        int relayedAfterRelease = outboxRelay.relay();
+
+        // Assert
+        assertEquals(4, relayedWhileLocked);
+        assertEquals(2, requestsWhileLocked);
+        assertEquals(3, received.size());
+        assertEquals(1, relayedAfterRelease);
+        assertEquals(0, outboxSize());
+    }
+
+    @Test
+    void cardExpiry_ShouldPublishEventPerExpiredCard() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        Card due = createCard(today.minusDays(1), BigDecimal.ZERO);
+        createCard(today.plusDays(1), BigDecimal.ZERO);
+
+        // Act
+        cardExpiryService.run(today);
+
+        // Assert
+        List<Long> aggregates = jdbcTemplate.queryForList(
+                "SELECT aggregate_id FROM outbox WHERE event_type = 'CARD_STATUS_CHANGED' AND payload->>'status' = 'EXPIRED'",
+                Long.class);
+        assertEquals(List.of(due.getId()), aggregates);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferExecutorTest {
+    @Mock
+    private ScheduledTransferService scheduledTransferService;
+
+    private ScheduledTransferExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void poll_ShouldDrainOnDispatcherWithoutBlockingScheduler() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(scheduledTransferService.claimDue(any(LocalDateTime.class), any(Duration.class), anyInt()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+        executor = new ScheduledTransferExecutor(scheduledTransferService, new SimpleMeterRegistry(),
+                true, 10, 2, 10, Duration.ofMinutes(5));
+
+        // Act
+        executor.poll();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.poll();
+        boolean runningWhileBlocked = executor.getStats().isRunning();
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> executor.run(LocalDateTime.now()));
+        release.countDown();
+
+        // Assert
+        assertTrue(runningWhileBlocked);
+        assertEquals("Исполнение плановых переводов уже выполняется", exception.getMessage());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getStats().isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(executor.getStats().isRunning());
+        assertNotNull(executor.getStats().getLastRunFinishedAt());
+        verify(scheduledTransferService, times(1)).claimDue(any(LocalDateTime.class), any(Duration.class), anyInt());
+    }
+
+    @Test
+    void constructor_ShouldLimitWorkersToHalfOfConnectionPool() {
+        // Act
+        executor = new ScheduledTransferExecutor(scheduledTransferService, new SimpleMeterRegistry(),
+                true, 10, 8, 10, Duration.ofMinutes(5));
+        ScheduledTransferExecutor tinyPool = new ScheduledTransferExecutor(scheduledTransferService,
+                new SimpleMeterRegistry(), true, 10, 4, 1, Duration.ofMinutes(5));
+        tinyPool.shutdown();
+
+        // Assert
+        assertEquals(5, executor.getWorkerCount());
+        assertEquals(1, tinyPool.getWorkerCount());
+    }
+}
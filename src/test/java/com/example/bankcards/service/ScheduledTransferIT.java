@@ -0,0 +1,197 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ScheduledTransferStats;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.TransferRecurrence;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.outbox.relay.enabled=false",
+        "app.scheduled-transfers.enabled=false",
+        "app.scheduled-transfers.batch-size=40",
+        "app.scheduled-transfers.threads=4"
+})
+@DirtiesContext
+class ScheduledTransferIT {
+    private static final AtomicLong CARD_NUMBERS = new AtomicLong(4300_0000_0000_0000L);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ScheduledTransferService scheduledTransferService;
+
+    @Autowired
+    private ScheduledTransferExecutor scheduledTransferExecutor;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("scheduled-" + UUID.randomUUID());
+        user.setPassword("x");
+        user.setRole(Role.USER);
+        owner = userRepository.save(user);
+    }
+
+    private Card createCard(BigDecimal balance) {
+        Card card = new Card();
+        card.setOwner(owner);
+        card.setCardNumber(String.valueOf(CARD_NUMBERS.incrementAndGet()));
+        card.setExpirationDate(LocalDate.now().plusYears(1));
+        card.setStatus(CardStatus.ACTIVE);
+        card.setBalance(balance);
+        return cardRepository.save(card);
+    }
+
+    private void insertDueOrders(Card from, Card to, BigDecimal amount, int count, LocalDateTime dueAt) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{from.getId(), to.getId(), amount, dueAt, dueAt, dueAt});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO scheduled_transfers (from_card_id, to_card_id, amount, recurrence, status,
+                    start_at, occurrence, next_run_at, available_at, attempts, created_at)
+                VALUES (?, ?, ?, 'DAILY', 'ACTIVE', ?, 0, ?, ?, 0, now())
+                """, rows);
+    }
+
+    private BigDecimal balance(Card card) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM cards WHERE id = ?", BigDecimal.class, card.getId());
+    }
+
+    @Test
+    void run_ShouldExecuteEveryDueOrderExactlyOnceAcrossInstances() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1).withNano(0);
+        List<Card> sources = new ArrayList<>();
+        Card target = createCard(BigDecimal.ZERO);
+        for (int i = 0; i < 5; i++) {
+            Card source = createCard(new BigDecimal("1000.00"));
+            sources.add(source);
+            insertDueOrders(source, target, new BigDecimal("1.00"), 60, dueAt);
+        }
+        ScheduledTransferExecutor otherInstance = new ScheduledTransferExecutor(scheduledTransferService,
+                new SimpleMeterRegistry(), false, 40, 4, 10, Duration.ofMinutes(5));
+
+        // Act
+        LocalDateTime now = LocalDateTime.now();
+        CompletableFuture<ScheduledTransferStats> first =
+                CompletableFuture.supplyAsync(() -> scheduledTransferExecutor.run(now));
+        CompletableFuture<ScheduledTransferStats> second =
+                CompletableFuture.supplyAsync(() -> otherInstance.run(now));
+        ScheduledTransferStats firstStats = first.join();
+        ScheduledTransferStats secondStats = second.join();
+        otherInstance.shutdown();
+
+        // Assert
+        assertEquals(300, firstStats.getLastRunSucceeded() + secondStats.getLastRunSucceeded());
+        assertEquals(300, firstStats.getLastRunClaimed() + secondStats.getLastRunClaimed());
+        assertEquals(new BigDecimal("300.00"), balance(target));
+        for (Card source : sources) {
+            assertEquals(new BigDecimal("940.00"), balance(source));
+        }
+        assertEquals(300, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transfers WHERE to_card_id = ?", Integer.class, target.getId()));
+        assertEquals(300, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM scheduled_transfer_runs r
+                JOIN scheduled_transfers s ON s.id = r.scheduled_transfer_id
+                WHERE s.to_card_id = ? AND r.status = 'SUCCEEDED' AND r.due_at = ? AND r.transfer_id IS NOT NULL
+                """, Integer.class, target.getId(), dueAt));
+        assertEquals(300, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM scheduled_transfers
+                WHERE to_card_id = ? AND next_run_at = ? AND occurrence = 1 AND claimed_until IS NULL
+                """, Integer.class, target.getId(), dueAt.plusDays(1)));
+    }
+
+    @Test
+    void run_ShouldRetryAfterInsufficientFunds() {
+        // Arrange
+        Card from = createCard(new BigDecimal("50.00"));
+        Card to = createCard(BigDecimal.ZERO);
+        LocalDateTime firstRunAt = LocalDateTime.now().minusMinutes(1).withNano(0);
+        ScheduledTransfer order = scheduledTransferService.create(from.getId(), to.getId(),
+                new BigDecimal("100.00"), firstRunAt, TransferRecurrence.MONTHLY, owner.getUsername());
+
+        // Act
+        ScheduledTransferStats failed = scheduledTransferExecutor.run(LocalDateTime.now());
+        ScheduledTransfer afterFailure = scheduledTransferService.getScheduledTransfer(order.getId(), owner.getUsername());
+        ScheduledTransferStats tooEarly = scheduledTransferExecutor.run(LocalDateTime.now());
+
+        Card topUp = cardRepository.findById(from.getId()).orElseThrow();
+        topUp.setBalance(new BigDecimal("150.00"));
+        cardRepository.save(topUp);
+        ScheduledTransferStats retried = scheduledTransferExecutor.run(LocalDateTime.now().plusHours(1));
+
+        // Assert
+        assertEquals(1, failed.getLastRunRetried());
+        assertEquals(1, afterFailure.getAttempts());
+        assertEquals("Недостаточно средств", afterFailure.getLastError());
+        assertTrue(afterFailure.getAvailableAt().isAfter(LocalDateTime.now().plusMinutes(5)));
+        assertEquals(0, tooEarly.getLastRunClaimed());
+
+        assertEquals(1, retried.getLastRunSucceeded());
+        assertEquals(new BigDecimal("50.00"), balance(from));
+        assertEquals(new BigDecimal("100.00"), balance(to));
+        ScheduledTransfer afterRetry = scheduledTransferService.getScheduledTransfer(order.getId(), owner.getUsername());
+        assertEquals(firstRunAt.plusMonths(1), afterRetry.getNextRunAt());
+        assertEquals(0, afterRetry.getAttempts());
+        assertNull(afterRetry.getLastError());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM scheduled_transfer_runs WHERE scheduled_transfer_id = ?",
+                Integer.class, order.getId()));
+    }
+}
\ No newline at end of file
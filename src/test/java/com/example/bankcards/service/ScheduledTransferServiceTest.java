@@ -0,0 +1,342 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.ScheduledRunStatus;
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.ScheduledTransferRun;
+import com.example.bankcards.entity.ScheduledTransferStatus;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.entity.TransferRecurrence;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.ScheduledTransferRepository;
+import com.example.bankcards.repository.ScheduledTransferRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferServiceTest {
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private ScheduledTransferRunRepository runRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private CardService cardService;
+
+    private ScheduledTransferService scheduledTransferService;
+    private Card from;
+    private Card to;
+
+    @BeforeEach
+    void setUp() {
+        scheduledTransferService = new ScheduledTransferService(scheduledTransferRepository, runRepository,
+                cardRepository, cardService, 3, Duration.ofMinutes(10), Duration.ofMinutes(30));
+
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("owner");
+        from = card(1L, owner);
+        to = card(2L, owner);
+    }
+
+    private static Card card(Long id, User owner) {
+        Card card = new Card();
+        card.setId(id);
+        card.setOwner(owner);
+        card.setBalance(new BigDecimal("500.00"));
+        card.setStatus(CardStatus.ACTIVE);
+        card.setExpirationDate(LocalDate.now().plusYears(1));
+        return card;
+    }
+
+    private ScheduledTransfer order(TransferRecurrence recurrence, LocalDateTime startAt) {
+        ScheduledTransfer order = new ScheduledTransfer();
+        order.setId(5L);
+        order.setFromCard(from);
+        order.setToCard(to);
+        order.setAmount(new BigDecimal("100.00"));
+        order.setRecurrence(recurrence);
+        order.setStartAt(startAt);
+        order.setNextRunAt(startAt);
+        order.setAvailableAt(startAt);
+        order.setClaimedUntil(LocalDateTime.now().plusMinutes(5));
+        return order;
+    }
+
+    private static ScheduledTransferRun run(ScheduledTransfer order) {
+        ScheduledTransferRun run = new ScheduledTransferRun();
+        run.setId(9L);
+        run.setScheduledTransferId(order.getId());
+        run.setDueAt(order.getNextRunAt());
+        run.setStatus(ScheduledRunStatus.SUCCEEDED);
+        return run;
+    }
+
+    @Test
+    void create_ShouldScheduleFirstRun() {
+        // Arrange
+        LocalDateTime firstRunAt = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(to));
+        when(scheduledTransferRepository.save(any(ScheduledTransfer.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ScheduledTransfer order = scheduledTransferService.create(1L, 2L, new BigDecimal("100.00"),
+                firstRunAt, null, "owner");
+
+        // Assert
+        assertEquals(TransferRecurrence.ONCE, order.getRecurrence());
+        assertEquals(ScheduledTransferStatus.ACTIVE, order.getStatus());
+        assertEquals(firstRunAt, order.getNextRunAt());
+        assertEquals(firstRunAt, order.getAvailableAt());
+    }
+
+    @Test
+    void create_ShouldRejectForeignCard() {
+        // Arrange
+        User stranger = new User();
+        stranger.setId(2L);
+        to.setOwner(stranger);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(to));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> scheduledTransferService.create(1L, 2L, BigDecimal.TEN, LocalDateTime.now().plusDays(1),
+                        TransferRecurrence.DAILY, "owner"));
+        assertEquals("Можно переводить только между своими картами", exception.getMessage());
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    @Test
+    void create_ShouldRejectSourceCardOfAnotherUser() {
+        // Arrange
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(from));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(to));
+
+        // Act & Assert
+        SecurityException exception = assertThrows(SecurityException.class,
+                () -> scheduledTransferService.create(1L, 2L, BigDecimal.TEN, LocalDateTime.now().plusDays(1),
+                        TransferRecurrence.DAILY, "stranger"));
+        assertEquals("Вы не можете создавать плановые переводы с карты другого пользователя", exception.getMessage());
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    @Test
+    void getAndCancel_ShouldRejectOrderOfAnotherUser() {
+        // Arrange
+        ScheduledTransfer order = order(TransferRecurrence.DAILY, LocalDateTime.now().plusDays(1));
+        when(scheduledTransferRepository.findById(5L)).thenReturn(Optional.of(order));
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+
+        // Act & Assert
+        assertThrows(SecurityException.class, () -> scheduledTransferService.getScheduledTransfer(5L, "stranger"));
+        assertThrows(SecurityException.class, () -> scheduledTransferService.getRuns(5L, 20, "stranger"));
+        assertThrows(SecurityException.class, () -> scheduledTransferService.cancel(5L, "stranger"));
+        assertEquals(ScheduledTransferStatus.ACTIVE, order.getStatus());
+        verify(scheduledTransferRepository, never()).save(any());
+        verifyNoInteractions(runRepository);
+    }
+
+    @Test
+    void execute_ShouldTransferAndMoveMonthlyOrderToNextOccurrence() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.MONTHLY, dueAt);
+        ScheduledTransferRun run = run(order);
+        Transfer transfer = new Transfer();
+        transfer.setId(77L);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+        when(runRepository.insertIfAbsent(eq(5L), eq(dueAt), eq("SUCCEEDED"), eq(1), isNull(), any()))
+                .thenReturn(Optional.of(run));
+        when(cardService.transfer(1L, 2L, new BigDecimal("100.00"))).thenReturn(transfer);
+
+        // Act
+        boolean executed = scheduledTransferService.execute(5L, dueAt);
+
+        // Assert
+        assertTrue(executed);
+        assertEquals(77L, run.getTransferId());
+        assertEquals(ScheduledTransferStatus.ACTIVE, order.getStatus());
+        assertEquals(dueAt.plusMonths(1), order.getNextRunAt());
+        assertEquals(dueAt.plusMonths(1), order.getAvailableAt());
+        assertNull(order.getClaimedUntil());
+        verify(runRepository).save(run);
+    }
+
+    @Test
+    void execute_ShouldCompleteOneOffOrder() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.ONCE, dueAt);
+        Transfer transfer = new Transfer();
+        transfer.setId(77L);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+        when(runRepository.insertIfAbsent(anyLong(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(Optional.of(run(order)));
+        when(cardService.transfer(anyLong(), anyLong(), any())).thenReturn(transfer);
+
+        // Act
+        scheduledTransferService.execute(5L, dueAt);
+
+        // Assert
+        assertEquals(ScheduledTransferStatus.COMPLETED, order.getStatus());
+        assertEquals(dueAt, order.getNextRunAt());
+    }
+
+    @Test
+    void execute_ShouldSkipOrderAlreadyMovedByAnotherInstance() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.DAILY, dueAt);
+        order.setNextRunAt(dueAt.plusDays(1));
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+
+        // Act
+        boolean executed = scheduledTransferService.execute(5L, dueAt);
+
+        // Assert
+        assertFalse(executed);
+        verifyNoInteractions(runRepository, cardService);
+    }
+
+    @Test
+    void execute_ShouldNotTransferTwiceWhenRunMarkerExists() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.DAILY, dueAt);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+        when(runRepository.insertIfAbsent(anyLong(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        // Act
+        boolean executed = scheduledTransferService.execute(5L, dueAt);
+
+        // Assert
+        assertFalse(executed);
+        assertEquals(dueAt.plusDays(1), order.getNextRunAt());
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    void execute_ShouldSkipMissedOccurrences() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusDays(3).minusHours(1);
+        ScheduledTransfer order = order(TransferRecurrence.DAILY, dueAt);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+        when(runRepository.insertIfAbsent(anyLong(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(Optional.of(run(order)));
+        when(cardService.transfer(anyLong(), anyLong(), any())).thenReturn(new Transfer());
+
+        // Act
+        scheduledTransferService.execute(5L, dueAt);
+
+        // Assert
+        assertEquals(dueAt.plusDays(4), order.getNextRunAt());
+        assertEquals(4, order.getOccurrence());
+    }
+
+    @Test
+    void recordFailure_ShouldBackOffExponentially() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.DAILY, dueAt);
+        order.setAttempts(1);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        boolean exhausted = scheduledTransferService.recordFailure(5L, dueAt, "Недостаточно средств");
+
+        // Assert
+        assertFalse(exhausted);
+        assertEquals(2, order.getAttempts());
+        assertEquals("Недостаточно средств", order.getLastError());
+        assertEquals(dueAt, order.getNextRunAt());
+        assertFalse(order.getAvailableAt().isBefore(before.plusMinutes(20)));
+        assertNull(order.getClaimedUntil());
+        verifyNoInteractions(runRepository);
+    }
+
+    @Test
+    void recordFailure_ShouldRecordFailedRunAndMoveOnAfterLastAttempt() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.WEEKLY, dueAt);
+        order.setAttempts(2);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+
+        // Act
+        boolean exhausted = scheduledTransferService.recordFailure(5L, dueAt, "Недостаточно средств");
+
+        // Assert
+        assertTrue(exhausted);
+        verify(runRepository).insertIfAbsent(eq(5L), eq(dueAt), eq("FAILED"), eq(3),
+                eq("Недостаточно средств"), any());
+        assertEquals(ScheduledTransferStatus.ACTIVE, order.getStatus());
+        assertEquals(dueAt.plusWeeks(1), order.getNextRunAt());
+        assertEquals(0, order.getAttempts());
+    }
+
+    @Test
+    void recordFailure_ShouldFailOneOffOrderAfterLastAttempt() {
+        // Arrange
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer order = order(TransferRecurrence.ONCE, dueAt);
+        order.setAttempts(2);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+
+        // Act
+        scheduledTransferService.recordFailure(5L, dueAt, "Отправляющая карта заблокирована");
+
+        // Assert
+        assertEquals(ScheduledTransferStatus.FAILED, order.getStatus());
+    }
+
+    @Test
+    void backoff_ShouldBeCappedByMaximum() {
+        // Act & Assert
+        assertEquals(Duration.ofMinutes(10), scheduledTransferService.backoff(1));
+        assertEquals(Duration.ofMinutes(20), scheduledTransferService.backoff(2));
+        assertEquals(Duration.ofMinutes(30), scheduledTransferService.backoff(3));
+        assertEquals(Duration.ofMinutes(30), scheduledTransferService.backoff(40));
+    }
+
+    @Test
+    void cancel_ShouldRejectFinishedOrder() {
+        // Arrange
+        ScheduledTransfer order = order(TransferRecurrence.ONCE, LocalDateTime.now());
+        order.setStatus(ScheduledTransferStatus.COMPLETED);
+        when(scheduledTransferRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(order));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> scheduledTransferService.cancel(5L, "owner"));
+        assertEquals("Плановый перевод уже завершён", exception.getMessage());
+    }
+}
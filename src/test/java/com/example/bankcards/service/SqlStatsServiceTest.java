@@ -0,0 +1,84 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.SqlRequestStats;
+import com.example.bankcards.dto.SqlEndpointStats;
+import com.example.bankcards.dto.SqlStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatsServiceTest {
+    private SqlStatsService sqlStatsService;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatsService = new SqlStatsService(Duration.ofMillis(100), 5);
+    }
+
+    @Test
+    void record_ShouldAggregatePerEndpointAndFlagThresholds() {
+        // Arrange
+        SqlRequestStats quick = stats(2, 3, Duration.ofMillis(10));
+        SqlRequestStats chatty = stats(8, 40, Duration.ofMillis(30));
+        SqlRequestStats slow = stats(1, 1, Duration.ofMillis(250));
+
+        // Act
+        sqlStatsService.record("GET /api/cards/user/{userId}", quick);
+        sqlStatsService.record("GET /api/cards/user/{userId}", chatty);
+        sqlStatsService.record("POST /api/cards/transfer", slow);
+        SqlStatsResponse result = sqlStatsService.getStats();
+
+        // Assert
+        assertEquals(100L, result.getSlowThresholdMillis());
+        assertEquals(5L, result.getChattyThreshold());
+        assertEquals(2, result.getEndpoints().size());
+
+        SqlEndpointStats cards = result.getEndpoints().get(0);
+        assertEquals("GET /api/cards/user/{userId}", cards.getEndpoint());
+        assertEquals(2L, cards.getRequests());
+        assertEquals(10L, cards.getStatements());
+        assertEquals(43L, cards.getRows());
+        assertEquals(40L, cards.getDbTimeMillis());
+        assertEquals(5.0, cards.getAvgStatements());
+        assertEquals(8L, cards.getMaxStatements());
+        assertEquals(1L, cards.getChattyRequests());
+        assertEquals(0L, cards.getSlowRequests());
+
+        SqlEndpointStats transfer = result.getEndpoints().get(1);
+        assertEquals(1L, transfer.getSlowRequests());
+        assertEquals(0L, transfer.getChattyRequests());
+        assertEquals(250L, transfer.getMaxDbTimeMillis());
+    }
+
+    @Test
+    void reset_ShouldDropAllEndpoints() {
+        // Arrange
+        sqlStatsService.record("GET /api/users", stats(1, 1, Duration.ofMillis(1)));
+
+        // Act
+        sqlStatsService.reset();
+
+        // Assert
+        assertTrue(sqlStatsService.getStats().getEndpoints().isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveThresholds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SqlStatsService(Duration.ZERO, 5));
+        assertThrows(IllegalArgumentException.class, () -> new SqlStatsService(Duration.ofMillis(100), 0));
+    }
+
+    private static SqlRequestStats stats(int statements, int rows, Duration dbTime) {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        SqlRequestStats.end();
+        long perStatement = dbTime.toNanos() / statements;
+        for (int i = 0; i < statements; i++) {
+            stats.recordStatement(perStatement, i == 0 ? rows : 0);
+        }
+        return stats;
+    }
+}
@@ -1,16 +1,19 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.KeysetPage;
 import com.example.bankcards.dto.UserCreateRequest;
 import com.example.bankcards.dto.UserResponse;
 import com.example.bankcards.dto.UserUpdateRequest;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.CursorCodec;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
@@ -56,7 +59,7 @@ class UserServiceTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnListOfUsers() {
+    void getUsers_ShouldReturnFirstPageWithNextCursor() {
         // Arrange
         User user1 = new User();
         user1.setId(1L);
@@ -68,15 +71,48 @@ class UserServiceTest {
         user2.setUsername("user2");
         user2.setRole(Role.ADMIN);
 
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        User user3 = new User();
+        user3.setId(3L);
+        user3.setUsername("user3");
+        user3.setRole(Role.USER);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(user1, user2, user3));
 
         // Act
-        List<UserResponse> result = userService.getAllUsers();
+        KeysetPage<UserResponse> result = userService.getUsers(null, 2, null);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(2, result.getContent().size());
+        assertEquals(2L, result.getContent().get(1).getId());
+        assertEquals(2L, CursorCodec.decodeId(result.getNextCursor()));
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getUsers_ShouldFilterByPrefixAfterCursor() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("ivan");
+        user.setRole(Role.USER);
+
+        when(userRepository.findByIdGreaterThanAndUsernameStartingWithOrderByIdAsc(5L, "iv", Limit.of(51)))
+                .thenReturn(List.of(user));
+
+        // Act
+        KeysetPage<UserResponse> result = userService.getUsers(CursorCodec.encode(5L), 50, "iv");
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals("ivan", result.getContent().get(0).getUsername());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getUsers_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsers("not-a-cursor", 10, null));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -0,0 +1,44 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardNumberGeneratorTest {
+    @Test
+    void generate_ShouldProduceSixteenDigitLuhnValidNumbers() {
+        for (int i = 0; i < 1000; i++) {
+            // Act
+            String number = CardNumberGenerator.generate();
+
+            // Assert
+            assertEquals(CardNumberGenerator.LENGTH, number.length());
+            assertTrue(number.chars().allMatch(Character::isDigit));
+            assertTrue(CardNumberGenerator.isValid(number), number);
+        }
+    }
+
+    @Test
+    void luhnCheckDigit_ShouldMatchKnownNumbers() {
+        // Act & Assert
+        assertEquals(6, CardNumberGenerator.luhnCheckDigit("453201511283036"));
+        assertEquals(2, CardNumberGenerator.luhnCheckDigit("400000000000000"));
+        assertEquals(3, CardNumberGenerator.luhnCheckDigit("7992739871"));
+    }
+
+    @Test
+    void luhnCheckDigit_ShouldRejectNonDigits() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CardNumberGenerator.luhnCheckDigit("4000-0000"));
+    }
+
+    @Test
+    void isValid_ShouldRejectWrongCheckDigitAndMalformedInput() {
+        // Act & Assert
+        assertTrue(CardNumberGenerator.isValid("4532015112830366"));
+        assertFalse(CardNumberGenerator.isValid("4532015112830367"));
+        assertFalse(CardNumberGenerator.isValid("4532 0151 1283 0366"));
+        assertFalse(CardNumberGenerator.isValid("4"));
+        assertFalse(CardNumberGenerator.isValid(null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimerWheelTest {
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_ShouldFireEveryTimerOnItsTickAcrossAllLevels() {
+        // Arrange
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(Duration.ofMillis(10), 2, 3, START);
+        Random random = new Random(42);
+        Map<Integer, Long> dueTicks = new HashMap<>();
+        for (int key = 0; key < 500; key++) {
+            long deadlineMillis = START + 5 + random.nextInt(2_000);
+            wheel.schedule(key, deadlineMillis);
+            dueTicks.put(key, (deadlineMillis - START + 9) / 10);
+        }
+
+        // Act & Assert
+        for (long tick = 1; tick <= 201; tick++) {
+            List<Integer> fired = wheel.advance(START + tick * 10);
+            for (Integer key : fired) {
+                assertEquals(dueTicks.remove(key), tick, "timer " + key);
+            }
+        }
+        assertTrue(dueTicks.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_ShouldKeepTimersBeyondSpanUntilTheirDeadline() {
+        // Arrange
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(Duration.ofMillis(1), 2, 2, START);
+        assertEquals(Duration.ofMillis(16), wheel.getSpan());
+        wheel.schedule("far", START + 100);
+
+        // Act
+        List<String> early = wheel.advance(START + 99);
+        List<String> due = wheel.advance(START + 100);
+
+        // Assert
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("far"), due);
+    }
+
+    @Test
+    void schedule_ShouldFireOverdueTimerOnNextTick() {
+        // Arrange
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(Duration.ofSeconds(1), 6, 4, START);
+        wheel.advance(START + 5_000);
+
+        // Act
+        wheel.schedule("overdue", START - 60_000);
+
+        // Assert
+        assertTrue(wheel.advance(START + 5_999).isEmpty());
+        assertEquals(List.of("overdue"), wheel.advance(START + 6_000));
+    }
+
+    @Test
+    void cancelAndReschedule_ShouldReplacePreviousDeadline() {
+        // Arrange
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(Duration.ofSeconds(1), 6, 4, START);
+        wheel.schedule("released", START + 3_000);
+        wheel.schedule("moved", START + 3_000);
+
+        // Act
+        boolean cancelled = wheel.cancel("released");
+        wheel.schedule("moved", START + 90_000);
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(wheel.cancel("unknown"));
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advance(START + 89_000).isEmpty());
+        assertEquals(List.of("moved"), wheel.advance(START + 90_000));
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidGeometry() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new HierarchicalTimerWheel<>(Duration.ZERO, 6, 4, START));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HierarchicalTimerWheel<>(Duration.ofSeconds(1), 16, 4, START));
+    }
+}